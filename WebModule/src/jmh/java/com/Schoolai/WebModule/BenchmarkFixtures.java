@@ -0,0 +1,122 @@
+package com.Schoolai.WebModule;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import com.Schoolai.WebModule.dto.StudentProgressResponse;
+import com.Schoolai.WebModule.dto.StudentSubjectProgress;
+import com.Schoolai.WebModule.entity.Assessment;
+import com.Schoolai.WebModule.entity.Assignment;
+import com.Schoolai.WebModule.entity.Curriculum;
+import com.Schoolai.WebModule.entity.Performance;
+import com.Schoolai.WebModule.entity.School;
+import com.Schoolai.WebModule.entity.Student;
+import com.Schoolai.WebModule.entity.Subject;
+import com.Schoolai.WebModule.entity.Video;
+
+/**
+ * In-memory entities shaped like the DataInitializer sample data, so benchmarks need no database.
+ * Everything is derived from a fixed seed to keep runs comparable.
+ */
+public final class BenchmarkFixtures {
+
+	public static final String JWT_SECRET = "change-this-dev-secret-change-this-dev-secret";
+	public static final String CLASS_NAME = "Class 5";
+
+	private static final String[] SUBJECT_NAMES = { "Mathematics", "Science", "English", "Social Studies", "Hindi",
+			"Physics", "Chemistry", "Biology" };
+	private static final String[] GRADES = { "A", "A+", "B+", "A", "A+", "A-", "A", "A" };
+
+	public final School school;
+	public final Curriculum curriculum;
+	public final Student student;
+	public final List<Subject> subjects = new ArrayList<>();
+	public final List<Assignment> assignments = new ArrayList<>();
+	public final List<Assessment> assessments = new ArrayList<>();
+	public final List<Performance> performances = new ArrayList<>();
+	public final List<Video> videos = new ArrayList<>();
+	// Assignments the student has handed in
+	public final Set<Integer> submittedAssignmentIds = new HashSet<>();
+
+	public BenchmarkFixtures(int subjectCount, int rowsPerSubject) {
+		Random random = new Random(42);
+		school = School.builder().id(1).schoolName("NIRMAL SCHOOL").address("123 Main Street, City").board("CBSE").build();
+		curriculum = Curriculum.builder().id(1).school(school).className(CLASS_NAME).medium("English")
+				.description("Curriculum for " + CLASS_NAME + " in English medium").build();
+		student = Student.builder().id(1).fullName("Aarav Sharma").className(CLASS_NAME).school(school)
+				.curriculum(curriculum).medium("English").email("aarav@student.com").contactNo("9876543210")
+				.gender("Male").dob(LocalDate.of(2014, 5, 12)).admissionDate(LocalDate.of(2020, 6, 1)).build();
+
+		int id = 1;
+		for (int s = 0; s < subjectCount; s++) {
+			Subject subject = Subject.builder().id(s + 1)
+					.subjectName(SUBJECT_NAMES[s % SUBJECT_NAMES.length] + (s < SUBJECT_NAMES.length ? "" : " " + s))
+					.className(CLASS_NAME).curriculum(curriculum).build();
+			subjects.add(subject);
+			for (int r = 0; r < rowsPerSubject; r++, id++) {
+				assignments.add(Assignment.builder().id(id).subject(subject)
+						.title(subject.getSubjectName() + " Homework " + (r + 1))
+						.dueDate(LocalDate.of(2025, 1, 1).plusDays(id))
+						.type("Homework").maxMarks(100)
+						.build());
+				if (random.nextBoolean()) {
+					submittedAssignmentIds.add(id);
+				}
+				Assessment assessment = Assessment.builder().id(id).subject(subject)
+						.title(subject.getSubjectName() + " Unit Test " + (r + 1))
+						.dueDate(LocalDate.of(2025, 2, 1).plusDays(id)).build();
+				assessments.add(assessment);
+				performances.add(Performance.builder().id(id).student(student).assessment(assessment)
+						.marksObtained(BigDecimal.valueOf(40 + random.nextInt(600) / 10.0))
+						.grade(GRADES[random.nextInt(GRADES.length)]).remarks("Good effort").build());
+				videos.add(Video.builder().id(id).subject(subject)
+						.title(subject.getSubjectName() + " Tutorial " + (r + 1))
+						.url("https://example.com/video" + id).videoType("Tutorial").build());
+			}
+		}
+	}
+
+	/** What SubjectRepository.aggregateProgress would return for {@link #student}. */
+	public List<StudentSubjectProgress> aggregates() {
+		List<StudentSubjectProgress> result = new ArrayList<>();
+		for (Subject subject : subjects) {
+			long total = assignments.stream().filter(a -> a.getSubject() == subject).count();
+			long submitted = assignments.stream().filter(a -> a.getSubject() == subject && submittedAssignmentIds.contains(a.getId())).count();
+			List<Performance> perf = performances.stream().filter(p -> p.getAssessment().getSubject() == subject).toList();
+			BigDecimal sum = perf.stream().map(Performance::getMarksObtained).reduce(BigDecimal.ZERO, BigDecimal::add);
+			BigDecimal squares = perf.stream().map(p -> p.getMarksObtained().multiply(p.getMarksObtained()))
+					.reduce(BigDecimal.ZERO, BigDecimal::add);
+			Performance last = perf.isEmpty() ? null : perf.get(perf.size() - 1);
+			result.add(new StudentSubjectProgress(subject.getId(), subject.getSubjectName(), subject.getClassName(), total,
+					submitted, (long) perf.size(), perf.isEmpty() ? null : perf.size(), sum, squares,
+					last != null ? last.getGrade() : null, last != null ? last.getAssessment().getDueDate() : null));
+		}
+		return result;
+	}
+
+	public StudentProgressResponse progressResponse() {
+		List<StudentSubjectProgress> perSubject = aggregates();
+		for (StudentSubjectProgress ssp : perSubject) {
+			List<String> titles = videos.stream().filter(v -> v.getSubject().getId().equals(ssp.getSubjectId()))
+					.map(Video::getTitle).toList();
+			ssp.setVideosCount(titles.size());
+			ssp.setVideoTitles(titles);
+		}
+		return StudentProgressResponse.builder()
+				.studentId(student.getId())
+				.studentName(student.getFullName())
+				.schoolId(school.getId())
+				.className(CLASS_NAME)
+				.totalAssignments(perSubject.stream().mapToInt(StudentSubjectProgress::getTotalAssignments).sum())
+				.totalSubmitted(perSubject.stream().mapToInt(StudentSubjectProgress::getSubmittedAssignments).sum())
+				.totalPending(perSubject.stream().mapToInt(StudentSubjectProgress::getPendingAssignments).sum())
+				.assessmentsTaken(perSubject.stream().mapToInt(StudentSubjectProgress::getAssessmentsCount).sum())
+				.subjects(perSubject)
+				.build();
+	}
+}
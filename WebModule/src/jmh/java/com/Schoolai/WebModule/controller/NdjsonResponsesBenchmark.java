@@ -0,0 +1,125 @@
+package com.Schoolai.WebModule.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.Schoolai.WebModule.dto.PerformanceSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Heap cost of a list endpoint served as one JSON array built from a List, against the same rows
+ * streamed as NDJSON from a cursor, at growing row counts. Rows are generated lazily like a
+ * fetch-size hinted query hands them out. Each run reports {@code allocatedBytes} (allocated by the
+ * request thread) and {@code retainedBytes} (live heap above the baseline once every row has been
+ * produced, measured after a full GC): the list's retained heap grows with the row count, the
+ * stream's should stay flat.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx1g" })
+public class NdjsonResponsesBenchmark {
+
+	@Param({ "10000", "100000", "1000000" })
+	public int rows;
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Heap {
+
+		private static final com.sun.management.ThreadMXBean THREADS =
+				(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+		public long allocatedBytes;
+		public long retainedBytes;
+
+		private long allocatedAtStart;
+		private long usedAtStart;
+
+		@Setup(Level.Iteration)
+		public void start() {
+			usedAtStart = usedAfterGc();
+			allocatedAtStart = THREADS.getCurrentThreadAllocatedBytes();
+			allocatedBytes = 0;
+			retainedBytes = 0;
+		}
+
+		// Called while the rows of the response are reachable, at the point the endpoint holds the most
+		void sampleRetained() {
+			long allocatedSoFar = THREADS.getCurrentThreadAllocatedBytes();
+			retainedBytes = Math.max(0, usedAfterGc() - usedAtStart);
+			// The GC above doesn't count against the endpoint
+			allocatedAtStart += THREADS.getCurrentThreadAllocatedBytes() - allocatedSoFar;
+		}
+
+		void finish() {
+			allocatedBytes = THREADS.getCurrentThreadAllocatedBytes() - allocatedAtStart;
+		}
+
+		private static long usedAfterGc() {
+			System.gc();
+			return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+		}
+	}
+
+	@Benchmark
+	public void list(Heap heap) throws IOException {
+		List<PerformanceSummary> result = rows().toList();
+		heap.sampleRetained();
+		objectMapper.writeValue(OutputStream.nullOutputStream(), result);
+		heap.finish();
+	}
+
+	@Benchmark
+	public void ndjson(Heap heap) throws IOException {
+		StreamingResponseBody body = NdjsonResponses.<PerformanceSummary>stream(objectMapper, sink -> {
+			try (Stream<PerformanceSummary> cursor = rows()) {
+				cursor.forEach(new Consumer<>() {
+					private int written;
+
+					@Override
+					public void accept(PerformanceSummary row) {
+						sink.accept(row);
+						if (++written == rows) {
+							heap.sampleRetained();
+						}
+					}
+				});
+			}
+		}).getBody();
+		body.writeTo(OutputStream.nullOutputStream());
+		heap.finish();
+	}
+
+	private Stream<PerformanceSummary> rows() {
+		return IntStream.range(0, rows).mapToObj(i -> new PerformanceSummary(i, i / 30, i % 8, "Subject " + i % 8,
+				"Assessment " + i / 30, BigDecimal.valueOf(i % 100), "A"));
+	}
+}
@@ -0,0 +1,49 @@
+package com.Schoolai.WebModule.dto;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.Schoolai.WebModule.BenchmarkFixtures;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentProgressResponseSerializationBenchmark {
+
+	@Param({ "8", "32" })
+	public int subjects;
+
+	@Param({ "10" })
+	public int rowsPerSubject;
+
+	// Same defaults Spring MVC applies to the mapper it serves responses with
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+	private StudentProgressResponse response;
+
+	@Setup
+	public void setUp() {
+		response = new BenchmarkFixtures(subjects, rowsPerSubject).progressResponse();
+	}
+
+	@Benchmark
+	public byte[] writeValueAsBytes() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(response);
+	}
+}
@@ -0,0 +1,146 @@
+package com.Schoolai.WebModule.repository;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Notification-shaped inserts in the two ways Hibernate can issue them. {@code identity} is what an
+ * IDENTITY id forces: one INSERT ... RETURNING round trip per row. {@code sequence} is the pooled
+ * sequence setup: one nextval per 50 rows and JDBC batches that the driver rewrites into multi-row
+ * INSERTs. Scores are rows per second.
+ *
+ * <p>Unlike the other benchmarks this one needs PostgreSQL; it uses the same defaults as
+ * application.properties, overridable with BENCH_JDBC_URL, BENCH_JDBC_USER and BENCH_JDBC_PASSWORD.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+	private static final int ROWS = 1000;
+	private static final int BATCH_SIZE = 50;
+
+	@Param({ "identity", "sequence" })
+	public String idStrategy;
+
+	private Connection connection;
+	private Timestamp now;
+
+	@Setup(Level.Trial)
+	public void setUp() throws SQLException {
+		Properties props = new Properties();
+		props.setProperty("user", env("BENCH_JDBC_USER", "postgres"));
+		props.setProperty("password", env("BENCH_JDBC_PASSWORD", "1234"));
+		props.setProperty("reWriteBatchedInserts", "true");
+		connection = DriverManager.getConnection(env("BENCH_JDBC_URL", "jdbc:postgresql://localhost:5432/postgres"), props);
+		connection.setAutoCommit(false);
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TEMPORARY TABLE bench_notifications (notification_id integer GENERATED BY DEFAULT AS IDENTITY "
+					+ "PRIMARY KEY, user_id integer, message varchar(255), type varchar(50), status varchar(20), timestamp timestamp(6))");
+			statement.execute("CREATE TEMPORARY SEQUENCE bench_notifications_seq INCREMENT BY " + BATCH_SIZE);
+		}
+		connection.commit();
+		now = Timestamp.valueOf(LocalDateTime.now());
+	}
+
+	@TearDown(Level.Iteration)
+	public void truncate() throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("TRUNCATE bench_notifications");
+		}
+		connection.commit();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		connection.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public void insert() throws SQLException {
+		if ("identity".equals(idStrategy)) {
+			insertWithIdentity();
+		} else {
+			insertWithSequence();
+		}
+		connection.commit();
+	}
+
+	private void insertWithIdentity() throws SQLException {
+		try (PreparedStatement insert = connection.prepareStatement(
+				"INSERT INTO bench_notifications (user_id, message, type, status, timestamp) VALUES (?, ?, ?, ?, ?)",
+				Statement.RETURN_GENERATED_KEYS)) {
+			for (int i = 0; i < ROWS; i++) {
+				bind(insert, 1, i);
+				insert.executeUpdate();
+				try (ResultSet keys = insert.getGeneratedKeys()) {
+					keys.next();
+				}
+			}
+		}
+	}
+
+	private void insertWithSequence() throws SQLException {
+		try (PreparedStatement nextval = connection.prepareStatement("SELECT nextval('bench_notifications_seq')");
+				PreparedStatement insert = connection.prepareStatement(
+						"INSERT INTO bench_notifications (notification_id, user_id, message, type, status, timestamp) "
+								+ "VALUES (?, ?, ?, ?, ?, ?)")) {
+			long hi = 0;
+			for (int i = 0; i < ROWS; i++) {
+				if (i % BATCH_SIZE == 0) {
+					try (ResultSet rs = nextval.executeQuery()) {
+						rs.next();
+						hi = rs.getLong(1);
+					}
+				}
+				insert.setLong(1, hi - BATCH_SIZE + 1 + i % BATCH_SIZE);
+				bind(insert, 2, i);
+				insert.addBatch();
+				if ((i + 1) % BATCH_SIZE == 0) {
+					insert.executeBatch();
+				}
+			}
+			insert.executeBatch();
+		}
+	}
+
+	private void bind(PreparedStatement insert, int first, int i) throws SQLException {
+		insert.setInt(first, i);
+		insert.setString(first + 1, "Exam schedule published for term " + i);
+		insert.setString(first + 2, "INFO");
+		insert.setString(first + 3, "UNREAD");
+		insert.setTimestamp(first + 4, now);
+	}
+
+	private static String env(String name, String fallback) {
+		String value = System.getenv(name);
+		return value != null ? value : fallback;
+	}
+}
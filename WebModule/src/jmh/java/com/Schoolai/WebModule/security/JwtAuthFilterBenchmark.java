@@ -0,0 +1,58 @@
+package com.Schoolai.WebModule.security;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.Schoolai.WebModule.BenchmarkFixtures;
+
+import jakarta.servlet.ServletException;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+	private JwtAuthFilter filter;
+	private MockHttpServletRequest request;
+	private MockHttpServletResponse response;
+
+	@Setup
+	public void setUp() {
+		JwtService jwtService = new JwtService(BenchmarkFixtures.JWT_SECRET, 36000, 10000);
+		String token = jwtService.generateToken("aarav@student.com", Map.of("role", "STUDENT", "userId", 1, "schoolId", 1));
+		filter = new JwtAuthFilter(jwtService);
+		request = new MockHttpServletRequest("GET", "/api/students/1/progress");
+		request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+		request.setRemoteAddr("127.0.0.1");
+		response = new MockHttpServletResponse();
+	}
+
+	@Benchmark
+	public Authentication doFilterInternal() throws ServletException, IOException {
+		filter.doFilterInternal(request, response, new MockFilterChain());
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		SecurityContextHolder.clearContext();
+		return authentication;
+	}
+}
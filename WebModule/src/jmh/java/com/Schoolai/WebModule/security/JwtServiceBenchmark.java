@@ -0,0 +1,49 @@
+package com.Schoolai.WebModule.security;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.Schoolai.WebModule.BenchmarkFixtures;
+
+import io.jsonwebtoken.Claims;
+
+/** Full HMAC verification against the verified-token cache hit taken by repeat requests. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+	private JwtService jwtService;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		jwtService = new JwtService(BenchmarkFixtures.JWT_SECRET, 36000, 10000);
+		token = jwtService.generateToken("aarav@student.com", Map.of("role", "STUDENT", "userId", 1, "schoolId", 1));
+		jwtService.parseToken(token);
+	}
+
+	@Benchmark
+	public Claims verify() {
+		return jwtService.verify(token);
+	}
+
+	@Benchmark
+	public Claims parseTokenCached() {
+		return jwtService.parseToken(token);
+	}
+}
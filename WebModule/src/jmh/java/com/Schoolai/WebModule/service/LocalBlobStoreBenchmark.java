@@ -0,0 +1,98 @@
+package com.Schoolai.WebModule.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Upload spooling with a heap far smaller than the upload: if any part of the path buffered the
+ * whole file the fork would fail with OutOfMemoryError. Run with {@code -prof gc} for bytes/op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx32m" })
+public class LocalBlobStoreBenchmark {
+
+	@Param({ "67108864" })
+	public long uploadBytes;
+
+	private Path root;
+	private LocalBlobStore blobStore;
+	private long seed;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		root = Files.createTempDirectory("blob-bench");
+		blobStore = new LocalBlobStore(root);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		try (Stream<Path> paths = Files.walk(root)) {
+			paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+		}
+	}
+
+	@Benchmark
+	public BlobStore.StoredBlob put() throws IOException {
+		// A new seed each time so every upload is a fresh blob rather than a dedup hit
+		try (InputStream upload = new GeneratedStream(uploadBytes, seed++)) {
+			return blobStore.put(upload);
+		}
+	}
+
+	/** Pseudo-random bytes produced on the fly, standing in for the servlet's multipart stream. */
+	static final class GeneratedStream extends InputStream {
+		private final SplittableRandom random;
+		private long remaining;
+
+		GeneratedStream(long size, long seed) {
+			this.random = new SplittableRandom(seed);
+			this.remaining = size;
+		}
+
+		@Override
+		public int read() {
+			if (remaining <= 0) {
+				return -1;
+			}
+			remaining--;
+			return random.nextInt(256);
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (remaining <= 0) {
+				return -1;
+			}
+			int n = (int) Math.min(len, remaining);
+			for (int i = 0; i < n; i++) {
+				b[off + i] = (byte) random.nextInt(256);
+			}
+			remaining -= n;
+			return n;
+		}
+	}
+}
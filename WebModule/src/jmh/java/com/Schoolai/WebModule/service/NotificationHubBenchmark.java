@@ -0,0 +1,91 @@
+package com.Schoolai.WebModule.service;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * A school-wide broadcast to {@code subscribers} connected users (half students, half staff).
+ * {@code broadcastDelivered} is publish until every connection's sink has received the event, the
+ * number a user would feel; {@code broadcastPublish} is only the publisher's side.
+ * {@code directPublish} runs concurrent single-user sends to measure stripe contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationHubBenchmark {
+
+	private static final Set<NotificationHub.Audience> EVERYONE = EnumSet.allOf(NotificationHub.Audience.class);
+	private static final NotificationHub.PushEvent EVENT = new NotificationHub.PushEvent("notification", "Exam on Friday");
+
+	@Param({ "10000" })
+	public int subscribers;
+
+	private NotificationHub hub;
+	private volatile CountDownLatch delivered = new CountDownLatch(0);
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		hub = new NotificationHub(64, 32, 4, Duration.ofMinutes(30), Duration.ofSeconds(5), new SimpleMeterRegistry());
+		for (int i = 0; i < subscribers; i++) {
+			NotificationHub.Audience audience = i % 2 == 0 ? NotificationHub.Audience.STUDENT : NotificationHub.Audience.STAFF;
+			hub.subscribe(new NotificationHub.Recipient(audience, i), 1, event -> delivered.countDown());
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		hub.shutdown();
+	}
+
+	@Benchmark
+	public void broadcastDelivered() throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(subscribers);
+		delivered = latch;
+		hub.publishToSchool(1, EVERYONE, EVENT);
+		latch.await();
+	}
+
+	@Benchmark
+	public int broadcastPublish() {
+		return hub.publishToSchool(1, EVERYONE, EVENT);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public int directPublish(ThreadIndex index) {
+		return hub.publish(new NotificationHub.Recipient(NotificationHub.Audience.STUDENT, index.next(subscribers)), EVENT);
+	}
+
+	@State(Scope.Thread)
+	public static class ThreadIndex {
+		private int next;
+
+		int next(int bound) {
+			next = (next + 7919) % bound;
+			return next - next % 2;
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package com.Schoolai.WebModule.service;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.Schoolai.WebModule.BenchmarkFixtures;
+import com.Schoolai.WebModule.dto.AssignmentSummary;
+import com.Schoolai.WebModule.dto.PerformanceSummary;
+import com.Schoolai.WebModule.dto.StudentProgressResponse;
+import com.Schoolai.WebModule.dto.VideoInfo;
+import com.Schoolai.WebModule.repository.AssignmentRepository;
+import com.Schoolai.WebModule.repository.CurriculumRepository;
+import com.Schoolai.WebModule.repository.PerformanceRepository;
+import com.Schoolai.WebModule.repository.SchoolRepository;
+import com.Schoolai.WebModule.repository.StudentRepository;
+import com.Schoolai.WebModule.repository.SubjectRepository;
+import com.Schoolai.WebModule.repository.VideoRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Entity-to-DTO mapping cost of StudentProgressService with repositories stubbed to return fixed
+ * fixtures, so only the in-JVM work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentProgressServiceBenchmark {
+
+	@Param({ "8" })
+	public int subjects;
+
+	@Param({ "10", "100" })
+	public int rowsPerSubject;
+
+	private StudentProgressService service;
+
+	@Setup
+	public void setUp() {
+		BenchmarkFixtures fixtures = new BenchmarkFixtures(subjects, rowsPerSubject);
+		StudentRepository studentRepository = stub(StudentRepository.class);
+		SubjectRepository subjectRepository = stub(SubjectRepository.class);
+		AssignmentRepository assignmentRepository = stub(AssignmentRepository.class);
+		PerformanceRepository performanceRepository = stub(PerformanceRepository.class);
+		VideoRepository videoRepository = stub(VideoRepository.class);
+
+		when(studentRepository.findById(anyInt())).thenReturn(Optional.of(fixtures.student));
+		when(subjectRepository.findByClassNameAndCurriculumId(anyString(), anyInt())).thenReturn(fixtures.subjects);
+		when(subjectRepository.aggregateProgress(anyInt(), anyCollection())).thenReturn(fixtures.aggregates());
+		when(videoRepository.findBySubjectIdInOrderById(anyCollection())).thenReturn(fixtures.videos);
+		when(performanceRepository.streamSummariesByStudentId(anyInt())).thenAnswer(inv -> fixtures.performances.stream()
+				.map(p -> new PerformanceSummary(p.getId(), p.getAssessment().getId(), p.getAssessment().getSubject().getId(),
+						p.getAssessment().getSubject().getSubjectName(), p.getAssessment().getTitle(), p.getMarksObtained(),
+						p.getGrade())));
+		when(assignmentRepository.streamSummariesForStudent(anyInt(), anyCollection())).thenAnswer(inv -> fixtures.assignments.stream()
+				.map(a -> new AssignmentSummary(a.getId(), a.getSubject().getId(), a.getSubject().getSubjectName(), a.getTitle(),
+						a.getDueDate(), fixtures.submittedAssignmentIds.contains(a.getId()))));
+
+		ReferenceDataCache referenceDataCache = new ReferenceDataCache(stub(SchoolRepository.class),
+				stub(CurriculumRepository.class), subjectRepository, new SimpleMeterRegistry(), Duration.ofHours(1), 1000);
+		service = new StudentProgressService(studentRepository, subjectRepository, assignmentRepository,
+				performanceRepository, videoRepository, referenceDataCache,
+				// Zero TTL: every call rebuilds the snapshot, which is the work being measured
+				new StudentDashboardCache(new SimpleMeterRegistry(), Duration.ZERO, 1000));
+	}
+
+	// stubOnly: no invocation recording, which would otherwise grow for the whole run
+	private static <T> T stub(Class<T> type) {
+		return mock(type, withSettings().stubOnly());
+	}
+
+	@Benchmark
+	public StudentProgressResponse getProgress() {
+		return service.getProgress(1);
+	}
+
+	@Benchmark
+	public List<PerformanceSummary> getPerformance() {
+		return service.getPerformance(1);
+	}
+
+	@Benchmark
+	public List<AssignmentSummary> getAssignments() {
+		return service.getAssignments(1);
+	}
+
+	@Benchmark
+	public List<VideoInfo> getVideos() {
+		return service.getVideos(1);
+	}
+}
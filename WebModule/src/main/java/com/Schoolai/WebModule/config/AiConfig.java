@@ -0,0 +1,28 @@
+package com.Schoolai.WebModule.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.Schoolai.WebModule.dto.AskQuestionRequest;
+import com.Schoolai.WebModule.dto.VideoGenerationRequest;
+import com.Schoolai.WebModule.dto.VideoGenerationResponse;
+import com.Schoolai.WebModule.service.AiCallbackExecutor;
+import com.Schoolai.WebModule.service.SingleFlight;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableScheduling
+public class AiConfig {
+
+	@Bean
+	public SingleFlight<String, String, AskQuestionRequest> askFlights(AiCallbackExecutor callbacks, MeterRegistry registry) {
+		return new SingleFlight<>("ask", callbacks.executor(), registry);
+	}
+
+	@Bean
+	public SingleFlight<String, VideoGenerationResponse, VideoGenerationRequest> videoFlights(AiCallbackExecutor callbacks, MeterRegistry registry) {
+		return new SingleFlight<>("videos", callbacks.executor(), registry);
+	}
+}
@@ -1,6 +1,8 @@
 package com.Schoolai.WebModule.config;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -9,6 +11,7 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -56,8 +59,10 @@ import com.Schoolai.WebModule.repository.TimetableRepository;
 import com.Schoolai.WebModule.repository.TopicRepository;
 import com.Schoolai.WebModule.repository.VideoRepository;
 import com.Schoolai.WebModule.repository.VideoViewRepository;
+import com.Schoolai.WebModule.service.BlobStore;
 
 @Component
+@Profile("!synthetic")
 public class DataInitializer implements CommandLineRunner {
 
     @Autowired
@@ -123,6 +128,12 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private MaintainedTables maintainedTables;
+
+    @Autowired
+    private BlobStore blobStore;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -240,42 +251,16 @@ public class DataInitializer implements CommandLineRunner {
         System.out.println("Created " + performances.size() + " performances");
 
         // 14. Create Assignment Submissions (5+ submissions, linked to assignments, students, subjects)
-        // Use native SQL to avoid Hibernate bytea column ordering issues
-        try {
-            for (int i = 0; i < 8; i++) {
-                Integer assignmentId = assignments.get(i % assignments.size()).getId();
-                Integer studentId = students.get(i % students.size()).getId();
-                Integer subjectId = subjects.get(i % subjects.size()).getId();
-                String fileName = "homework" + (i + 1) + ".pdf";
-                String filePath = "/uploads/" + fileName;
-                Long fileSize = (long) (1024 * (i + 1));
-                String fileType = "application/pdf";
-                String notes = "Submitted on time with all requirements met";
-                String aiFeedback = "Good work! Keep it up.";
-                
-                String sql = "INSERT INTO assignment_submission " +
-                    "(assignment_id, student_id, subject_id, file_name, file_path, file_size, file_type, notes, submitted_at, ai_feedback, file_data) " +
-                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, NULL)";
-                
-                entityManager.createNativeQuery(sql)
-                    .setParameter(1, assignmentId)
-                    .setParameter(2, studentId)
-                    .setParameter(3, subjectId)
-                    .setParameter(4, fileName)
-                    .setParameter(5, filePath)
-                    .setParameter(6, fileSize)
-                    .setParameter(7, fileType)
-                    .setParameter(8, notes)
-                    .setParameter(9, LocalDateTime.now().minusDays(5 - i))
-                    .setParameter(10, aiFeedback)
-                    .executeUpdate();
-            }
-            entityManager.flush();
-            System.out.println("Created 8 assignment submissions");
-        } catch (Exception e) {
-            System.out.println("Warning: Could not create assignment submissions: " + e.getMessage());
-            e.printStackTrace();
+        // Each gets a small sample file in the blob store, so feedback jobs can open it like a real upload
+        List<AssignmentSubmission> submissions = createAssignmentSubmissions(assignments, students, subjects);
+        for (AssignmentSubmission submission : submissions) {
+            BlobStore.StoredBlob blob = blobStore.put(new ByteArrayInputStream(
+                    ("Sample submission: " + submission.getFileName()).getBytes(StandardCharsets.UTF_8)));
+            submission.setFileHash(blob.sha256());
+            submission.setFileSize(blob.size());
         }
+        assignmentSubmissionRepository.saveAll(submissions);
+        System.out.println("Created " + submissions.size() + " assignment submissions");
 
         // 15. Create Video Views (5+ views, linked to videos and students)
         List<VideoView> videoViews = createVideoViews(videos, students);
@@ -307,6 +292,10 @@ public class DataInitializer implements CommandLineRunner {
         chatHistoryRepository.saveAll(chatHistories);
         System.out.println("Created " + chatHistories.size() + " chat histories");
 
+        // Written through the repositories, not the services that keep the derived tables in step
+        entityManager.flush();
+        maintainedTables.rebuildAll();
+
         System.out.println("Database initialization completed successfully!");
     }
 
@@ -448,7 +437,6 @@ public class DataInitializer implements CommandLineRunner {
                     .type(types[i])
                     .submissionTime(LocalDateTime.now().plusDays(7 + i))
                     .instructions("Follow the guidelines provided in class")
-                    .submittedOn(null)
                     .maxMarks(100)
                     .build());
         }
@@ -583,14 +571,12 @@ public class DataInitializer implements CommandLineRunner {
                              "application/pdf", "image/jpeg"};
         
         for (int i = 0; i < 8; i++) {
-            // Set fileData to null to avoid bytea mapping issues - files can be uploaded via API
             submissions.add(AssignmentSubmission.builder()
                     .assignment(assignments.get(i % assignments.size()))
                     .student(students.get(i % students.size()))
                     .subject(subjects.get(i % subjects.size()))
                     .fileName(fileNames[i])
                     .filePath("/uploads/" + fileNames[i])
-                    .fileData(null) // Will be set when file is actually uploaded via API
                     .fileSize((long) (1024 * (i + 1))) // Sample file size
                     .fileType(fileTypes[i])
                     .notes("Submitted on time with all requirements met")
@@ -677,12 +663,13 @@ public class DataInitializer implements CommandLineRunner {
                              "Holiday notice", "Fee payment reminder", "Sports day announcement",
                              "Library book return reminder", "Annual day invitation"};
         String[] types = {"Assignment", "Exam", "Meeting", "Notice", "Payment", "Event", "Reminder", "Invitation"};
-        String[] statuses = {"Unread", "Read", "Unread", "Read", "Unread", "Read", "Unread", "Read"};
+        String[] statuses = {"UNREAD", "READ", "UNREAD", "READ", "UNREAD", "READ", "UNREAD", "READ"};
         
         for (int i = 0; i < 8; i++) {
             Integer userId = (i % 2 == 0) ? students.get(i % students.size()).getId() : teachers.get(i % teachers.size()).getId();
             notifications.add(Notification.builder()
                     .userId(userId)
+                    .audience((i % 2 == 0) ? Notification.AUDIENCE_STUDENT : Notification.AUDIENCE_STAFF)
                     .message(messages[i])
                     .type(types[i])
                     .status(statuses[i])
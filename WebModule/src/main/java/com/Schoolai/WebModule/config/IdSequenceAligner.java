@@ -0,0 +1,42 @@
+package com.Schoolai.WebModule.config;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Moves the pooled id sequences past rows that were inserted without them: tables created before the
+ * switch from identity columns, or bulk loads that write ids directly. Runs once the schema is up to
+ * date and before anything inserts through JPA; safe to call again after a bulk load.
+ */
+@Component
+public class IdSequenceAligner {
+
+	// table, id column, sequence; must match the @SequenceGenerator mappings
+	private static final String[][] SEQUENCES = {
+			{ "notifications", "notification_id", "notifications_seq" },
+			{ "attendance", "attendance_id", "attendance_seq" },
+			{ "performance", "performance_id", "performance_seq" },
+			{ "video_view", "view_id", "video_view_seq" },
+			{ "chat_history", "chat_id", "chat_history_seq" } };
+
+	private final JdbcTemplate jdbcTemplate;
+
+	// The EntityManagerFactory is only injected so the schema update (which creates the sequences) runs first
+	public IdSequenceAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@PostConstruct
+	public void align() {
+		for (String[] sequence : SEQUENCES) {
+			// Pooled ids are handed out above (value - allocationSize), so setting the sequence to the
+			// current maximum is enough to never collide with existing rows
+			jdbcTemplate.query("SELECT setval('" + sequence[2] + "', m) FROM (SELECT MAX(" + sequence[1] + ") AS m FROM "
+					+ sequence[0] + ") t WHERE m >= (SELECT last_value FROM " + sequence[2] + ")", rs -> {
+					});
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.Schoolai.WebModule.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.Schoolai.WebModule.service.AttendanceHistoryService;
+import com.Schoolai.WebModule.service.AttendanceRollupService;
+import com.Schoolai.WebModule.service.NotificationInboxService;
+import com.Schoolai.WebModule.service.StudentSubjectStatsService;
+import com.Schoolai.WebModule.service.VideoViewIngestion;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tables the services keep up to date alongside the rows they are derived from. A full rebuild locks
+ * the table against writers while it reads the whole source, so at startup a table is only rebuilt
+ * when it is empty (a new database, or one loaded without the services) or when
+ * {@code maintained-tables.rebuild-on-startup} is set. Anything that writes the source tables
+ * directly calls {@link #rebuildAll()} afterwards.
+ */
+@Slf4j
+@Component
+public class MaintainedTables {
+
+	private record Table(String name, Runnable rebuild) {
+	}
+
+	private final List<Table> tables;
+	private final JdbcTemplate jdbcTemplate;
+	private final boolean rebuildOnStartup;
+
+	public MaintainedTables(AttendanceRollupService attendanceRollupService,
+			AttendanceHistoryService attendanceHistoryService, StudentSubjectStatsService studentSubjectStatsService,
+			VideoViewIngestion videoViewIngestion, NotificationInboxService notificationInboxService,
+			JdbcTemplate jdbcTemplate, @Value("${maintained-tables.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+		this.tables = List.of(
+				new Table("attendance_rollup", attendanceRollupService::rebuildRollups),
+				new Table("attendance_year", attendanceHistoryService::rebuildYears),
+				new Table("student_subject_stats", studentSubjectStatsService::rebuildStats),
+				new Table("video_view_stats", videoViewIngestion::rebuildStats),
+				new Table("notification_unread", notificationInboxService::rebuildUnreadCounts));
+		this.jdbcTemplate = jdbcTemplate;
+		this.rebuildOnStartup = rebuildOnStartup;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuildIfNeeded() {
+		for (Table table : tables) {
+			if (rebuildOnStartup || isEmpty(table.name())) {
+				table.rebuild().run();
+			}
+		}
+	}
+
+	public void rebuildAll() {
+		tables.forEach(table -> table.rebuild().run());
+	}
+
+	private boolean isEmpty(String table) {
+		return !jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + table + ")", Boolean.class);
+	}
+}
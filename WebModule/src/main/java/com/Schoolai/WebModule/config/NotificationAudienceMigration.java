@@ -0,0 +1,55 @@
+package com.Schoolai.WebModule.config;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.Schoolai.WebModule.service.NotificationInboxService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Notifications written before recipients were keyed by (user_id, audience) have no audience, so the
+ * inbox, unread count and mark-read queries never match them. Their user_id was a student id or a
+ * teacher id; a student id wins when it is both, since that is who most notifications went to. The
+ * column is made NOT NULL afterwards, which is also how later starts know there is nothing to do, and
+ * the unread counters, which skipped these rows, are rebuilt.
+ */
+@Slf4j
+@Component
+public class NotificationAudienceMigration {
+
+	private static final String BACKFILL = "UPDATE %s n SET audience = CASE "
+			+ "WHEN EXISTS (SELECT 1 FROM student s WHERE s.student_id = n.user_id) THEN 'STUDENT' "
+			+ "WHEN EXISTS (SELECT 1 FROM teacher t WHERE t.teacher_id = n.user_id) THEN 'STAFF' "
+			+ "ELSE 'STUDENT' END WHERE n.audience IS NULL";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final NotificationInboxService notificationInboxService;
+
+	// The EntityManagerFactory is only injected so the audience columns exist before the update runs
+	public NotificationAudienceMigration(JdbcTemplate jdbcTemplate, NotificationInboxService notificationInboxService,
+			EntityManagerFactory entityManagerFactory) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.notificationInboxService = notificationInboxService;
+	}
+
+	@PostConstruct
+	public void migrate() {
+		boolean nullable = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM information_schema.columns "
+				+ "WHERE table_schema = current_schema() AND table_name = 'notifications' "
+				+ "AND column_name = 'audience' AND is_nullable = 'YES')", Boolean.class);
+		if (!nullable) {
+			return;
+		}
+		int notifications = jdbcTemplate.update(BACKFILL.formatted("notifications"));
+		int archived = jdbcTemplate.update(BACKFILL.formatted("notification_archive"));
+		jdbcTemplate.execute("ALTER TABLE notification_archive ALTER COLUMN audience SET NOT NULL");
+		jdbcTemplate.execute("ALTER TABLE notifications ALTER COLUMN audience SET NOT NULL");
+		log.info("Filled in the audience of {} notifications and {} archived notifications", notifications, archived);
+		if (notifications > 0) {
+			notificationInboxService.rebuildUnreadCounts();
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package com.Schoolai.WebModule.config;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * Ids for rows inserted with plain JDBC batches. They come from the same pooled generator JPA uses for
+ * the entity, so they never collide with rows JPA inserts and most batches don't touch the sequence.
+ */
+public final class PooledIds {
+
+	private PooledIds() {
+	}
+
+	public static IdentifierGenerator generator(SharedSessionContractImplementor session, Class<?> entity) {
+		return (IdentifierGenerator) session.getFactory().getMappingMetamodel().getEntityDescriptor(entity).getGenerator();
+	}
+}
@@ -0,0 +1,65 @@
+package com.Schoolai.WebModule.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.Schoolai.WebModule.service.BlobStore;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves uploads kept in the old assignment_submission.file_data column into the blob store. Each row
+ * is copied and given its file_hash on its own, so an interrupted run picks up where it stopped; the
+ * column is dropped once every row has been copied, which makes later starts a single catalog lookup.
+ */
+@Slf4j
+@Component
+public class SubmissionFileMigration {
+
+	private final JdbcTemplate jdbcTemplate;
+	private final BlobStore blobStore;
+
+	// The EntityManagerFactory is only injected so the schema update (which adds file_hash) runs first
+	public SubmissionFileMigration(JdbcTemplate jdbcTemplate, BlobStore blobStore, EntityManagerFactory entityManagerFactory) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.blobStore = blobStore;
+	}
+
+	@PostConstruct
+	public void migrate() {
+		boolean legacy = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM information_schema.columns "
+				+ "WHERE table_schema = current_schema() AND table_name = 'assignment_submission' "
+				+ "AND column_name = 'file_data')", Boolean.class);
+		if (!legacy) {
+			return;
+		}
+		List<Integer> ids = jdbcTemplate.queryForList("SELECT submission_id FROM assignment_submission "
+				+ "WHERE file_data IS NOT NULL AND file_hash IS NULL ORDER BY submission_id", Integer.class);
+		for (Integer id : ids) {
+			// One row's bytes at a time, so the copy never holds more than a single upload
+			BlobStore.StoredBlob blob = jdbcTemplate.query("SELECT file_data FROM assignment_submission WHERE submission_id = ?",
+					rs -> rs.next() ? put(rs.getBinaryStream(1)) : null, id);
+			if (blob != null) {
+				jdbcTemplate.update("UPDATE assignment_submission SET file_hash = ?, file_size = COALESCE(file_size, ?) "
+						+ "WHERE submission_id = ?", blob.sha256(), blob.size(), id);
+			}
+		}
+		jdbcTemplate.execute("ALTER TABLE assignment_submission DROP COLUMN file_data");
+		log.info("Moved {} submission files into the blob store", ids.size());
+	}
+
+	private BlobStore.StoredBlob put(InputStream content) {
+		try (content) {
+			return blobStore.put(content);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
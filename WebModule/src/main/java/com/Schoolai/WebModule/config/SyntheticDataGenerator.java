@@ -0,0 +1,420 @@
+package com.Schoolai.WebModule.config;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replaces {@link DataInitializer} under the {@code synthetic} profile with a parameterised data set
+ * bulk-loaded through PostgreSQL COPY. Ids are assigned here rather than by the database, so child
+ * rows can reference parents without reading anything back. Every random draw comes from a
+ * generator seeded by {@code synthetic.seed} and the row's own id, so the same settings always give
+ * the same rows.
+ */
+@Component
+@Profile("synthetic")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+	private static final String[] SUBJECT_NAMES = { "Mathematics", "Science", "English", "Social Studies", "Hindi",
+			"Computer Science" };
+	private static final String[] MEDIUMS = { "English", "Hindi", "Marathi", "Gujarati", "Tamil" };
+	private static final String[] BOARDS = { "CBSE", "ICSE", "State Board", "IB" };
+	private static final String[] FIRST_NAMES = { "Aarav", "Vivaan", "Aditya", "Ananya", "Diya", "Ishaan", "Kavya",
+			"Meera", "Rohan", "Saanvi", "Arjun", "Priya", "Kabir", "Nisha", "Rahul", "Sneha" };
+	private static final String[] LAST_NAMES = { "Sharma", "Patel", "Iyer", "Reddy", "Gupta", "Khan", "Desai",
+			"Nair", "Joshi", "Kulkarni", "Singh", "Mehta" };
+	private static final String[] ASSIGNMENT_TYPES = { "Homework", "Project", "Essay", "Worksheet", "Lab Report" };
+	private static final String[] VIDEO_TYPES = { "Tutorial", "Lesson", "Demo", "Explanation" };
+
+	private final DataSource dataSource;
+	private final IdSequenceAligner idSequenceAligner;
+	private final MaintainedTables maintainedTables;
+	private final PasswordEncoder passwordEncoder;
+	private final long seed;
+	private final int schools;
+	private final int classesPerSchool;
+	private final int studentsPerClass;
+	private final int attendanceDays;
+	private final int assignmentsPerSubject;
+	private final int assessmentsPerSubject;
+	private final int videosPerSubject;
+	private final double videoViewRate;
+	private final LocalDate startDate;
+
+	public SyntheticDataGenerator(DataSource dataSource, IdSequenceAligner idSequenceAligner,
+			MaintainedTables maintainedTables, PasswordEncoder passwordEncoder,
+			@Value("${synthetic.seed:42}") long seed,
+			@Value("${synthetic.scale-factor:1}") int scaleFactor,
+			@Value("${synthetic.schools:10}") int schools,
+			@Value("${synthetic.classes-per-school:10}") int classesPerSchool,
+			@Value("${synthetic.students-per-class:40}") int studentsPerClass,
+			@Value("${synthetic.attendance-days:180}") int attendanceDays,
+			@Value("${synthetic.assignments-per-subject:6}") int assignmentsPerSubject,
+			@Value("${synthetic.assessments-per-subject:4}") int assessmentsPerSubject,
+			@Value("${synthetic.videos-per-subject:3}") int videosPerSubject,
+			@Value("${synthetic.video-view-rate:0.3}") double videoViewRate,
+			@Value("${synthetic.start-date:2025-06-02}") LocalDate startDate) {
+		this.dataSource = dataSource;
+		this.idSequenceAligner = idSequenceAligner;
+		this.maintainedTables = maintainedTables;
+		this.passwordEncoder = passwordEncoder;
+		this.seed = seed;
+		this.schools = schools * scaleFactor;
+		this.classesPerSchool = classesPerSchool;
+		this.studentsPerClass = studentsPerClass;
+		this.attendanceDays = attendanceDays;
+		this.assignmentsPerSubject = assignmentsPerSubject;
+		this.assessmentsPerSubject = assessmentsPerSubject;
+		this.videosPerSubject = videosPerSubject;
+		this.videoViewRate = videoViewRate;
+		this.startDate = startDate;
+	}
+
+	@Override
+	public void run(String... args) throws Exception {
+		System.out.println("Generating synthetic data: " + schools + " schools x " + classesPerSchool + " classes x "
+				+ studentsPerClass + " students, " + attendanceDays + " attendance days, seed " + seed);
+		long started = System.currentTimeMillis();
+
+		try (Connection connection = dataSource.getConnection()) {
+			connection.setAutoCommit(false);
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("TRUNCATE TABLE school, chat_history, notifications, notification_unread, notification_archive, "
+						+ "broadcast, feedback_job RESTART IDENTITY CASCADE");
+			}
+			PGConnection pg = connection.unwrap(PGConnection.class);
+
+			report("school", copy(pg, "school", "school_id, school_name, address, board", this::schools));
+			report("curriculum", copy(pg, "curriculum", "curriculum_id, class, school_id, medium, description", this::curricula));
+			report("subjects", copy(pg, "subjects", "subject_id, subject_name, class, curriculum_id", this::subjects));
+			report("teacher", copy(pg, "teacher", "teacher_id, full_name, subject_id, email, password, contact_no, dob, "
+					+ "qualification, experience_years, designation, school_id", this::teachers));
+			report("student", copy(pg, "student", "student_id, full_name, class, school_id, password, medium, email, "
+					+ "contact_no, dob, gender, address, admission_date, curriculum_id", this::students));
+			report("assignment", copy(pg, "assignment", "assignment_id, subject_id, title, due_date, description, "
+					+ "assigned_by, type, submission_time, instructions, max_marks", this::assignments));
+			report("assessment", copy(pg, "assessment", "assessment_id, subject_id, title, due_date, assigned_by",
+					this::assessments));
+			report("videos", copy(pg, "videos", "video_id, title, subject_id, url, generated_by, video_type", this::videos));
+			report("attendance", copy(pg, "attendance", "attendance_id, student_id, date, status, email, remarks", this::attendance));
+			report("performance", copy(pg, "performance", "performance_id, student_id, assessment_id, marks_obtained, grade, remarks",
+					this::performance));
+			report("video_view", copy(pg, "video_view", "view_id, video_id, student_id, viewed_at", this::videoViews));
+
+			// Ids above were supplied explicitly; move each identity sequence past them
+			try (Statement statement = connection.createStatement()) {
+				for (String[] table : new String[][] { { "school", "school_id" }, { "curriculum", "curriculum_id" },
+						{ "subjects", "subject_id" }, { "teacher", "teacher_id" }, { "student", "student_id" },
+						{ "assignment", "assignment_id" }, { "assessment", "assessment_id" }, { "videos", "video_id" } }) {
+					statement.execute("SELECT setval(pg_get_serial_sequence('" + table[0] + "', '" + table[1] + "'), "
+							+ "COALESCE((SELECT MAX(" + table[1] + ") FROM " + table[0] + "), 0) + 1, false)");
+				}
+			}
+			connection.commit();
+		}
+		idSequenceAligner.align();
+		// COPY bypassed the services that keep the derived tables in step
+		maintainedTables.rebuildAll();
+		System.out.println("Synthetic data generated in " + (System.currentTimeMillis() - started) + " ms");
+	}
+
+	private void schools(Rows rows) {
+		for (int s = 0; s < schools; s++) {
+			rows.add(s + 1, "Synthetic School " + (s + 1), (s + 1) + " Campus Road, District " + (s % 50 + 1),
+					BOARDS[s % BOARDS.length]);
+		}
+	}
+
+	private void curricula(Rows rows) {
+		for (int s = 0; s < schools; s++) {
+			for (int c = 0; c < classesPerSchool; c++) {
+				rows.add(curriculumId(s, c), className(c), s + 1, MEDIUMS[s % MEDIUMS.length],
+						"Curriculum for " + className(c) + " in " + MEDIUMS[s % MEDIUMS.length] + " medium");
+			}
+		}
+	}
+
+	private void subjects(Rows rows) {
+		for (int s = 0; s < schools; s++) {
+			for (int c = 0; c < classesPerSchool; c++) {
+				for (int j = 0; j < SUBJECT_NAMES.length; j++) {
+					rows.add(subjectId(s, c, j), SUBJECT_NAMES[j], className(c), curriculumId(s, c));
+				}
+			}
+		}
+	}
+
+	// One teacher per subject, sharing the subject's id
+	private void teachers(Rows rows) {
+		String password = passwordEncoder.encode("teacher123");
+		for (int s = 0; s < schools; s++) {
+			for (int c = 0; c < classesPerSchool; c++) {
+				for (int j = 0; j < SUBJECT_NAMES.length; j++) {
+					int id = subjectId(s, c, j);
+					SplittableRandom random = random("teacher", id);
+					rows.add(id, personName(random), id, "teacher" + id + "@synthetic.school", password,
+							phone(random), LocalDate.of(1970, 1, 1).plusDays(random.nextInt(9000)),
+							random.nextBoolean() ? "M.Sc, B.Ed" : "M.A, B.Ed", 1 + random.nextInt(25),
+							c == 0 && j == 0 ? "Principal" : "Teacher", s + 1);
+				}
+			}
+		}
+	}
+
+	private void students(Rows rows) {
+		String password = passwordEncoder.encode("student123");
+		for (int s = 0; s < schools; s++) {
+			for (int c = 0; c < classesPerSchool; c++) {
+				for (int k = 0; k < studentsPerClass; k++) {
+					int id = studentId(s, c, k);
+					SplittableRandom random = random("student", id);
+					rows.add(id, personName(random), className(c), s + 1, password, MEDIUMS[s % MEDIUMS.length],
+							studentEmail(id), phone(random),
+							LocalDate.of(2019 - c, 1, 1).plusDays(random.nextInt(365)),
+							random.nextBoolean() ? "Male" : "Female", (1 + random.nextInt(999)) + " Residency Lane",
+							startDate.minusYears(c).withDayOfMonth(1), curriculumId(s, c));
+				}
+			}
+		}
+	}
+
+	private void assignments(Rows rows) {
+		forEachSubject((s, c, j, subjectId) -> {
+			for (int a = 0; a < assignmentsPerSubject; a++) {
+				LocalDate due = startDate.plusDays(14L * (a + 1));
+				String title = SUBJECT_NAMES[j] + " " + ASSIGNMENT_TYPES[a % ASSIGNMENT_TYPES.length] + " " + (a + 1);
+				rows.add((subjectId - 1) * assignmentsPerSubject + a + 1, subjectId, title, due,
+						"Complete " + title + " with detailed explanations", subjectId,
+						ASSIGNMENT_TYPES[a % ASSIGNMENT_TYPES.length], due.atTime(23, 59),
+						"Follow the guidelines provided in class", 100);
+			}
+		});
+	}
+
+	private void assessments(Rows rows) {
+		forEachSubject((s, c, j, subjectId) -> {
+			for (int a = 0; a < assessmentsPerSubject; a++) {
+				rows.add(assessmentId(subjectId, a), subjectId, SUBJECT_NAMES[j] + " Unit Test " + (a + 1),
+						startDate.plusDays(30L * (a + 1)), subjectId);
+			}
+		});
+	}
+
+	private void videos(Rows rows) {
+		forEachSubject((s, c, j, subjectId) -> {
+			for (int v = 0; v < videosPerSubject; v++) {
+				int id = videoId(subjectId, v);
+				rows.add(id, SUBJECT_NAMES[j] + " " + VIDEO_TYPES[v % VIDEO_TYPES.length] + " " + (v + 1), subjectId,
+						"https://example.com/video" + id, subjectId, VIDEO_TYPES[v % VIDEO_TYPES.length]);
+			}
+		});
+	}
+
+	private void attendance(Rows rows) {
+		List<LocalDate> days = schoolDays();
+		forEachStudent((s, c, studentId) -> {
+			SplittableRandom random = random("attendance", studentId);
+			String email = studentEmail(studentId);
+			for (LocalDate day : days) {
+				int roll = random.nextInt(100);
+				String status = roll < 90 ? "Present" : roll < 97 ? "Absent" : "Late";
+				rows.add(rows.nextId(), studentId, day, status, email, "Absent".equals(status) ? "Absent due to illness" : "Regular attendance");
+			}
+		});
+	}
+
+	private void performance(Rows rows) {
+		forEachStudent((s, c, studentId) -> {
+			SplittableRandom random = random("performance", studentId);
+			// Each student has a base ability so their marks are correlated across subjects
+			double ability = 55 + random.nextDouble() * 35;
+			for (int j = 0; j < SUBJECT_NAMES.length; j++) {
+				int subjectId = subjectId(s, c, j);
+				for (int a = 0; a < assessmentsPerSubject; a++) {
+					double marks = Math.max(0, Math.min(100, ability + (random.nextDouble() - 0.5) * 30));
+					BigDecimal obtained = BigDecimal.valueOf(marks).setScale(1, RoundingMode.HALF_UP);
+					rows.add(rows.nextId(), studentId, assessmentId(subjectId, a), obtained, grade(marks), remark(marks));
+				}
+			}
+		});
+	}
+
+	private void videoViews(Rows rows) {
+		forEachStudent((s, c, studentId) -> {
+			SplittableRandom random = random("video_view", studentId);
+			for (int j = 0; j < SUBJECT_NAMES.length; j++) {
+				int subjectId = subjectId(s, c, j);
+				for (int v = 0; v < videosPerSubject; v++) {
+					if (random.nextDouble() < videoViewRate) {
+						LocalDateTime viewedAt = startDate.atTime(16, 0).plusDays(random.nextInt(Math.max(1, attendanceDays)))
+								.plusMinutes(random.nextInt(240));
+						rows.add(rows.nextId(), videoId(subjectId, v), studentId, viewedAt);
+					}
+				}
+			}
+		});
+	}
+
+	private interface SubjectVisitor {
+		void visit(int school, int classIndex, int subjectIndex, int subjectId);
+	}
+
+	private interface StudentVisitor {
+		void visit(int school, int classIndex, int studentId);
+	}
+
+	private void forEachSubject(SubjectVisitor visitor) {
+		for (int s = 0; s < schools; s++) {
+			for (int c = 0; c < classesPerSchool; c++) {
+				for (int j = 0; j < SUBJECT_NAMES.length; j++) {
+					visitor.visit(s, c, j, subjectId(s, c, j));
+				}
+			}
+		}
+	}
+
+	private void forEachStudent(StudentVisitor visitor) {
+		for (int s = 0; s < schools; s++) {
+			for (int c = 0; c < classesPerSchool; c++) {
+				for (int k = 0; k < studentsPerClass; k++) {
+					visitor.visit(s, c, studentId(s, c, k));
+				}
+			}
+		}
+	}
+
+	private List<LocalDate> schoolDays() {
+		List<LocalDate> days = new ArrayList<>(attendanceDays);
+		for (LocalDate day = startDate; days.size() < attendanceDays; day = day.plusDays(1)) {
+			if (day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+				days.add(day);
+			}
+		}
+		return days;
+	}
+
+	private int curriculumId(int school, int classIndex) {
+		return school * classesPerSchool + classIndex + 1;
+	}
+
+	private int subjectId(int school, int classIndex, int subjectIndex) {
+		return (curriculumId(school, classIndex) - 1) * SUBJECT_NAMES.length + subjectIndex + 1;
+	}
+
+	private int studentId(int school, int classIndex, int index) {
+		return (curriculumId(school, classIndex) - 1) * studentsPerClass + index + 1;
+	}
+
+	private int assessmentId(int subjectId, int index) {
+		return (subjectId - 1) * assessmentsPerSubject + index + 1;
+	}
+
+	private int videoId(int subjectId, int index) {
+		return (subjectId - 1) * videosPerSubject + index + 1;
+	}
+
+	private static String className(int classIndex) {
+		return "Class " + (classIndex + 1);
+	}
+
+	private static String studentEmail(int studentId) {
+		return "student" + studentId + "@synthetic.school";
+	}
+
+	private static String personName(SplittableRandom random) {
+		return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+	}
+
+	private static String phone(SplittableRandom random) {
+		return String.valueOf(9_000_000_000L + random.nextLong(1_000_000_000L));
+	}
+
+	private static String grade(double marks) {
+		return marks >= 90 ? "A+" : marks >= 80 ? "A" : marks >= 70 ? "B+" : marks >= 60 ? "B" : marks >= 50 ? "C" : "D";
+	}
+
+	private static String remark(double marks) {
+		return marks >= 85 ? "Excellent work" : marks >= 65 ? "Good effort" : "Needs improvement";
+	}
+
+	private SplittableRandom random(String stream, long id) {
+		return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + stream.hashCode() * 31L + id);
+	}
+
+	private static void report(String table, long count) {
+		System.out.println("Loaded " + count + " rows into " + table);
+	}
+
+	/** Receives rows for one COPY; values are written in PostgreSQL's text format. */
+	private static final class Rows {
+		private final Writer out;
+		private long count;
+
+		private Rows(Writer out) {
+			this.out = out;
+		}
+
+		long nextId() {
+			return count + 1;
+		}
+
+		void add(Object... values) {
+			try {
+				for (int i = 0; i < values.length; i++) {
+					if (i > 0) {
+						out.write('\t');
+					}
+					out.write(values[i] == null ? "\\N" : escape(values[i].toString()));
+				}
+				out.write('\n');
+				count++;
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		private static String escape(String value) {
+			if (value.indexOf('\\') < 0 && value.indexOf('\t') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+				return value;
+			}
+			return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+		}
+	}
+
+	private static long copy(PGConnection connection, String table, String columns, Consumer<Rows> source)
+			throws SQLException, IOException {
+		String sql = "COPY " + table + " (" + columns + ") FROM STDIN";
+		try (Writer out = new BufferedWriter(new OutputStreamWriter(new PGCopyOutputStream(connection, sql, 1 << 16),
+				StandardCharsets.UTF_8), 1 << 16)) {
+			Rows rows = new Rows(out);
+			source.accept(rows);
+			out.flush();
+			return rows.count;
+		}
+	}
+}
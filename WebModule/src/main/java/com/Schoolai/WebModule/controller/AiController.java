@@ -1,21 +1,35 @@
 package com.Schoolai.WebModule.controller;
 
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.Schoolai.WebModule.dto.AskQuestionRequest;
 import com.Schoolai.WebModule.dto.AskQuestionResponse;
 import com.Schoolai.WebModule.dto.VideoGenerationRequest;
 import com.Schoolai.WebModule.dto.VideoGenerationResponse;
-import com.Schoolai.WebModule.dto.AssignmentFeedbackResponse;
 import com.Schoolai.WebModule.dto.AssignmentSubmissionRequest;
+import com.Schoolai.WebModule.dto.FeedbackJobResponse;
+import com.Schoolai.WebModule.security.JwtAuthFilter;
 import com.Schoolai.WebModule.service.AiService;
+import com.Schoolai.WebModule.service.FeedbackJobService;
 
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -25,22 +39,25 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 public class AiController {
 
 	private final AiService aiService;
+	private final FeedbackJobService feedbackJobService;
 	private final ObjectMapper objectMapper;
 
 	@PostMapping("/ask")
-	public ResponseEntity<AskQuestionResponse> ask(@RequestBody AskQuestionRequest request) {
-		return ResponseEntity.ok(aiService.askQuestion(request));
+	public CompletableFuture<ResponseEntity<AskQuestionResponse>> ask(@RequestBody AskQuestionRequest request) {
+		return aiService.askQuestion(request).thenApply(ResponseEntity::ok);
 	}
 
 	@PostMapping("/videos")
-	public ResponseEntity<VideoGenerationResponse> generateVideo(@RequestBody VideoGenerationRequest request) {
-		return ResponseEntity.ok(aiService.generateVideo(request));
+	public CompletableFuture<ResponseEntity<VideoGenerationResponse>> generateVideo(@RequestBody VideoGenerationRequest request) {
+		return aiService.generateVideo(request).thenApply(ResponseEntity::ok);
 	}
 
+	// Returns as soon as the upload is stored; feedback arrives via the job endpoints below
 	@PostMapping(value = "/assignments/submit", consumes = { "multipart/form-data" })
 	public ResponseEntity<?> submitAssignment(
 			@RequestPart("file") MultipartFile file,
-			@RequestPart("details") String detailsJson) {
+			@RequestPart("details") String detailsJson,
+			@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
 		try {
 			if (file == null || file.isEmpty()) {
 				return ResponseEntity.badRequest().body("File is required");
@@ -57,19 +74,49 @@ public class AiController {
 				return ResponseEntity.badRequest().body("Student ID is required");
 			}
 
-			AssignmentFeedbackResponse response = aiService.submitAssignment(
-					file.getBytes(), 
-					file.getOriginalFilename(),
-					details.getAssignmentId(),
-					details.getStudentId(),
-					details.getSubjectId(),
-					details.getNotes()
-			);
-			return ResponseEntity.ok(response);
+			FeedbackJobResponse job;
+			try (InputStream upload = file.getInputStream()) {
+				job = feedbackJobService.submit(
+						upload,
+						file.getOriginalFilename(),
+						details.getAssignmentId(),
+						details.getStudentId(),
+						details.getSubjectId(),
+						details.getNotes(),
+						idempotencyKey);
+			}
+			return ResponseEntity.accepted()
+					.header(HttpHeaders.LOCATION, "/api/ai/assignments/jobs/" + job.getJobId())
+					.body(job);
 		} catch (Exception e) {
 			return ResponseEntity.internalServerError().body("Error processing submission: " + e.getMessage());
 		}
 	}
-}
 
+	@GetMapping("/assignments/jobs/{id}")
+	public ResponseEntity<FeedbackJobResponse> getJob(@PathVariable Integer id,
+			@RequestAttribute(name = JwtAuthFilter.CLAIMS_ATTRIBUTE, required = false) Claims claims) {
+		return viewer(claims)
+				.flatMap(viewer -> feedbackJobService.getJob(id, viewer))
+				.map(ResponseEntity::ok)
+				.orElse(ResponseEntity.notFound().build());
+	}
 
+	@GetMapping(value = "/assignments/jobs/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public ResponseEntity<SseEmitter> jobEvents(@PathVariable Integer id,
+			@RequestAttribute(name = JwtAuthFilter.CLAIMS_ATTRIBUTE, required = false) Claims claims) {
+		return viewer(claims)
+				.flatMap(viewer -> feedbackJobService.subscribe(id, viewer))
+				.map(ResponseEntity::ok)
+				.orElse(ResponseEntity.notFound().build());
+	}
+
+	private static Optional<FeedbackJobService.Viewer> viewer(Claims claims) {
+		Integer userId = claims != null ? claims.get("userId", Integer.class) : null;
+		if (userId == null) {
+			return Optional.empty();
+		}
+		return Optional.of(new FeedbackJobService.Viewer("STUDENT".equals(claims.get("role", String.class)), userId,
+				claims.get("schoolId", Integer.class)));
+	}
+}
@@ -0,0 +1,76 @@
+package com.Schoolai.WebModule.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.Schoolai.WebModule.dto.AttendanceHistory;
+import com.Schoolai.WebModule.dto.AttendanceReport;
+import com.Schoolai.WebModule.dto.AttendanceRollRequest;
+import com.Schoolai.WebModule.dto.AttendanceRollResponse;
+import com.Schoolai.WebModule.service.AttendanceHistoryService;
+import com.Schoolai.WebModule.service.AttendanceRollupService;
+import com.Schoolai.WebModule.service.AttendanceService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/attendance")
+@RequiredArgsConstructor
+public class AttendanceController {
+
+	private final AttendanceService attendanceService;
+	private final AttendanceRollupService attendanceRollupService;
+	private final AttendanceHistoryService attendanceHistoryService;
+
+	@PostMapping("/roll")
+	public ResponseEntity<AttendanceRollResponse> recordRoll(@RequestBody AttendanceRollRequest request) {
+		return ResponseEntity.ok(attendanceService.recordRoll(request));
+	}
+
+	@GetMapping("/students/{studentId}")
+	public ResponseEntity<AttendanceReport> studentReport(@PathVariable Integer studentId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@RequestParam(required = false) String period) {
+		return ResponseEntity.ok(attendanceRollupService.studentReport(studentId, from, to, period));
+	}
+
+	@GetMapping("/schools/{schoolId}/classes/{className}")
+	public ResponseEntity<AttendanceReport> classReport(@PathVariable Integer schoolId, @PathVariable String className,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@RequestParam(required = false) String period) {
+		return ResponseEntity.ok(attendanceRollupService.classReport(schoolId, className, from, to, period));
+	}
+
+	@GetMapping("/schools/{schoolId}")
+	public ResponseEntity<AttendanceReport> schoolReport(@PathVariable Integer schoolId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@RequestParam(required = false) String period) {
+		return ResponseEntity.ok(attendanceRollupService.schoolReport(schoolId, from, to, period));
+	}
+
+	@GetMapping("/students/{studentId}/history")
+	public ResponseEntity<AttendanceHistory> history(@PathVariable Integer studentId,
+			@RequestParam(required = false) Integer year) {
+		return ResponseEntity.ok(attendanceHistoryService.history(studentId, year));
+	}
+
+	@GetMapping("/schools/{schoolId}/classes/{className}/absences")
+	public ResponseEntity<List<AttendanceHistory>> absences(@PathVariable Integer schoolId, @PathVariable String className,
+			@RequestParam(defaultValue = "3") int days,
+			@RequestParam(required = false) Integer year) {
+		return ResponseEntity.ok(attendanceHistoryService.absences(schoolId, className, year, days));
+	}
+}
@@ -1,12 +1,16 @@
 package com.Schoolai.WebModule.controller;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.Schoolai.WebModule.dto.BroadcastRequest;
+import com.Schoolai.WebModule.dto.BroadcastResponse;
 import com.Schoolai.WebModule.service.BroadcastService;
 
 import lombok.RequiredArgsConstructor;
@@ -18,11 +22,17 @@ public class BroadcastController {
 
 	private final BroadcastService broadcastService;
 
+	// Notifications are written in the background; progress is available from the Location URL
 	@PostMapping
-	public ResponseEntity<Integer> broadcast(@RequestBody BroadcastRequest request) {
-		int count = broadcastService.broadcast(request);
-		return ResponseEntity.ok(count);
+	public ResponseEntity<BroadcastResponse> broadcast(@RequestBody BroadcastRequest request) {
+		BroadcastResponse broadcast = broadcastService.broadcast(request);
+		return ResponseEntity.accepted()
+				.header(HttpHeaders.LOCATION, "/api/broadcast/" + broadcast.getBroadcastId())
+				.body(broadcast);
 	}
-}
-
 
+	@GetMapping("/{id}")
+	public ResponseEntity<BroadcastResponse> getBroadcast(@PathVariable Integer id) {
+		return broadcastService.getBroadcast(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+	}
+}
@@ -0,0 +1,41 @@
+package com.Schoolai.WebModule.controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+final class NdjsonResponses {
+
+	private NdjsonResponses() {
+	}
+
+	// Rows are written one JSON document per line as the repository cursor advances, through one
+	// generator per response; the container decides when to flush, not every row
+	static <T> ResponseEntity<StreamingResponseBody> stream(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+		ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		StreamingResponseBody body = out -> {
+			try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+				generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+				generator.setRootValueSeparator(null);
+				source.accept(row -> {
+					try {
+						writer.writeValue(generator, row);
+						generator.writeRaw('\n');
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+}
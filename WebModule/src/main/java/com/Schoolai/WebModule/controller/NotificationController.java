@@ -0,0 +1,85 @@
+package com.Schoolai.WebModule.controller;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.Schoolai.WebModule.dto.MarkNotificationsReadRequest;
+import com.Schoolai.WebModule.dto.NotificationInfo;
+import com.Schoolai.WebModule.dto.UnreadCountResponse;
+import com.Schoolai.WebModule.security.JwtAuthFilter;
+import com.Schoolai.WebModule.service.NotificationHub;
+import com.Schoolai.WebModule.service.NotificationInboxService;
+
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+
+// Always the caller's own notifications; the user comes from the token, not the URL
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+
+	private final NotificationHub notificationHub;
+	private final NotificationInboxService notificationInboxService;
+
+	@GetMapping
+	public ResponseEntity<List<NotificationInfo>> inbox(
+			@RequestAttribute(name = JwtAuthFilter.CLAIMS_ATTRIBUTE, required = false) Claims claims,
+			@RequestParam(required = false) Integer before,
+			@RequestParam(required = false) Integer limit) {
+		return recipient(claims)
+				.map(r -> ResponseEntity.ok(notificationInboxService.inbox(r, before, limit)))
+				.orElse(ResponseEntity.badRequest().build());
+	}
+
+	@GetMapping("/unread-count")
+	public ResponseEntity<UnreadCountResponse> unreadCount(
+			@RequestAttribute(name = JwtAuthFilter.CLAIMS_ATTRIBUTE, required = false) Claims claims) {
+		return recipient(claims)
+				.map(r -> ResponseEntity.ok(notificationInboxService.unreadCount(r)))
+				.orElse(ResponseEntity.badRequest().build());
+	}
+
+	@PostMapping("/read")
+	public ResponseEntity<UnreadCountResponse> markRead(
+			@RequestAttribute(name = JwtAuthFilter.CLAIMS_ATTRIBUTE, required = false) Claims claims,
+			@RequestBody MarkNotificationsReadRequest request) {
+		return recipient(claims)
+				.map(r -> ResponseEntity.ok(notificationInboxService.markRead(r, request)))
+				.orElse(ResponseEntity.badRequest().build());
+	}
+
+	@GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public ResponseEntity<SseEmitter> stream(
+			@RequestAttribute(name = JwtAuthFilter.CLAIMS_ATTRIBUTE, required = false) Claims claims) {
+		Integer schoolId = claims != null ? claims.get("schoolId", Integer.class) : null;
+		Optional<NotificationHub.Recipient> recipient = recipient(claims);
+		if (recipient.isEmpty() || schoolId == null) {
+			return ResponseEntity.badRequest().build();
+		}
+		return ResponseEntity.ok(notificationHub.stream(recipient.get(), schoolId));
+	}
+
+	// Students and staff have separate id spaces
+	private static Optional<NotificationHub.Recipient> recipient(Claims claims) {
+		Integer userId = claims != null ? claims.get("userId", Integer.class) : null;
+		if (userId == null) {
+			return Optional.empty();
+		}
+		NotificationHub.Audience audience = "STUDENT".equals(claims.get("role", String.class))
+				? NotificationHub.Audience.STUDENT
+				: NotificationHub.Audience.STAFF;
+		return Optional.of(new NotificationHub.Recipient(audience, userId));
+	}
+}
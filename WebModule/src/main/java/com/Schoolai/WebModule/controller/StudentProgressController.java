@@ -2,18 +2,27 @@ package com.Schoolai.WebModule.controller;
 
 import java.util.List;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.Schoolai.WebModule.dto.AssignmentSummary;
 import com.Schoolai.WebModule.dto.PerformanceSummary;
 import com.Schoolai.WebModule.dto.StudentProgressResponse;
 import com.Schoolai.WebModule.dto.SubjectInfo;
 import com.Schoolai.WebModule.dto.VideoInfo;
+import com.Schoolai.WebModule.dto.VideoViewRequest;
 import com.Schoolai.WebModule.service.StudentProgressService;
+import com.Schoolai.WebModule.service.VideoViewIngestion;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -23,6 +32,8 @@ import lombok.RequiredArgsConstructor;
 public class StudentProgressController {
 
 	private final StudentProgressService studentProgressService;
+	private final VideoViewIngestion videoViewIngestion;
+	private final ObjectMapper objectMapper;
 
 	@GetMapping("/{studentId}/progress")
 	public ResponseEntity<StudentProgressResponse> getProgress(@PathVariable Integer studentId) {
@@ -36,19 +47,58 @@ public class StudentProgressController {
 	}
 
 	@GetMapping("/{studentId}/assignments")
-	public ResponseEntity<List<AssignmentSummary>> getAssignments(@PathVariable Integer studentId) {
+	public ResponseEntity<List<AssignmentSummary>> getAssignments(@PathVariable Integer studentId,
+			@RequestParam(required = false) Integer after, @RequestParam(required = false) Integer limit) {
+		if (after != null || limit != null) {
+			return ResponseEntity.ok(studentProgressService.getAssignments(studentId, after, limit));
+		}
 		return ResponseEntity.ok(studentProgressService.getAssignments(studentId));
 	}
 
+	@GetMapping(value = "/{studentId}/assignments", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAssignments(@PathVariable Integer studentId) {
+		return NdjsonResponses.<AssignmentSummary>stream(objectMapper,
+				sink -> studentProgressService.streamAssignments(studentId, sink));
+	}
+
 	@GetMapping("/{studentId}/performance")
-	public ResponseEntity<List<PerformanceSummary>> getPerformance(@PathVariable Integer studentId) {
+	public ResponseEntity<List<PerformanceSummary>> getPerformance(@PathVariable Integer studentId,
+			@RequestParam(required = false) Integer after, @RequestParam(required = false) Integer limit) {
+		if (after != null || limit != null) {
+			return ResponseEntity.ok(studentProgressService.getPerformance(studentId, after, limit));
+		}
 		return ResponseEntity.ok(studentProgressService.getPerformance(studentId));
 	}
 
+	@GetMapping(value = "/{studentId}/performance", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamPerformance(@PathVariable Integer studentId) {
+		return NdjsonResponses.<PerformanceSummary>stream(objectMapper,
+				sink -> studentProgressService.streamPerformance(studentId, sink));
+	}
+
 	@GetMapping("/{studentId}/videos")
-	public ResponseEntity<List<VideoInfo>> getVideos(@PathVariable Integer studentId) {
+	public ResponseEntity<List<VideoInfo>> getVideos(@PathVariable Integer studentId,
+			@RequestParam(required = false) Integer after, @RequestParam(required = false) Integer limit) {
+		if (after != null || limit != null) {
+			return ResponseEntity.ok(studentProgressService.getVideos(studentId, after, limit));
+		}
 		return ResponseEntity.ok(studentProgressService.getVideos(studentId));
 	}
-}
 
+	@GetMapping(value = "/{studentId}/videos", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamVideos(@PathVariable Integer studentId) {
+		return NdjsonResponses.<VideoInfo>stream(objectMapper,
+				sink -> studentProgressService.streamVideos(studentId, sink));
+	}
 
+	// Accepted views are written in the background; 503 tells the client to retry later
+	@PostMapping("/{studentId}/video-views")
+	public ResponseEntity<Void> recordVideoView(@PathVariable Integer studentId, @RequestBody VideoViewRequest request) {
+		if (request.getVideoId() == null) {
+			return ResponseEntity.badRequest().build();
+		}
+		return videoViewIngestion.record(studentId, request.getVideoId(), request.getViewedAt())
+				? ResponseEntity.accepted().build()
+				: ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+	}
+}
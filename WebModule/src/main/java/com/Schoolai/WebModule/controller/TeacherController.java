@@ -2,23 +2,31 @@ package com.Schoolai.WebModule.controller;
 
 import java.util.List;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.Schoolai.WebModule.dto.AssessmentGradebook;
 import com.Schoolai.WebModule.dto.AssignmentSummary;
 import com.Schoolai.WebModule.dto.CreateAssignmentRequest;
 import com.Schoolai.WebModule.dto.CreateTopicRequest;
 import com.Schoolai.WebModule.dto.PerformanceSummary;
+import com.Schoolai.WebModule.dto.StudentInfo;
+import com.Schoolai.WebModule.dto.StudentViewTotals;
 import com.Schoolai.WebModule.dto.VideoViewInfo;
+import com.Schoolai.WebModule.dto.VideoViewTotals;
 import com.Schoolai.WebModule.dto.TeacherRegistrationRequest;
 import com.Schoolai.WebModule.dto.TeacherResponse;
-import com.Schoolai.WebModule.entity.Student;
+import com.Schoolai.WebModule.service.GradebookService;
 import com.Schoolai.WebModule.service.TeacherService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -28,6 +36,8 @@ import lombok.RequiredArgsConstructor;
 public class TeacherController {
 
 	private final TeacherService teacherService;
+	private final GradebookService gradebookService;
+	private final ObjectMapper objectMapper;
 
 	@PostMapping("/assignments")
 	public ResponseEntity<Integer> createAssignment(@RequestBody CreateAssignmentRequest request) {
@@ -52,19 +62,69 @@ public class TeacherController {
 	}
 
 	@GetMapping("/subjects/{subjectId}/performance")
-	public ResponseEntity<List<PerformanceSummary>> getPerformanceBySubject(@PathVariable Integer subjectId) {
+	public ResponseEntity<List<PerformanceSummary>> getPerformanceBySubject(@PathVariable Integer subjectId,
+			@RequestParam(required = false) Integer after, @RequestParam(required = false) Integer limit) {
+		if (after != null || limit != null) {
+			return ResponseEntity.ok(teacherService.getPerformanceBySubject(subjectId, after, limit));
+		}
 		return ResponseEntity.ok(teacherService.getPerformanceBySubject(subjectId));
 	}
 
+	@GetMapping(value = "/subjects/{subjectId}/performance", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamPerformanceBySubject(@PathVariable Integer subjectId) {
+		return NdjsonResponses.<PerformanceSummary>stream(objectMapper,
+				sink -> teacherService.streamPerformanceBySubject(subjectId, sink));
+	}
+
+	@GetMapping("/subjects/{subjectId}/gradebook")
+	public ResponseEntity<List<AssessmentGradebook>> getGradebookBySubject(@PathVariable Integer subjectId) {
+		return ResponseEntity.ok(gradebookService.subject(subjectId));
+	}
+
+	@GetMapping("/assessments/{assessmentId}/gradebook")
+	public ResponseEntity<AssessmentGradebook> getGradebook(@PathVariable Integer assessmentId) {
+		return gradebookService.assessment(assessmentId).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+	}
+
 	@GetMapping("/subjects/{subjectId}/video-views")
-	public ResponseEntity<List<VideoViewInfo>> getVideoViewsBySubject(@PathVariable Integer subjectId) {
+	public ResponseEntity<List<VideoViewInfo>> getVideoViewsBySubject(@PathVariable Integer subjectId,
+			@RequestParam(required = false) Integer after, @RequestParam(required = false) Integer limit) {
+		if (after != null || limit != null) {
+			return ResponseEntity.ok(teacherService.getVideoViewsBySubject(subjectId, after, limit));
+		}
 		return ResponseEntity.ok(teacherService.getVideoViewsBySubject(subjectId));
 	}
 
+	@GetMapping(value = "/subjects/{subjectId}/video-views", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamVideoViewsBySubject(@PathVariable Integer subjectId) {
+		return NdjsonResponses.<VideoViewInfo>stream(objectMapper,
+				sink -> teacherService.streamVideoViewsBySubject(subjectId, sink));
+	}
+
+	@GetMapping("/subjects/{subjectId}/video-stats")
+	public ResponseEntity<List<VideoViewTotals>> getVideoViewTotals(@PathVariable Integer subjectId) {
+		return ResponseEntity.ok(teacherService.getVideoViewTotals(subjectId));
+	}
+
+	@GetMapping("/subjects/{subjectId}/video-stats/students")
+	public ResponseEntity<List<StudentViewTotals>> getStudentViewTotals(@PathVariable Integer subjectId) {
+		return ResponseEntity.ok(teacherService.getStudentViewTotals(subjectId));
+	}
+
 	@GetMapping("/classes/{className}/students")
-	public ResponseEntity<List<Student>> getClassStudents(@PathVariable String className) {
+	public ResponseEntity<List<StudentInfo>> getClassStudents(@PathVariable String className,
+			@RequestParam(required = false) Integer after, @RequestParam(required = false) Integer limit) {
+		if (after != null || limit != null) {
+			return ResponseEntity.ok(teacherService.getClassStudents(className, after, limit));
+		}
 		return ResponseEntity.ok(teacherService.getClassStudents(className));
 	}
+
+	@GetMapping(value = "/classes/{className}/students", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamClassStudents(@PathVariable String className) {
+		return NdjsonResponses.<StudentInfo>stream(objectMapper,
+				sink -> teacherService.streamClassStudents(className, sink));
+	}
 }
 
 
@@ -0,0 +1,32 @@
+package com.Schoolai.WebModule.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssessmentGradebook {
+	private Integer assessmentId;
+	private Integer subjectId;
+	private String title;
+	private Integer marked; // students with marks; the figures below are null when none are
+	private BigDecimal mean;
+	private BigDecimal median;
+	private BigDecimal min;
+	private BigDecimal max;
+	private BigDecimal standardDeviation;
+	private BigDecimal p25;
+	private BigDecimal p75;
+	private BigDecimal p90;
+	private List<GradeBucket> histogram;
+	private List<GradeRank> ranking;
+}
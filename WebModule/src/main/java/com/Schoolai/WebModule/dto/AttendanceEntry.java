@@ -0,0 +1,16 @@
+package com.Schoolai.WebModule.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceEntry {
+	private Integer studentId;
+	private String status; // Present, Absent or Late
+	private String remarks;
+}
@@ -0,0 +1,33 @@
+package com.Schoolai.WebModule.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Streaks count recorded days only, so weekends and holidays neither break nor extend them
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceHistory {
+	private Integer studentId;
+	private Integer academicYear;
+	private LocalDate from;
+	private LocalDate to;
+	private Integer recordedDays;
+	private Integer attendedDays; // present or late
+	private Integer lateDays;
+	private Integer absentDays;
+	private BigDecimal attendanceRate;
+	private LocalDate lastRecorded;
+	private Integer currentStreak; // attended days up to the last recorded one
+	private Integer longestStreak;
+	private Integer currentAbsence; // absent days up to the last recorded one
+	private Integer longestAbsence;
+}
@@ -0,0 +1,23 @@
+package com.Schoolai.WebModule.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendancePeriodStats {
+	private LocalDate periodStart; // the day, or the first day of the month
+	private Long present;
+	private Long absent;
+	private Long late;
+	private BigDecimal attendanceRate; // percentage present or late, null when nothing was recorded
+}
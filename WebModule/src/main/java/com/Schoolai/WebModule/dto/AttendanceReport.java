@@ -0,0 +1,30 @@
+package com.Schoolai.WebModule.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceReport {
+	private Integer schoolId;
+	private String className;
+	private Integer studentId;
+	private LocalDate from;
+	private LocalDate to;
+	private String period;
+	private Long present;
+	private Long absent;
+	private Long late;
+	private BigDecimal attendanceRate;
+	private List<AttendancePeriodStats> periods; // only periods with recorded attendance
+}
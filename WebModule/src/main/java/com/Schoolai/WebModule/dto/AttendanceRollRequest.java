@@ -0,0 +1,19 @@
+package com.Schoolai.WebModule.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// A whole class's roll for one day; sending it again for the same day overwrites it
+@Getter
+@Setter
+@NoArgsConstructor
+public class AttendanceRollRequest {
+	private Integer schoolId;
+	private String className;
+	private LocalDate date;
+	private List<AttendanceEntry> entries;
+}
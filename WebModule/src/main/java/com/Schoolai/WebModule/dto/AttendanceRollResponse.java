@@ -0,0 +1,23 @@
+package com.Schoolai.WebModule.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceRollResponse {
+	private Integer schoolId;
+	private String className;
+	private LocalDate date;
+	private Integer recorded;
+	private List<Integer> rejected; // not in the class, or with an unknown status
+}
@@ -0,0 +1,25 @@
+package com.Schoolai.WebModule.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BroadcastResponse {
+	private Integer broadcastId;
+	private Integer schoolId;
+	private String status;
+	private Integer recipients;
+	private Integer delivered; // notifications written so far
+	private String error;
+	private LocalDateTime createdAt;
+	private LocalDateTime completedAt;
+}
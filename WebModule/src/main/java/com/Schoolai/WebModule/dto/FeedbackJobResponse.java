@@ -0,0 +1,25 @@
+package com.Schoolai.WebModule.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FeedbackJobResponse {
+	private Integer jobId;
+	private Integer submissionId;
+	private String status;
+	private Integer attempts;
+	private String feedback; // set once status is DONE
+	private String error;
+	private LocalDateTime createdAt;
+	private LocalDateTime updatedAt;
+}
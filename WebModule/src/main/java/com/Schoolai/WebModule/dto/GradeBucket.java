@@ -0,0 +1,20 @@
+package com.Schoolai.WebModule.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GradeBucket {
+	private BigDecimal from; // inclusive
+	private BigDecimal to; // exclusive, except in the last bucket
+	private Integer count;
+}
@@ -0,0 +1,23 @@
+package com.Schoolai.WebModule.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GradeRank {
+	private Integer rank; // equal marks share a rank: 1, 2, 2, 4
+	private Integer studentId;
+	private String studentName;
+	private BigDecimal marks;
+	private String grade;
+	private BigDecimal percentile; // share of the class scoring lower, ties counted half
+}
@@ -0,0 +1,15 @@
+package com.Schoolai.WebModule.dto;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class MarkNotificationsReadRequest {
+	private List<Integer> ids; // mark these
+	private Integer upTo; // or everything with an id up to and including this one
+}
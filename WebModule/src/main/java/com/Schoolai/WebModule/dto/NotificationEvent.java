@@ -0,0 +1,21 @@
+package com.Schoolai.WebModule.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationEvent {
+	private Integer broadcastId;
+	private String message;
+	private String type;
+	private LocalDateTime timestamp;
+}
@@ -0,0 +1,23 @@
+package com.Schoolai.WebModule.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationInfo {
+	private Integer notificationId;
+	private String message;
+	private String type;
+	private String status; // READ once marked as read
+	private LocalDateTime timestamp;
+	private Integer broadcastId;
+}
@@ -14,6 +14,7 @@ import lombok.Setter;
 @AllArgsConstructor
 @Builder
 public class PerformanceSummary {
+	private Integer performanceId;
 	private Integer assessmentId;
 	private Integer subjectId;
 	private String subjectName;
@@ -0,0 +1,23 @@
+package com.Schoolai.WebModule.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentInfo {
+	private Integer id; // named like the Student entity this replaced; the teacher dashboard reads student.id
+	private Integer schoolId;
+	private String fullName;
+	private String className;
+	private String email;
+	private String contactNo;
+	private String gender;
+	private String medium;
+}
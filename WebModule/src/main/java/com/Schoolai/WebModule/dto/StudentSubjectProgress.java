@@ -1,6 +1,9 @@
 package com.Schoolai.WebModule.dto;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.util.List;
 
 import lombok.AllArgsConstructor;
@@ -23,9 +26,34 @@ public class StudentSubjectProgress {
 	private Integer pendingAssignments;
 	private Integer assessmentsCount;
 	private BigDecimal averageMarks;
+	private BigDecimal marksStandardDeviation;
 	private String lastGrade;
+	private LocalDate lastAssessmentDate;
 	private Integer videosCount;
 	private List<String> videoTitles;
-}
-
 
+	// Target of the aggregate JPQL constructor expression in SubjectRepository; the marks figures come
+	// from student_subject_stats, which has no row until the student has a mark in the subject
+	public StudentSubjectProgress(Integer subjectId, String subjectName, String className, Long totalAssignments,
+			Long submittedAssignments, Long assessmentsCount, Integer marked, BigDecimal marksSum,
+			BigDecimal marksSquares, String lastGrade, LocalDate lastAssessmentDate) {
+		this.subjectId = subjectId;
+		this.subjectName = subjectName;
+		this.className = className;
+		this.totalAssignments = totalAssignments != null ? totalAssignments.intValue() : 0;
+		this.submittedAssignments = submittedAssignments != null ? submittedAssignments.intValue() : 0;
+		this.pendingAssignments = this.totalAssignments - this.submittedAssignments;
+		this.assessmentsCount = assessmentsCount != null ? assessmentsCount.intValue() : 0;
+		if (marked != null && marked > 0 && marksSum != null && marksSquares != null) {
+			BigDecimal count = BigDecimal.valueOf(marked);
+			BigDecimal mean = marksSum.divide(count, MathContext.DECIMAL64);
+			BigDecimal variance = marksSquares.divide(count, MathContext.DECIMAL64).subtract(mean.multiply(mean)).max(BigDecimal.ZERO);
+			this.averageMarks = mean.setScale(2, RoundingMode.HALF_UP);
+			this.marksStandardDeviation = variance.sqrt(MathContext.DECIMAL64).setScale(2, RoundingMode.HALF_UP);
+		} else {
+			this.averageMarks = BigDecimal.ZERO;
+		}
+		this.lastGrade = lastGrade;
+		this.lastAssessmentDate = lastAssessmentDate;
+	}
+}
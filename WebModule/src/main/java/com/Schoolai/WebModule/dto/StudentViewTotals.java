@@ -0,0 +1,22 @@
+package com.Schoolai.WebModule.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentViewTotals {
+	private Integer studentId;
+	private String studentName;
+	private Long views;
+	private Long videosWatched;
+	private LocalDateTime lastViewedAt;
+}
@@ -0,0 +1,17 @@
+package com.Schoolai.WebModule.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UnreadCountResponse {
+	private int unread;
+	private Integer updated; // notifications marked read by this request, when marking
+}
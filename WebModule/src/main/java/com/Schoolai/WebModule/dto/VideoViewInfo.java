@@ -14,6 +14,7 @@ import lombok.Setter;
 @AllArgsConstructor
 @Builder
 public class VideoViewInfo {
+	private Integer viewId;
 	private Integer videoId;
 	private Integer studentId;
 	private String studentName;
@@ -0,0 +1,22 @@
+package com.Schoolai.WebModule.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VideoViewTotals {
+	private Integer videoId;
+	private String title;
+	private Long views;
+	private Long viewers;
+	private LocalDateTime lastViewedAt;
+}
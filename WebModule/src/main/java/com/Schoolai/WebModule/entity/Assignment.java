@@ -58,9 +58,6 @@ public class Assignment {
 	@Column(name = "instructions")
 	private String instructions;
 
-	@Column(name = "submitted_on")
-	private LocalDateTime submittedOn;
-
 	@Column(name = "max_marks")
 	private Integer maxMarks;
 }
@@ -8,8 +8,8 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -19,7 +19,9 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "assignment_submission")
+@Table(name = "assignment_submission", indexes = {
+		@Index(name = "idx_submission_assignment_student", columnList = "assignment_id, student_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -50,9 +52,9 @@ public class AssignmentSubmission {
 	@Column(name = "file_path", length = 500)
 	private String filePath;
 
-	@Lob
-	@Column(name = "file_data", columnDefinition = "BYTEA")
-	private byte[] fileData;
+	// SHA-256 of the file in the blob store; the bytes themselves are not kept in this table
+	@Column(name = "file_hash", length = 64)
+	private String fileHash;
 
 	@Column(name = "file_size")
 	private Long fileSize;
@@ -10,7 +10,9 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -18,7 +20,9 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "attendance")
+@Table(name = "attendance", uniqueConstraints = {
+		@UniqueConstraint(name = Attendance.STUDENT_DATE_CONSTRAINT, columnNames = { "student_id", "date" })
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,8 +30,16 @@ import lombok.Setter;
 @Builder
 public class Attendance {
 
+	public static final String PRESENT = "Present";
+	public static final String ABSENT = "Absent";
+	public static final String LATE = "Late";
+
+	// One row per student and day; bulk capture upserts against it
+	public static final String STUDENT_DATE_CONSTRAINT = "uk_attendance_student_date";
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attendance_seq")
+	@SequenceGenerator(name = "attendance_seq", sequenceName = "attendance_seq", allocationSize = 50)
 	@Column(name = "attendance_id")
 	private Integer id;
 
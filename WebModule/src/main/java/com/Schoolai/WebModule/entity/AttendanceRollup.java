@@ -0,0 +1,84 @@
+package com.Schoolai.WebModule.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Present/absent/late counts per student and per class for one day or one month, kept in step with
+ * the attendance table by the roll upsert. Class rows have student id {@link #CLASS_TOTAL}. There
+ * are no school rows: a school is the sum of its class rows, which keeps concurrent rolls from
+ * queueing on one shared row.
+ */
+@Entity
+@Table(name = "attendance_rollup", indexes = {
+		@Index(name = "idx_attendance_rollup_scope", columnList = "school_id, student_id, class_name, period, period_start"),
+		@Index(name = "idx_attendance_rollup_student", columnList = "student_id, period, period_start")
+})
+@IdClass(AttendanceRollup.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceRollup {
+
+	public static final String DAY = "DAY";
+	public static final String MONTH = "MONTH";
+	public static final int CLASS_TOTAL = 0;
+
+	@Id
+	@Column(name = "school_id")
+	private Integer schoolId;
+
+	@Id
+	@Column(name = "class_name", length = 50)
+	private String className;
+
+	@Id
+	@Column(name = "student_id")
+	private Integer studentId;
+
+	@Id
+	@Column(name = "period", length = 5)
+	private String period;
+
+	// The day itself, or the first day of the month
+	@Id
+	@Column(name = "period_start")
+	private LocalDate periodStart;
+
+	@Column(name = "present", nullable = false)
+	private int present;
+
+	@Column(name = "absent", nullable = false)
+	private int absent;
+
+	@Column(name = "late", nullable = false)
+	private int late;
+
+	@Getter
+	@Setter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@EqualsAndHashCode
+	public static class Key implements Serializable {
+		private Integer schoolId;
+		private String className;
+		private Integer studentId;
+		private String period;
+		private LocalDate periodStart;
+	}
+}
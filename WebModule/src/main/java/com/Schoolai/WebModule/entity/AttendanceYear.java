@@ -0,0 +1,91 @@
+package com.Schoolai.WebModule.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One student's attendance for an academic year as three day bitmaps, bit n being the n-th day from
+ * the 1st of April: days with attendance recorded, days attended (present or late) and days late.
+ * Kept in step with the attendance table by the roll upsert; each bitmap is {@link #BITMAP_BYTES}
+ * bytes, in {@link BitSet#valueOf(byte[])} order.
+ */
+@Entity
+@Table(name = "attendance_year")
+@IdClass(AttendanceYear.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceYear {
+
+	public static final Month FIRST_MONTH = Month.APRIL;
+	public static final int BITMAP_BYTES = 46; // 366 days, rounded up to whole bytes
+
+	@Id
+	@Column(name = "student_id")
+	private Integer studentId;
+
+	// The calendar year the academic year starts in
+	@Id
+	@Column(name = "academic_year")
+	private Integer academicYear;
+
+	@Column(name = "recorded", nullable = false)
+	private byte[] recorded;
+
+	@Column(name = "attended", nullable = false)
+	private byte[] attended;
+
+	@Column(name = "late", nullable = false)
+	private byte[] late;
+
+	public BitSet recordedDays() {
+		return BitSet.valueOf(recorded);
+	}
+
+	public BitSet attendedDays() {
+		return BitSet.valueOf(attended);
+	}
+
+	public BitSet lateDays() {
+		return BitSet.valueOf(late);
+	}
+
+	public static int academicYearOf(LocalDate date) {
+		return date.getMonthValue() >= FIRST_MONTH.getValue() ? date.getYear() : date.getYear() - 1;
+	}
+
+	public static LocalDate firstDay(int academicYear) {
+		return LocalDate.of(academicYear, FIRST_MONTH, 1);
+	}
+
+	public static int dayOf(LocalDate date) {
+		return (int) ChronoUnit.DAYS.between(firstDay(academicYearOf(date)), date);
+	}
+
+	@Getter
+	@Setter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@EqualsAndHashCode
+	public static class Key implements Serializable {
+		private Integer studentId;
+		private Integer academicYear;
+	}
+}
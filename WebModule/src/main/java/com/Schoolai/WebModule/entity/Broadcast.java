@@ -0,0 +1,87 @@
+package com.Schoolai.WebModule.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A school-wide message. The per-user notification rows are fanned out from it in chunks by
+ * {@code BroadcastWorker}; the two cursors record how far each audience has got.
+ */
+@Entity
+@Table(name = "broadcast", indexes = {
+		@Index(name = "idx_broadcast_status", columnList = "status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Broadcast {
+
+	public static final String QUEUED = "QUEUED";
+	public static final String RUNNING = "RUNNING";
+	public static final String DONE = "DONE";
+	public static final String FAILED = "FAILED";
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "broadcast_id")
+	private Integer id;
+
+	@Column(name = "school_id", nullable = false)
+	private Integer schoolId;
+
+	@Column(name = "message", columnDefinition = "TEXT")
+	private String message;
+
+	@Column(name = "type", length = 50)
+	private String type;
+
+	@Column(name = "to_students", nullable = false)
+	private boolean toStudents;
+
+	@Column(name = "to_teachers", nullable = false)
+	private boolean toTeachers;
+
+	@Column(name = "status", length = 20, nullable = false)
+	private String status;
+
+	// Audience size when the broadcast was accepted
+	@Column(name = "recipients", nullable = false)
+	private int recipients;
+
+	@Column(name = "delivered", nullable = false)
+	private int delivered;
+
+	// Last student/teacher id already notified
+	@Column(name = "student_cursor", nullable = false)
+	private int studentCursor;
+
+	@Column(name = "teacher_cursor", nullable = false)
+	private int teacherCursor;
+
+	// A RUNNING broadcast whose lease has passed is resumed from its cursors (e.g. after a restart)
+	@Column(name = "locked_until")
+	private LocalDateTime lockedUntil;
+
+	@Column(name = "last_error", columnDefinition = "TEXT")
+	private String lastError;
+
+	@Column(name = "created_at")
+	private LocalDateTime createdAt;
+
+	@Column(name = "completed_at")
+	private LocalDateTime completedAt;
+}
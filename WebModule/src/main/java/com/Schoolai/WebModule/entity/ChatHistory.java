@@ -7,6 +7,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -24,7 +25,8 @@ import lombok.Setter;
 public class ChatHistory {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chat_history_seq")
+	@SequenceGenerator(name = "chat_history_seq", sequenceName = "chat_history_seq", allocationSize = 50)
 	@Column(name = "chat_id")
 	private Integer id;
 
@@ -34,6 +36,9 @@ public class ChatHistory {
 	@Column(name = "receiver_id")
 	private Integer receiverId;
 
+	@Column(name = "subject_id")
+	private Integer subjectId;
+
 	@Column(name = "message")
 	private String message;
 
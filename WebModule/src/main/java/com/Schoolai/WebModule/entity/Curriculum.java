@@ -1,7 +1,10 @@
 package com.Schoolai.WebModule.entity;
 
+import com.Schoolai.WebModule.service.ReferenceDataListener;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -16,6 +19,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@EntityListeners(ReferenceDataListener.class)
 @Table(name = "curriculum")
 @Getter
 @Setter
@@ -0,0 +1,69 @@
+package com.Schoolai.WebModule.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "feedback_job", indexes = {
+		@Index(name = "idx_feedback_job_status_next_attempt", columnList = "status, next_attempt_at")
+}, uniqueConstraints = {
+		@UniqueConstraint(name = "uk_feedback_job_idempotency_key", columnNames = "idempotency_key")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FeedbackJob {
+
+	public static final String QUEUED = "QUEUED";
+	public static final String RUNNING = "RUNNING";
+	public static final String DONE = "DONE";
+	public static final String FAILED = "FAILED";
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "job_id")
+	private Integer id;
+
+	@Column(name = "submission_id", nullable = false)
+	private Integer submissionId;
+
+	@Column(name = "idempotency_key", length = 120, nullable = false)
+	private String idempotencyKey;
+
+	@Column(name = "status", length = 20, nullable = false)
+	private String status;
+
+	@Column(name = "attempts", nullable = false)
+	private int attempts;
+
+	@Column(name = "next_attempt_at")
+	private LocalDateTime nextAttemptAt;
+
+	// A RUNNING job whose lease has passed is picked up again (e.g. after a restart mid-call)
+	@Column(name = "locked_until")
+	private LocalDateTime lockedUntil;
+
+	@Column(name = "last_error", columnDefinition = "TEXT")
+	private String lastError;
+
+	@Column(name = "created_at")
+	private LocalDateTime createdAt;
+
+	@Column(name = "updated_at")
+	private LocalDateTime updatedAt;
+}
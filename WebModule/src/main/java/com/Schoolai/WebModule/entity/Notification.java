@@ -7,6 +7,8 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,7 +17,10 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+		@Index(name = "idx_notifications_inbox", columnList = "user_id, audience, notification_id"),
+		@Index(name = "idx_notifications_timestamp", columnList = "timestamp")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,14 +28,29 @@ import lombok.Setter;
 @Builder
 public class Notification {
 
+	// Anything not READ counts as unread
+	public static final String SENT = "SENT";
+	public static final String READ = "READ";
+
+	// Students and teachers have separate id spaces, so a recipient is (userId, audience)
+	public static final String AUDIENCE_STUDENT = "STUDENT";
+	public static final String AUDIENCE_STAFF = "STAFF";
+
+	// Ids are handed out in blocks of this size; bulk inserts outside JPA must follow the same scheme
+	public static final int ID_ALLOCATION_SIZE = 50;
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq")
+	@SequenceGenerator(name = "notification_seq", sequenceName = "notifications_seq", allocationSize = ID_ALLOCATION_SIZE)
 	@Column(name = "notification_id")
 	private Integer id;
 
 	@Column(name = "user_id")
 	private Integer userId;
 
+	@Column(name = "audience", length = 10, nullable = false)
+	private String audience;
+
 	@Column(name = "message")
 	private String message;
 
@@ -42,6 +62,10 @@ public class Notification {
 
 	@Column(name = "timestamp")
 	private LocalDateTime timestamp;
+
+	// Set on rows fanned out from a Broadcast
+	@Column(name = "broadcast_id")
+	private Integer broadcastId;
 }
 
 
@@ -0,0 +1,52 @@
+package com.Schoolai.WebModule.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Notifications moved out of the hot table by the retention job; same columns, keeping the original id. */
+@Entity
+@Table(name = "notification_archive")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationArchive {
+
+	@Id
+	@Column(name = "notification_id")
+	private Integer id;
+
+	@Column(name = "user_id")
+	private Integer userId;
+
+	@Column(name = "audience", length = 10, nullable = false)
+	private String audience;
+
+	@Column(name = "message")
+	private String message;
+
+	@Column(name = "type", length = 50)
+	private String type;
+
+	@Column(name = "status", length = 20)
+	private String status;
+
+	@Column(name = "timestamp")
+	private LocalDateTime timestamp;
+
+	@Column(name = "broadcast_id")
+	private Integer broadcastId;
+
+	@Column(name = "archived_at")
+	private LocalDateTime archivedAt;
+}
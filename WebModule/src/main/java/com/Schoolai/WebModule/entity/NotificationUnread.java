@@ -0,0 +1,51 @@
+package com.Schoolai.WebModule.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Unread notification count per recipient, kept in step with the notifications table by the
+ * statements that insert, mark read and archive notifications, so reading it is a primary key lookup.
+ */
+@Entity
+@Table(name = "notification_unread")
+@IdClass(NotificationUnread.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationUnread {
+
+	@Id
+	@Column(name = "user_id")
+	private Integer userId;
+
+	@Id
+	@Column(name = "audience", length = 10)
+	private String audience;
+
+	@Column(name = "unread", nullable = false)
+	private int unread;
+
+	@Getter
+	@Setter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@EqualsAndHashCode
+	public static class Key implements Serializable {
+		private Integer userId;
+		private String audience;
+	}
+}
@@ -1,14 +1,20 @@
 package com.Schoolai.WebModule.entity;
 
+import com.Schoolai.WebModule.service.PerformanceListener;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import java.math.BigDecimal;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -17,7 +23,10 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "performance")
+@EntityListeners(PerformanceListener.class)
+@Table(name = "performance", indexes = {
+		@Index(name = "idx_performance_assessment_student", columnList = "assessment_id, student_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,7 +35,8 @@ import lombok.Setter;
 public class Performance {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "performance_seq")
+	@SequenceGenerator(name = "performance_seq", sequenceName = "performance_seq", allocationSize = 50)
 	@Column(name = "performance_id")
 	private Integer id;
 
@@ -46,6 +56,19 @@ public class Performance {
 
 	@Column(name = "remarks")
 	private String remarks;
+
+	// What the subject stats currently hold for this row, so an update or delete can take it back out
+	@Transient
+	private Counted counted;
+
+	public record Counted(Integer performanceId, Integer studentId, Integer assessmentId, BigDecimal marks, String grade) {
+		public static Counted of(Performance performance) {
+			return new Counted(performance.getId(),
+					performance.getStudent() != null ? performance.getStudent().getId() : null,
+					performance.getAssessment() != null ? performance.getAssessment().getId() : null,
+					performance.getMarksObtained(), performance.getGrade());
+		}
+	}
 }
 
 
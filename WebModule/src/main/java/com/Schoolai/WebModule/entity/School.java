@@ -1,7 +1,10 @@
 package com.Schoolai.WebModule.entity;
 
+import com.Schoolai.WebModule.service.ReferenceDataListener;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -13,6 +16,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@EntityListeners(ReferenceDataListener.class)
 @Table(name = "school")
 @Getter
 @Setter
@@ -0,0 +1,71 @@
+package com.Schoolai.WebModule.entity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Running totals of a student's marks in one subject, kept in step with the performance table by
+ * {@code PerformanceListener} so averages and spread are read without scanning marks. A missing mark
+ * counts as 0, as in the progress average. The sums are exact decimals so adding and taking back
+ * marks never drifts.
+ */
+@Entity
+@Table(name = "student_subject_stats")
+@IdClass(StudentSubjectStats.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentSubjectStats {
+
+	@Id
+	@Column(name = "student_id")
+	private Integer studentId;
+
+	@Id
+	@Column(name = "subject_id")
+	private Integer subjectId;
+
+	@Column(name = "marked", nullable = false)
+	private int marked;
+
+	@Column(name = "marks_sum", nullable = false, precision = 14, scale = 2)
+	private BigDecimal marksSum;
+
+	@Column(name = "marks_squares", nullable = false, precision = 20, scale = 4)
+	private BigDecimal marksSquares;
+
+	// The latest performance row, by id
+	@Column(name = "last_performance_id")
+	private Integer lastPerformanceId;
+
+	@Column(name = "last_grade", length = 5)
+	private String lastGrade;
+
+	@Column(name = "last_assessment_date")
+	private LocalDate lastAssessmentDate;
+
+	@Getter
+	@Setter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@EqualsAndHashCode
+	public static class Key implements Serializable {
+		private Integer studentId;
+		private Integer subjectId;
+	}
+}
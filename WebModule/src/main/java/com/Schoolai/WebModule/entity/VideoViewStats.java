@@ -0,0 +1,59 @@
+package com.Schoolai.WebModule.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * How often each student has watched each video, kept in step with video_view by the ingestion
+ * flush. Per-video figures add up one row per viewer and per-student figures one row per video,
+ * so reports never read the raw view log.
+ */
+@Entity
+@Table(name = "video_view_stats", indexes = {
+		@Index(name = "idx_video_view_stats_student", columnList = "student_id")
+})
+@IdClass(VideoViewStats.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VideoViewStats {
+
+	@Id
+	@Column(name = "video_id")
+	private Integer videoId;
+
+	@Id
+	@Column(name = "student_id")
+	private Integer studentId;
+
+	@Column(name = "views", nullable = false)
+	private int views;
+
+	@Column(name = "last_viewed_at")
+	private LocalDateTime lastViewedAt;
+
+	@Getter
+	@Setter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@EqualsAndHashCode
+	public static class Key implements Serializable {
+		private Integer videoId;
+		private Integer studentId;
+	}
+}
@@ -1,17 +1,42 @@
 package com.Schoolai.WebModule.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.Schoolai.WebModule.dto.AssignmentSummary;
 import com.Schoolai.WebModule.entity.Assignment;
 
+import jakarta.persistence.QueryHint;
+
 public interface AssignmentRepository extends JpaRepository<Assignment, Integer> {
 	List<Assignment> findBySubjectId(Integer subjectId);
 	List<Assignment> findByAssignedById(Integer teacherId);
 	List<Assignment> findByDueDateBetween(LocalDate start, LocalDate end);
 	List<Assignment> findByType(String type);
-}
 
+	// "submitted" is the given student's own status, probed through idx_submission_assignment_student
+	String SUBMITTED_BY_STUDENT = "CASE WHEN EXISTS (SELECT 1 FROM AssignmentSubmission sub "
+			+ "WHERE sub.assignment = a AND sub.student.id = :studentId) THEN true ELSE false END";
 
+	@Query("SELECT new com.Schoolai.WebModule.dto.AssignmentSummary(a.id, s.id, s.subjectName, a.title, a.dueDate, "
+			+ SUBMITTED_BY_STUDENT + ") "
+			+ "FROM Assignment a JOIN a.subject s WHERE s.id IN :subjectIds AND a.id > :afterId ORDER BY a.id")
+	List<AssignmentSummary> findSummariesForStudentAfter(@Param("studentId") Integer studentId,
+			@Param("subjectIds") Collection<Integer> subjectIds, @Param("afterId") Integer afterId, Pageable pageable);
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	@Query("SELECT new com.Schoolai.WebModule.dto.AssignmentSummary(a.id, s.id, s.subjectName, a.title, a.dueDate, "
+			+ SUBMITTED_BY_STUDENT + ") "
+			+ "FROM Assignment a JOIN a.subject s WHERE s.id IN :subjectIds ORDER BY a.id")
+	Stream<AssignmentSummary> streamSummariesForStudent(@Param("studentId") Integer studentId,
+			@Param("subjectIds") Collection<Integer> subjectIds);
+}
@@ -1,9 +1,12 @@
 package com.Schoolai.WebModule.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.Schoolai.WebModule.entity.AssignmentSubmission;
 
@@ -12,5 +15,8 @@ public interface AssignmentSubmissionRepository extends JpaRepository<Assignment
 	List<AssignmentSubmission> findByStudentId(Integer studentId);
 	List<AssignmentSubmission> findByAssignmentIdAndStudentId(Integer assignmentId, Integer studentId);
 	Optional<AssignmentSubmission> findFirstByAssignmentIdAndStudentIdOrderBySubmittedAtDesc(Integer assignmentId, Integer studentId);
+
+	@Query("SELECT DISTINCT sub.assignment.id FROM AssignmentSubmission sub WHERE sub.assignment.id IN :assignmentIds")
+	List<Integer> findSubmittedAssignmentIds(@Param("assignmentIds") Collection<Integer> assignmentIds);
 }
 
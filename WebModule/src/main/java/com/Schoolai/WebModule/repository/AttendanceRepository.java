@@ -1,15 +1,27 @@
 package com.Schoolai.WebModule.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.Schoolai.WebModule.entity.Attendance;
 
 public interface AttendanceRepository extends JpaRepository<Attendance, Integer> {
+
+	interface RecordedStatus {
+		Integer getStudentId();
+		String getStatus();
+	}
+
 	List<Attendance> findByStudentId(Integer studentId);
 	List<Attendance> findByStudentIdAndDateBetween(Integer studentId, LocalDate start, LocalDate end);
+
+	@Query("SELECT a.student.id AS studentId, a.status AS status FROM Attendance a WHERE a.date = :date AND a.student.id IN :studentIds")
+	List<RecordedStatus> findStatuses(@Param("date") LocalDate date, @Param("studentIds") Collection<Integer> studentIds);
 }
 
 
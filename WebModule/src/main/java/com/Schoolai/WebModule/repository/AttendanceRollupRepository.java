@@ -0,0 +1,67 @@
+package com.Schoolai.WebModule.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.Schoolai.WebModule.entity.AttendanceRollup;
+
+public interface AttendanceRollupRepository extends JpaRepository<AttendanceRollup, AttendanceRollup.Key> {
+
+	interface Bucket {
+		LocalDate getPeriodStart();
+		long getPresent();
+		long getAbsent();
+		long getLate();
+	}
+
+	// A student who changed class has rows under each class; they are added together
+	@Query("SELECT r.periodStart AS periodStart, SUM(r.present) AS present, SUM(r.absent) AS absent, SUM(r.late) AS late "
+			+ "FROM AttendanceRollup r WHERE r.studentId = :studentId AND r.period = :period "
+			+ "AND r.periodStart BETWEEN :from AND :to GROUP BY r.periodStart ORDER BY r.periodStart")
+	List<Bucket> findStudentBuckets(@Param("studentId") Integer studentId, @Param("period") String period,
+			@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+	@Query("SELECT r.periodStart AS periodStart, SUM(r.present) AS present, SUM(r.absent) AS absent, SUM(r.late) AS late "
+			+ "FROM AttendanceRollup r WHERE r.schoolId = :schoolId AND r.studentId = " + AttendanceRollup.CLASS_TOTAL + " "
+			+ "AND r.className = :className AND r.period = :period "
+			+ "AND r.periodStart BETWEEN :from AND :to GROUP BY r.periodStart ORDER BY r.periodStart")
+	List<Bucket> findClassBuckets(@Param("schoolId") Integer schoolId, @Param("className") String className,
+			@Param("period") String period, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+	@Query("SELECT r.periodStart AS periodStart, SUM(r.present) AS present, SUM(r.absent) AS absent, SUM(r.late) AS late "
+			+ "FROM AttendanceRollup r WHERE r.schoolId = :schoolId AND r.studentId = " + AttendanceRollup.CLASS_TOTAL + " "
+			+ "AND r.period = :period AND r.periodStart BETWEEN :from AND :to GROUP BY r.periodStart ORDER BY r.periodStart")
+	List<Bucket> findSchoolBuckets(@Param("schoolId") Integer schoolId, @Param("period") String period,
+			@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+	@Modifying
+	@Query(value = "LOCK TABLE attendance_rollup IN EXCLUSIVE MODE", nativeQuery = true)
+	void lockForRebuild();
+
+	@Modifying
+	@Query(value = "DELETE FROM attendance_rollup", nativeQuery = true)
+	int deleteAllRollups();
+
+	// The attendance log doesn't record the class, so a rebuild files every row under the student's current class
+	@Modifying
+	@Query(value = "INSERT INTO attendance_rollup (school_id, class_name, student_id, period, period_start, present, absent, late) "
+			+ "SELECT s.school_id, s.class, COALESCE(a.student_id, " + AttendanceRollup.CLASS_TOTAL + "), '" + AttendanceRollup.DAY + "', a.date, "
+			+ "COUNT(*) FILTER (WHERE a.status = 'Present'), COUNT(*) FILTER (WHERE a.status = 'Absent'), "
+			+ "COUNT(*) FILTER (WHERE a.status = 'Late') "
+			+ "FROM attendance a JOIN student s ON s.student_id = a.student_id WHERE s.school_id IS NOT NULL "
+			+ "GROUP BY GROUPING SETS ((s.school_id, s.class, a.student_id, a.date), (s.school_id, s.class, a.date))",
+			nativeQuery = true)
+	int insertDaysFromAttendance();
+
+	@Modifying
+	@Query(value = "INSERT INTO attendance_rollup (school_id, class_name, student_id, period, period_start, present, absent, late) "
+			+ "SELECT school_id, class_name, student_id, '" + AttendanceRollup.MONTH + "', date_trunc('month', period_start)::date, "
+			+ "SUM(present), SUM(absent), SUM(late) FROM attendance_rollup WHERE period = '" + AttendanceRollup.DAY + "' "
+			+ "GROUP BY school_id, class_name, student_id, date_trunc('month', period_start)", nativeQuery = true)
+	int insertMonthsFromDays();
+}
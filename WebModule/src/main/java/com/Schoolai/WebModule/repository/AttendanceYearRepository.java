@@ -0,0 +1,27 @@
+package com.Schoolai.WebModule.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.Schoolai.WebModule.entity.AttendanceYear;
+
+public interface AttendanceYearRepository extends JpaRepository<AttendanceYear, AttendanceYear.Key> {
+
+	@Query("SELECT y FROM AttendanceYear y WHERE y.academicYear = :academicYear AND y.studentId IN "
+			+ "(SELECT s.id FROM Student s WHERE s.school.id = :schoolId AND s.className = :className) "
+			+ "ORDER BY y.studentId")
+	List<AttendanceYear> findForClass(@Param("schoolId") Integer schoolId, @Param("className") String className,
+			@Param("academicYear") Integer academicYear);
+
+	@Modifying
+	@Query(value = "LOCK TABLE attendance_year IN EXCLUSIVE MODE", nativeQuery = true)
+	void lockForRebuild();
+
+	@Modifying
+	@Query(value = "DELETE FROM attendance_year", nativeQuery = true)
+	int deleteAllYears();
+}
@@ -0,0 +1,64 @@
+package com.Schoolai.WebModule.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.Schoolai.WebModule.entity.Broadcast;
+import com.Schoolai.WebModule.entity.Notification;
+
+public interface BroadcastRepository extends JpaRepository<Broadcast, Integer> {
+
+	interface FanOutChunk {
+		long getInserted();
+		Integer getLastId();
+	}
+
+	// Notification ids come from notifications_seq in blocks of ID_ALLOCATION_SIZE, exactly as the JPA
+	// pooled generator takes them, so rows inserted here and through JPA never collide. Like that
+	// generator, a value below ID_ALLOCATION_SIZE (a new sequence starts at 1) would give ids at or
+	// below zero, so it is skipped and the next block taken instead
+	String FAN_OUT = "blocks AS (SELECT g, CASE WHEN v < " + Notification.ID_ALLOCATION_SIZE
+			+ " THEN nextval('notifications_seq') ELSE v END AS hi "
+			+ "FROM (SELECT g, nextval('notifications_seq') AS v "
+			+ "FROM generate_series(0, (SELECT (COUNT(*) - 1) / " + Notification.ID_ALLOCATION_SIZE + " FROM batch)) g "
+			+ "WHERE EXISTS (SELECT 1 FROM batch)) s), "
+			+ "inserted AS (INSERT INTO notifications (notification_id, user_id, audience, message, type, status, timestamp, broadcast_id) "
+			+ "SELECT blocks.hi - " + (Notification.ID_ALLOCATION_SIZE - 1) + " + batch.rn % " + Notification.ID_ALLOCATION_SIZE
+			+ ", batch.user_id, batch.audience, b.message, b.type, 'SENT', :now, b.broadcast_id "
+			+ "FROM batch JOIN blocks ON blocks.g = batch.rn / " + Notification.ID_ALLOCATION_SIZE + " "
+			+ "JOIN broadcast b ON b.broadcast_id = :broadcastId), "
+			// Counters are locked in user order, so concurrent broadcasts to one school can't deadlock
+			+ "counted AS (INSERT INTO notification_unread (user_id, audience, unread) "
+			+ "SELECT user_id, audience, 1 FROM batch ORDER BY user_id "
+			+ "ON CONFLICT (user_id, audience) DO UPDATE SET unread = notification_unread.unread + 1) "
+			+ "SELECT COUNT(*) AS inserted, MAX(user_id) AS lastId FROM batch";
+
+	// Both read the audience straight from the index and write the notifications and unread counters
+	// in one statement; nothing is loaded into the persistence context
+	@Query(value = "WITH batch AS (SELECT student_id AS user_id, 'STUDENT' AS audience, row_number() OVER (ORDER BY student_id) - 1 AS rn "
+			+ "FROM student WHERE school_id = :schoolId AND student_id > :after ORDER BY student_id LIMIT :limit), "
+			+ FAN_OUT, nativeQuery = true)
+	FanOutChunk fanOutToStudents(@Param("broadcastId") Integer broadcastId, @Param("schoolId") Integer schoolId,
+			@Param("after") int after, @Param("limit") int limit, @Param("now") LocalDateTime now);
+
+	@Query(value = "WITH batch AS (SELECT teacher_id AS user_id, 'STAFF' AS audience, row_number() OVER (ORDER BY teacher_id) - 1 AS rn "
+			+ "FROM teacher WHERE school_id = :schoolId AND teacher_id > :after ORDER BY teacher_id LIMIT :limit), "
+			+ FAN_OUT, nativeQuery = true)
+	FanOutChunk fanOutToTeachers(@Param("broadcastId") Integer broadcastId, @Param("schoolId") Integer schoolId,
+			@Param("after") int after, @Param("limit") int limit, @Param("now") LocalDateTime now);
+
+	// SKIP LOCKED lets several app instances poll without running the same broadcast twice
+	@Query(value = "SELECT broadcast_id FROM broadcast "
+			+ "WHERE status = 'QUEUED' OR (status = 'RUNNING' AND locked_until < :now) "
+			+ "ORDER BY broadcast_id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+	List<Integer> lockDueBroadcastIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+	@Modifying
+	@Query("UPDATE Broadcast b SET b.status = 'RUNNING', b.lockedUntil = :lockedUntil WHERE b.id = :id")
+	int markRunning(@Param("id") Integer id, @Param("lockedUntil") LocalDateTime lockedUntil);
+}
@@ -1,14 +1,29 @@
 package com.Schoolai.WebModule.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.Schoolai.WebModule.entity.ChatHistory;
 
 public interface ChatHistoryRepository extends JpaRepository<ChatHistory, Integer> {
 	List<ChatHistory> findBySenderId(Integer senderId);
 	List<ChatHistory> findByReceiverId(Integer receiverId);
-}
 
+	interface AnswerSeed {
+		Integer getSubjectId();
+		String getClassName();
+		String getMessage();
+		String getResponse();
+	}
 
+	@Query("SELECT c.subjectId AS subjectId, s.className AS className, c.message AS message, c.response AS response "
+			+ "FROM ChatHistory c JOIN Student s ON s.id = c.senderId "
+			+ "WHERE c.timestamp >= :since AND c.message IS NOT NULL AND c.response IS NOT NULL "
+			+ "AND c.response <> 'Service unavailable' ORDER BY c.timestamp DESC")
+	List<AnswerSeed> findAnswerSeeds(@Param("since") LocalDateTime since, Pageable pageable);
+}
@@ -0,0 +1,39 @@
+package com.Schoolai.WebModule.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.Schoolai.WebModule.entity.FeedbackJob;
+
+public interface FeedbackJobRepository extends JpaRepository<FeedbackJob, Integer> {
+
+	interface Owner {
+		Integer getStudentId();
+		Integer getSchoolId();
+	}
+
+	Optional<FeedbackJob> findByIdempotencyKey(String idempotencyKey);
+
+	@Query("SELECT st.id AS studentId, st.school.id AS schoolId FROM FeedbackJob j, AssignmentSubmission s "
+			+ "JOIN s.student st WHERE j.id = :jobId AND s.id = j.submissionId")
+	Optional<Owner> findOwner(@Param("jobId") Integer jobId);
+
+	// SKIP LOCKED lets several app instances poll the same table without handing out a job twice
+	@Query(value = "SELECT job_id FROM feedback_job "
+			+ "WHERE (status = 'QUEUED' AND next_attempt_at <= :now) OR (status = 'RUNNING' AND locked_until < :now) "
+			+ "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+	List<Integer> lockDueJobIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+	@Modifying
+	@Query("UPDATE FeedbackJob j SET j.status = 'RUNNING', j.attempts = j.attempts + 1, j.lockedUntil = :lockedUntil, "
+			+ "j.updatedAt = :now WHERE j.id IN :ids")
+	int markRunning(@Param("ids") Collection<Integer> ids, @Param("now") LocalDateTime now,
+			@Param("lockedUntil") LocalDateTime lockedUntil);
+}
@@ -1,14 +1,54 @@
 package com.Schoolai.WebModule.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.Schoolai.WebModule.dto.NotificationInfo;
 import com.Schoolai.WebModule.entity.Notification;
 
 public interface NotificationRepository extends JpaRepository<Notification, Integer> {
 	List<Notification> findByUserId(Integer userId);
 	List<Notification> findByStatus(String status);
-}
 
+	// Newest first; the caller passes the smallest id it has seen as the next cursor
+	@Query("SELECT new com.Schoolai.WebModule.dto.NotificationInfo(n.id, n.message, n.type, n.status, n.timestamp, n.broadcastId) "
+			+ "FROM Notification n WHERE n.userId = :userId AND n.audience = :audience AND n.id < :beforeId ORDER BY n.id DESC")
+	List<NotificationInfo> findInboxBefore(@Param("userId") Integer userId, @Param("audience") String audience,
+			@Param("beforeId") Integer beforeId, Pageable pageable);
+
+	// Each statement below changes notifications and the recipient's unread counter together and
+	// returns how many notifications it changed
+	String DECREMENT_UNREAD = "n AS (SELECT COUNT(*) AS c FROM updated), "
+			+ "counted AS (UPDATE notification_unread SET unread = GREATEST(unread - (SELECT c FROM n), 0) "
+			+ "WHERE user_id = :userId AND audience = :audience) "
+			+ "SELECT c FROM n";
+
+	@Query(value = "WITH updated AS (UPDATE notifications SET status = 'READ' WHERE user_id = :userId AND audience = :audience "
+			+ "AND notification_id IN (:ids) AND status IS DISTINCT FROM 'READ' RETURNING 1), "
+			+ DECREMENT_UNREAD, nativeQuery = true)
+	int markRead(@Param("userId") Integer userId, @Param("audience") String audience, @Param("ids") Collection<Integer> ids);
 
+	@Query(value = "WITH updated AS (UPDATE notifications SET status = 'READ' WHERE user_id = :userId AND audience = :audience "
+			+ "AND notification_id <= :upTo AND status IS DISTINCT FROM 'READ' RETURNING 1), "
+			+ DECREMENT_UNREAD, nativeQuery = true)
+	int markReadUpTo(@Param("userId") Integer userId, @Param("audience") String audience, @Param("upTo") Integer upTo);
+
+	// SKIP LOCKED keeps the job out of the way of users marking the same rows read
+	@Query(value = "WITH doomed AS (SELECT notification_id FROM notifications WHERE timestamp < :cutoff "
+			+ "ORDER BY notification_id LIMIT :limit FOR UPDATE SKIP LOCKED), "
+			+ "moved AS (DELETE FROM notifications n USING doomed d WHERE n.notification_id = d.notification_id RETURNING n.*), "
+			+ "archived AS (INSERT INTO notification_archive "
+			+ "(notification_id, user_id, audience, message, type, status, timestamp, broadcast_id, archived_at) "
+			+ "SELECT notification_id, user_id, audience, message, type, status, timestamp, broadcast_id, :now FROM moved), "
+			+ "counted AS (UPDATE notification_unread u SET unread = GREATEST(u.unread - m.c, 0) "
+			+ "FROM (SELECT user_id, audience, COUNT(*) AS c FROM moved WHERE status IS DISTINCT FROM 'READ' "
+			+ "GROUP BY user_id, audience) m WHERE u.user_id = m.user_id AND u.audience = m.audience) "
+			+ "SELECT COUNT(*) FROM moved", nativeQuery = true)
+	int archiveOlderThan(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit, @Param("now") LocalDateTime now);
+}
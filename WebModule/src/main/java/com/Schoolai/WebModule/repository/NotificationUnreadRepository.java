@@ -0,0 +1,25 @@
+package com.Schoolai.WebModule.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.Schoolai.WebModule.entity.NotificationUnread;
+
+public interface NotificationUnreadRepository extends JpaRepository<NotificationUnread, NotificationUnread.Key> {
+
+	@Modifying
+	@Query(value = "LOCK TABLE notification_unread IN EXCLUSIVE MODE", nativeQuery = true)
+	void lockForRebuild();
+
+	@Modifying
+	@Query(value = "DELETE FROM notification_unread", nativeQuery = true)
+	int deleteAllCounts();
+
+	@Modifying
+	@Query(value = "INSERT INTO notification_unread (user_id, audience, unread) "
+			+ "SELECT user_id, audience, COUNT(*) FROM notifications "
+			+ "WHERE status IS DISTINCT FROM 'READ' AND user_id IS NOT NULL AND audience IS NOT NULL "
+			+ "GROUP BY user_id, audience", nativeQuery = true)
+	int insertCountsFromNotifications();
+}
@@ -1,14 +1,50 @@
 package com.Schoolai.WebModule.repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.Schoolai.WebModule.dto.PerformanceSummary;
 import com.Schoolai.WebModule.entity.Performance;
 
+import jakarta.persistence.QueryHint;
+
 public interface PerformanceRepository extends JpaRepository<Performance, Integer> {
 	List<Performance> findByStudentId(Integer studentId);
 	List<Performance> findByAssessmentId(Integer assessmentId);
-}
 
+	@Query("SELECT new com.Schoolai.WebModule.dto.PerformanceSummary(p.id, a.id, s.id, s.subjectName, a.title, p.marksObtained, p.grade) "
+			+ "FROM Performance p JOIN p.assessment a JOIN a.subject s "
+			+ "WHERE s.id = :subjectId ORDER BY p.id")
+	List<PerformanceSummary> findSummariesBySubjectId(@Param("subjectId") Integer subjectId);
+
+	@Query("SELECT new com.Schoolai.WebModule.dto.PerformanceSummary(p.id, a.id, s.id, s.subjectName, a.title, p.marksObtained, p.grade) "
+			+ "FROM Performance p JOIN p.assessment a JOIN a.subject s "
+			+ "WHERE s.id = :subjectId AND p.id > :afterId ORDER BY p.id")
+	List<PerformanceSummary> findSummariesBySubjectIdAfter(@Param("subjectId") Integer subjectId,
+			@Param("afterId") Integer afterId, Pageable pageable);
 
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	@Query("SELECT new com.Schoolai.WebModule.dto.PerformanceSummary(p.id, a.id, s.id, s.subjectName, a.title, p.marksObtained, p.grade) "
+			+ "FROM Performance p JOIN p.assessment a JOIN a.subject s "
+			+ "WHERE s.id = :subjectId ORDER BY p.id")
+	Stream<PerformanceSummary> streamSummariesBySubjectId(@Param("subjectId") Integer subjectId);
+
+	@Query("SELECT new com.Schoolai.WebModule.dto.PerformanceSummary(p.id, a.id, s.id, s.subjectName, a.title, p.marksObtained, p.grade) "
+			+ "FROM Performance p LEFT JOIN p.assessment a LEFT JOIN a.subject s "
+			+ "WHERE p.student.id = :studentId AND p.id > :afterId ORDER BY p.id")
+	List<PerformanceSummary> findSummariesByStudentIdAfter(@Param("studentId") Integer studentId,
+			@Param("afterId") Integer afterId, Pageable pageable);
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	@Query("SELECT new com.Schoolai.WebModule.dto.PerformanceSummary(p.id, a.id, s.id, s.subjectName, a.title, p.marksObtained, p.grade) "
+			+ "FROM Performance p LEFT JOIN p.assessment a LEFT JOIN a.subject s "
+			+ "WHERE p.student.id = :studentId ORDER BY p.id")
+	Stream<PerformanceSummary> streamSummariesByStudentId(@Param("studentId") Integer studentId);
+}
@@ -1,18 +1,55 @@
 package com.Schoolai.WebModule.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.Schoolai.WebModule.dto.StudentInfo;
 import com.Schoolai.WebModule.entity.Student;
 
+import jakarta.persistence.QueryHint;
+
 public interface StudentRepository extends JpaRepository<Student, Integer> {
+
+	interface RosterEntry {
+		Integer getId();
+		String getEmail();
+	}
+
 	Optional<Student> findByEmail(String email);
 	List<Student> findBySchoolId(Integer schoolId);
+	long countBySchoolId(Integer schoolId);
 	List<Student> findByClassNameAndSchoolId(String className, Integer schoolId);
 	Optional<Student> findByEmailAndPassword(String email, String password);
 	List<Student> findByClassName(String className);
-}
 
+	@Query("SELECT s.id AS id, s.email AS email FROM Student s "
+			+ "WHERE s.school.id = :schoolId AND s.className = :className AND s.id IN :ids")
+	List<RosterEntry> findRoster(@Param("schoolId") Integer schoolId, @Param("className") String className,
+			@Param("ids") Collection<Integer> ids);
 
+	@Query("SELECT s.className FROM Student s WHERE s.id = :id")
+	Optional<String> findClassNameById(@Param("id") Integer id);
+
+	@Query("SELECT new com.Schoolai.WebModule.dto.StudentInfo(s.id, s.school.id, s.fullName, s.className, s.email, s.contactNo, s.gender, s.medium) "
+			+ "FROM Student s WHERE s.className = :className ORDER BY s.id")
+	List<StudentInfo> findInfosByClassName(@Param("className") String className);
+
+	@Query("SELECT new com.Schoolai.WebModule.dto.StudentInfo(s.id, s.school.id, s.fullName, s.className, s.email, s.contactNo, s.gender, s.medium) "
+			+ "FROM Student s WHERE s.className = :className AND s.id > :afterId ORDER BY s.id")
+	List<StudentInfo> findInfosByClassNameAfter(@Param("className") String className, @Param("afterId") Integer afterId,
+			Pageable pageable);
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	@Query("SELECT new com.Schoolai.WebModule.dto.StudentInfo(s.id, s.school.id, s.fullName, s.className, s.email, s.contactNo, s.gender, s.medium) "
+			+ "FROM Student s WHERE s.className = :className ORDER BY s.id")
+	Stream<StudentInfo> streamInfosByClassName(@Param("className") String className);
+}
@@ -0,0 +1,29 @@
+package com.Schoolai.WebModule.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.Schoolai.WebModule.entity.StudentSubjectStats;
+
+public interface StudentSubjectStatsRepository extends JpaRepository<StudentSubjectStats, StudentSubjectStats.Key> {
+
+	@Modifying
+	@Query(value = "LOCK TABLE student_subject_stats IN EXCLUSIVE MODE", nativeQuery = true)
+	void lockForRebuild();
+
+	@Modifying
+	@Query(value = "DELETE FROM student_subject_stats", nativeQuery = true)
+	int deleteAllStats();
+
+	@Modifying
+	@Query(value = "INSERT INTO student_subject_stats (student_id, subject_id, marked, marks_sum, marks_squares, "
+			+ "last_performance_id, last_grade, last_assessment_date) "
+			+ "SELECT p.student_id, a.subject_id, COUNT(*), SUM(COALESCE(p.marks_obtained, 0)), "
+			+ "SUM(COALESCE(p.marks_obtained, 0) * COALESCE(p.marks_obtained, 0)), MAX(p.performance_id), "
+			+ "(array_agg(p.grade ORDER BY p.performance_id DESC))[1], (array_agg(a.due_date ORDER BY p.performance_id DESC))[1] "
+			+ "FROM performance p JOIN assessment a ON a.assessment_id = p.assessment_id "
+			+ "WHERE p.student_id IS NOT NULL AND a.subject_id IS NOT NULL GROUP BY p.student_id, a.subject_id",
+			nativeQuery = true)
+	int insertStatsFromPerformance();
+}
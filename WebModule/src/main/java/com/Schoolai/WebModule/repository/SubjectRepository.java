@@ -1,15 +1,28 @@
 package com.Schoolai.WebModule.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.Schoolai.WebModule.dto.StudentSubjectProgress;
 import com.Schoolai.WebModule.entity.Subject;
 
 public interface SubjectRepository extends JpaRepository<Subject, Integer> {
 	List<Subject> findByCurriculumId(Integer curriculumId);
 	List<Subject> findByClassNameAndCurriculumId(String className, Integer curriculumId);
 	List<Subject> findByClassName(String className);
-}
-
 
+	@Query("SELECT new com.Schoolai.WebModule.dto.StudentSubjectProgress(s.id, s.subjectName, s.className, "
+			+ "(SELECT COUNT(a) FROM Assignment a WHERE a.subject = s), "
+			+ "(SELECT COUNT(a) FROM Assignment a WHERE a.subject = s AND EXISTS (SELECT 1 FROM AssignmentSubmission sub "
+			+ "WHERE sub.assignment = a AND sub.student.id = :studentId)), "
+			+ "(SELECT COUNT(x) FROM Assessment x WHERE x.subject = s), "
+			+ "st.marked, st.marksSum, st.marksSquares, st.lastGrade, st.lastAssessmentDate) "
+			+ "FROM Subject s LEFT JOIN StudentSubjectStats st ON st.studentId = :studentId AND st.subjectId = s.id "
+			+ "WHERE s.id IN :subjectIds")
+	List<StudentSubjectProgress> aggregateProgress(@Param("studentId") Integer studentId,
+			@Param("subjectIds") Collection<Integer> subjectIds);
+}
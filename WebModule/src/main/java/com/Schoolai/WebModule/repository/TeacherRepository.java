@@ -12,6 +12,7 @@ public interface TeacherRepository extends JpaRepository<Teacher, Integer> {
 	List<Teacher> findBySubjectId(Integer subjectId);
 	Optional<Teacher> findByEmailAndPassword(String email, String password);
 	List<Teacher> findBySchoolId(Integer schoolId);
+	long countBySchoolId(Integer schoolId);
 }
 
 
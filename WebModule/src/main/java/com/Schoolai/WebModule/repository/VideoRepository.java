@@ -1,14 +1,33 @@
 package com.Schoolai.WebModule.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.Schoolai.WebModule.dto.VideoInfo;
 import com.Schoolai.WebModule.entity.Video;
 
+import jakarta.persistence.QueryHint;
+
 public interface VideoRepository extends JpaRepository<Video, Integer> {
 	List<Video> findBySubjectId(Integer subjectId);
 	List<Video> findByGeneratedById(Integer teacherId);
-}
+	List<Video> findBySubjectIdInOrderById(Collection<Integer> subjectIds);
 
+	@Query("SELECT new com.Schoolai.WebModule.dto.VideoInfo(v.id, s.id, s.subjectName, v.title, v.url, v.videoType) "
+			+ "FROM Video v JOIN v.subject s WHERE s.id IN :subjectIds AND v.id > :afterId ORDER BY v.id")
+	List<VideoInfo> findInfosBySubjectIdsAfter(@Param("subjectIds") Collection<Integer> subjectIds,
+			@Param("afterId") Integer afterId, Pageable pageable);
 
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	@Query("SELECT new com.Schoolai.WebModule.dto.VideoInfo(v.id, s.id, s.subjectName, v.title, v.url, v.videoType) "
+			+ "FROM Video v JOIN v.subject s WHERE s.id IN :subjectIds ORDER BY v.id")
+	Stream<VideoInfo> streamInfosBySubjectIds(@Param("subjectIds") Collection<Integer> subjectIds);
+}
@@ -1,15 +1,39 @@
 package com.Schoolai.WebModule.repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.Schoolai.WebModule.dto.VideoViewInfo;
 import com.Schoolai.WebModule.entity.VideoView;
 
+import jakarta.persistence.QueryHint;
+
 public interface VideoViewRepository extends JpaRepository<VideoView, Integer> {
 	List<VideoView> findByVideoId(Integer videoId);
 	List<VideoView> findByStudentId(Integer studentId);
 	long countByVideoId(Integer videoId);
-}
 
+	@Query("SELECT new com.Schoolai.WebModule.dto.VideoViewInfo(vv.id, v.id, st.id, st.fullName, vv.viewedAt) "
+			+ "FROM VideoView vv JOIN vv.video v LEFT JOIN vv.student st "
+			+ "WHERE v.subject.id = :subjectId ORDER BY v.id, vv.id")
+	List<VideoViewInfo> findInfosBySubjectId(@Param("subjectId") Integer subjectId);
 
+	@Query("SELECT new com.Schoolai.WebModule.dto.VideoViewInfo(vv.id, v.id, st.id, st.fullName, vv.viewedAt) "
+			+ "FROM VideoView vv JOIN vv.video v LEFT JOIN vv.student st "
+			+ "WHERE v.subject.id = :subjectId AND vv.id > :afterId ORDER BY vv.id")
+	List<VideoViewInfo> findInfosBySubjectIdAfter(@Param("subjectId") Integer subjectId,
+			@Param("afterId") Integer afterId, Pageable pageable);
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	@Query("SELECT new com.Schoolai.WebModule.dto.VideoViewInfo(vv.id, v.id, st.id, st.fullName, vv.viewedAt) "
+			+ "FROM VideoView vv JOIN vv.video v LEFT JOIN vv.student st "
+			+ "WHERE v.subject.id = :subjectId ORDER BY vv.id")
+	Stream<VideoViewInfo> streamInfosBySubjectId(@Param("subjectId") Integer subjectId);
+}
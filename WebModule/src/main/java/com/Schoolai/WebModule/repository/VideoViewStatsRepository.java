@@ -0,0 +1,42 @@
+package com.Schoolai.WebModule.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.Schoolai.WebModule.dto.StudentViewTotals;
+import com.Schoolai.WebModule.dto.VideoViewTotals;
+import com.Schoolai.WebModule.entity.VideoViewStats;
+
+public interface VideoViewStatsRepository extends JpaRepository<VideoViewStats, VideoViewStats.Key> {
+
+	// Videos nobody has watched yet are listed with zero views
+	@Query("SELECT new com.Schoolai.WebModule.dto.VideoViewTotals(v.id, v.title, COALESCE(SUM(vs.views), 0), "
+			+ "COUNT(vs.studentId), MAX(vs.lastViewedAt)) "
+			+ "FROM Video v LEFT JOIN VideoViewStats vs ON vs.videoId = v.id "
+			+ "WHERE v.subject.id = :subjectId GROUP BY v.id, v.title ORDER BY v.id")
+	List<VideoViewTotals> findVideoTotalsBySubjectId(@Param("subjectId") Integer subjectId);
+
+	@Query("SELECT new com.Schoolai.WebModule.dto.StudentViewTotals(st.id, st.fullName, SUM(vs.views), "
+			+ "COUNT(vs.videoId), MAX(vs.lastViewedAt)) "
+			+ "FROM VideoViewStats vs JOIN Video v ON v.id = vs.videoId JOIN Student st ON st.id = vs.studentId "
+			+ "WHERE v.subject.id = :subjectId GROUP BY st.id, st.fullName ORDER BY st.id")
+	List<StudentViewTotals> findStudentTotalsBySubjectId(@Param("subjectId") Integer subjectId);
+
+	@Modifying
+	@Query(value = "LOCK TABLE video_view_stats IN EXCLUSIVE MODE", nativeQuery = true)
+	void lockForRebuild();
+
+	@Modifying
+	@Query(value = "DELETE FROM video_view_stats", nativeQuery = true)
+	int deleteAllStats();
+
+	@Modifying
+	@Query(value = "INSERT INTO video_view_stats (video_id, student_id, views, last_viewed_at) "
+			+ "SELECT video_id, student_id, COUNT(*), MAX(viewed_at) FROM video_view "
+			+ "WHERE video_id IS NOT NULL AND student_id IS NOT NULL GROUP BY video_id, student_id", nativeQuery = true)
+	int insertStatsFromViews();
+}
@@ -20,6 +20,9 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+	// Verified token claims (userId, schoolId, role) for handlers that need more than the subject
+	public static final String CLAIMS_ATTRIBUTE = "com.Schoolai.WebModule.security.JwtAuthFilter.claims";
+
 	private final JwtService jwtService;
 
 	public JwtAuthFilter(JwtService jwtService) {
@@ -42,6 +45,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 				UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(subject, null, authorities);
 				auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 				SecurityContextHolder.getContext().setAuthentication(auth);
+				request.setAttribute(CLAIMS_ATTRIBUTE, claims);
 			} catch (Exception ignored) {
 				SecurityContextHolder.clearContext();
 			}
@@ -4,11 +4,17 @@ import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -16,11 +22,41 @@ import io.jsonwebtoken.security.Keys;
 @Service
 public class JwtService {
 
-	@Value("${jwt.secret}")
-	private String secret;
+	// The full token is kept so a forged header/payload reusing a known signature never matches
+	private record Verified(String token, Claims claims, long expiresAtMillis) {
+	}
+
+	private final long expirationSeconds;
+	private final Key signingKey;
+	private final JwtParser parser;
+	private final Cache<String, Verified> verified;
+
+	public JwtService(@Value("${jwt.secret}") String secret,
+			@Value("${jwt.expiration-seconds:36000}") long expirationSeconds,
+			@Value("${jwt.verified-cache-size:10000}") int verifiedCacheSize) {
+		this.expirationSeconds = expirationSeconds;
+		this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+		this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+		this.verified = Caffeine.newBuilder()
+				.maximumSize(verifiedCacheSize)
+				.expireAfter(new Expiry<String, Verified>() {
+					@Override
+					public long expireAfterCreate(String key, Verified value, long currentTime) {
+						return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAtMillis() - System.currentTimeMillis()));
+					}
 
-	@Value("${jwt.expiration-seconds:36000}")
-	private long expirationSeconds;
+					@Override
+					public long expireAfterUpdate(String key, Verified value, long currentTime, long currentDuration) {
+						return expireAfterCreate(key, value, currentTime);
+					}
+
+					@Override
+					public long expireAfterRead(String key, Verified value, long currentTime, long currentDuration) {
+						return currentDuration;
+					}
+				})
+				.build();
+	}
 
 	public String generateToken(String subject, Map<String, Object> claims) {
 		Date now = new Date();
@@ -30,18 +66,28 @@ public class JwtService {
 				.setSubject(subject)
 				.setIssuedAt(now)
 				.setExpiration(exp)
-				.signWith(getSigningKey(), SignatureAlgorithm.HS256)
+				.signWith(signingKey, SignatureAlgorithm.HS256)
 				.compact();
 	}
 
+	/**
+	 * Returns the token's claims, verifying the signature only the first time a token is seen. Entries
+	 * expire with the token itself, so an expired token always goes back through full verification.
+	 */
 	public Claims parseToken(String token) {
-		return Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token).getBody();
+		String signature = token.substring(token.lastIndexOf('.') + 1);
+		Verified hit = verified.getIfPresent(signature);
+		if (hit != null && hit.token().equals(token)) {
+			return hit.claims();
+		}
+		Claims claims = verify(token);
+		if (claims.getExpiration() != null) {
+			verified.put(signature, new Verified(token, claims, claims.getExpiration().getTime()));
+		}
+		return claims;
 	}
 
-	private Key getSigningKey() {
-		byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-		return Keys.hmacShaKeyFor(keyBytes);
+	Claims verify(String token) {
+		return parser.parseClaimsJws(token).getBody();
 	}
 }
-
-
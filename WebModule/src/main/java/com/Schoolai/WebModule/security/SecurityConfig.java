@@ -14,6 +14,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 
 import java.util.Arrays;
@@ -43,10 +44,14 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers("/api/auth/login", "/api/teacher/register", "/api/students/register").permitAll()
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui.html", "/swagger-ui/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasAnyRole("PRINCIPAL", "MANAGER")
                         .requestMatchers("/api/students/**").hasRole("STUDENT")
                         .requestMatchers("/api/teacher/**").hasAnyRole("TEACHER", "PRINCIPAL", "MANAGER")
+                        .requestMatchers("/api/attendance/**").hasAnyRole("TEACHER", "PRINCIPAL", "MANAGER")
                         .requestMatchers("/api/broadcast/**").hasAnyRole("PRINCIPAL", "MANAGER")
                         .requestMatchers("/api/ai/**").hasAnyRole("STUDENT", "TEACHER", "PRINCIPAL", "MANAGER")
                         .anyRequest().authenticated())
@@ -0,0 +1,42 @@
+package com.Schoolai.WebModule.service;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Threads for the database work that follows a chatbot response (history rows, generated videos,
+ * feedback job results). Kept apart from {@link AiGateway}'s HTTP client threads so that a slow or
+ * exhausted connection pool only delays these writes, never other calls' responses. The queue is
+ * not bounded here because the gateway's bulkheads and the feedback worker's slots already cap how
+ * many calls can be waiting on it.
+ */
+@Component
+public class AiCallbackExecutor {
+
+	private final ExecutorService executor;
+
+	public AiCallbackExecutor(@Value("${ai.callback-threads:8}") int threads) {
+		AtomicInteger threadCount = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread t = new Thread(r, "ai-callback-" + threadCount.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	public Executor executor() {
+		return executor;
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdown();
+	}
+}
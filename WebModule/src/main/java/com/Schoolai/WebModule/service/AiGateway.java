@@ -0,0 +1,151 @@
+package com.Schoolai.WebModule.service;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+@Component
+public class AiGateway {
+
+	public enum Endpoint {
+		ASK("/qution"),
+		VIDEOS("/vidoes"),
+		ASSIGNMENT("/assigmnet");
+
+		private final String path;
+
+		Endpoint(String path) {
+			this.path = path;
+		}
+	}
+
+	private final String baseUrl;
+	private final Duration readTimeout;
+	private final ExecutorService executor;
+	private final HttpClient httpClient;
+	private final Map<Endpoint, Semaphore> bulkheads = new EnumMap<>(Endpoint.class);
+
+	public AiGateway(@Value("${ai.base-url:http://chatbot}") String baseUrl,
+			@Value("${ai.connect-timeout:2s}") Duration connectTimeout,
+			@Value("${ai.read-timeout:30s}") Duration readTimeout,
+			@Value("${ai.bulkhead.ask:32}") int askPermits,
+			@Value("${ai.bulkhead.videos:8}") int videoPermits,
+			@Value("${ai.bulkhead.assignment:16}") int assignmentPermits) {
+		this.baseUrl = baseUrl;
+		this.readTimeout = readTimeout;
+		bulkheads.put(Endpoint.ASK, new Semaphore(askPermits));
+		bulkheads.put(Endpoint.VIDEOS, new Semaphore(videoPermits));
+		bulkheads.put(Endpoint.ASSIGNMENT, new Semaphore(assignmentPermits));
+
+		// Only completes callbacks, which must not block: database work after a response goes through
+		// AiCallbackExecutor. Socket I/O stays on the client's selector thread
+		AtomicInteger threadCount = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+			Thread t = new Thread(r, "ai-gateway-" + threadCount.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+		this.httpClient = HttpClient.newBuilder()
+				.connectTimeout(connectTimeout)
+				.executor(executor)
+				.build();
+	}
+
+	public CompletableFuture<String> ask(String question) {
+		return get(Endpoint.ASK, question);
+	}
+
+	public CompletableFuture<String> generateVideo(String topicContext) {
+		return get(Endpoint.VIDEOS, topicContext);
+	}
+
+	/**
+	 * Posts the file as multipart without buffering it: the file part is read from {@code file} while
+	 * the request is being written, and the total length is known up front so no chunking is needed.
+	 */
+	public CompletableFuture<String> reviewAssignment(Supplier<InputStream> file, long fileSize, String filename,
+			String fileType, Map<String, Object> fields) {
+		String boundary = "----ai-gateway-" + UUID.randomUUID();
+		byte[] head = utf8("--" + boundary + "\r\n"
+				+ "Content-Disposition: form-data; name=\"file\"; filename=\"" + (filename != null ? filename : "file") + "\"\r\n"
+				+ "Content-Type: " + fileType + "\r\n\r\n");
+		StringBuilder tail = new StringBuilder("\r\n");
+		fields.forEach((name, value) -> tail.append("--").append(boundary).append("\r\n")
+				.append("Content-Disposition: form-data; name=\"").append(name).append("\"\r\n\r\n")
+				.append(value).append("\r\n"));
+		tail.append("--").append(boundary).append("--\r\n");
+
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + Endpoint.ASSIGNMENT.path))
+				.timeout(readTimeout)
+				.header("Content-Type", "multipart/form-data; boundary=" + boundary)
+				.POST(HttpRequest.BodyPublishers.concat(
+						HttpRequest.BodyPublishers.ofByteArray(head),
+						HttpRequest.BodyPublishers.fromPublisher(HttpRequest.BodyPublishers.ofInputStream(file), fileSize),
+						HttpRequest.BodyPublishers.ofByteArray(utf8(tail.toString()))))
+				.build();
+		return send(Endpoint.ASSIGNMENT, request);
+	}
+
+	public int availablePermits(Endpoint endpoint) {
+		return bulkheads.get(endpoint).availablePermits();
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	private CompletableFuture<String> get(Endpoint endpoint, String query) {
+		String encoded = URLEncoder.encode(query, StandardCharsets.UTF_8);
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + endpoint.path + "?" + encoded))
+				.timeout(readTimeout)
+				.GET()
+				.build();
+		return send(endpoint, request);
+	}
+
+	private CompletableFuture<String> send(Endpoint endpoint, HttpRequest request) {
+		Semaphore bulkhead = bulkheads.get(endpoint);
+		if (!bulkhead.tryAcquire()) {
+			return CompletableFuture.failedFuture(new RejectedExecutionException("AI endpoint saturated: " + endpoint));
+		}
+		CompletableFuture<HttpResponse<String>> call;
+		try {
+			call = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+		} catch (RuntimeException e) {
+			bulkhead.release();
+			return CompletableFuture.failedFuture(e);
+		}
+		return call.whenComplete((resp, error) -> bulkhead.release())
+				.thenApply(resp -> {
+					if (resp.statusCode() / 100 != 2) {
+						throw new IllegalStateException("AI endpoint " + endpoint + " returned " + resp.statusCode());
+					}
+					return resp.body() != null ? resp.body() : "";
+				});
+	}
+
+	private static byte[] utf8(String s) {
+		return s.getBytes(StandardCharsets.UTF_8);
+	}
+}
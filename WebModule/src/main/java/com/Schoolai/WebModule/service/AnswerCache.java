@@ -0,0 +1,184 @@
+package com.Schoolai.WebModule.service;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.Schoolai.WebModule.repository.ChatHistoryRepository;
+import com.Schoolai.WebModule.repository.ChatHistoryRepository.AnswerSeed;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Chatbot answers keyed by normalized question text within a subject/class scope. A lookup tries
+ * the normalized key first and then, if enabled, the closest near-duplicate in the same scope.
+ */
+@Slf4j
+@Component
+public class AnswerCache {
+
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+	private static final Pattern TRAILING_PUNCTUATION = Pattern.compile("[\\p{Punct}\\s]+$");
+
+	private record CachedAnswer(String scope, String question, String answer) {
+	}
+
+	private final Cache<String, CachedAnswer> answers;
+	// scope -> normalized question -> signature; trimmed by the eviction listener
+	private final Map<String, Map<String, long[]>> signatures = new ConcurrentHashMap<>();
+	private final NearDuplicateMatcher matcher;
+	private final ChatHistoryRepository chatHistoryRepository;
+	private final boolean nearDuplicates;
+	private final double similarityThreshold;
+	private final Duration ttl;
+	private final int maxSize;
+	private final Counter exactHits;
+	private final Counter nearHits;
+	private final Counter misses;
+
+	@Autowired
+	public AnswerCache(NearDuplicateMatcher matcher, ChatHistoryRepository chatHistoryRepository, MeterRegistry registry,
+			@Value("${ai.answer-cache.ttl:6h}") Duration ttl,
+			@Value("${ai.answer-cache.max-size:10000}") int maxSize,
+			@Value("${ai.answer-cache.near-duplicates:true}") boolean nearDuplicates,
+			@Value("${ai.answer-cache.similarity-threshold:0.8}") double similarityThreshold) {
+		this(matcher, chatHistoryRepository, registry, ttl, maxSize, nearDuplicates, similarityThreshold,
+				Ticker.systemTicker(), ForkJoinPool.commonPool());
+	}
+
+	// Tests pass a manual ticker and a same-thread executor so expiry and eviction are deterministic
+	AnswerCache(NearDuplicateMatcher matcher, ChatHistoryRepository chatHistoryRepository, MeterRegistry registry,
+			Duration ttl, int maxSize, boolean nearDuplicates, double similarityThreshold, Ticker ticker, Executor executor) {
+		this.matcher = matcher;
+		this.chatHistoryRepository = chatHistoryRepository;
+		this.nearDuplicates = nearDuplicates;
+		this.similarityThreshold = similarityThreshold;
+		this.ttl = ttl;
+		this.maxSize = maxSize;
+		this.answers = Caffeine.newBuilder()
+				.expireAfterWrite(ttl)
+				.maximumSize(maxSize)
+				.ticker(ticker)
+				.executor(executor)
+				.recordStats()
+				.<String, CachedAnswer>evictionListener((key, value, cause) -> forgetSignature(value))
+				.build();
+		CaffeineCacheMetrics.monitor(registry, answers, "ai.answers");
+		this.exactHits = registry.counter("ai.answers.lookups", "result", "exact");
+		this.nearHits = registry.counter("ai.answers.lookups", "result", "near");
+		this.misses = registry.counter("ai.answers.lookups", "result", "miss");
+	}
+
+	public static String scope(Integer subjectId, String className) {
+		return subjectId + "|" + (className != null ? className : "");
+	}
+
+	public static String normalize(String question) {
+		if (question == null) {
+			return "";
+		}
+		String s = Normalizer.normalize(question, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+		s = WHITESPACE.matcher(s).replaceAll(" ").trim();
+		return TRAILING_PUNCTUATION.matcher(s).replaceAll("");
+	}
+
+	public static String key(Integer subjectId, String className, String question) {
+		return key(scope(subjectId, className), normalize(question));
+	}
+
+	public Optional<String> lookup(String scope, String question) {
+		String normalized = normalize(question);
+		CachedAnswer hit = answers.getIfPresent(key(scope, normalized));
+		if (hit != null) {
+			exactHits.increment();
+			return Optional.of(hit.answer());
+		}
+		Map<String, long[]> candidates = nearDuplicates ? signatures.get(scope) : null;
+		if (candidates != null && !candidates.isEmpty()) {
+			long[] signature = matcher.signature(normalized);
+			String best = null;
+			double bestScore = similarityThreshold;
+			for (Map.Entry<String, long[]> candidate : candidates.entrySet()) {
+				double score = matcher.similarity(signature, candidate.getValue());
+				if (score >= bestScore) {
+					best = candidate.getKey();
+					bestScore = score;
+				}
+			}
+			hit = best != null ? answers.getIfPresent(key(scope, best)) : null;
+			if (hit != null) {
+				nearHits.increment();
+				return Optional.of(hit.answer());
+			}
+		}
+		misses.increment();
+		return Optional.empty();
+	}
+
+	public void put(String scope, String question, String answer) {
+		String normalized = normalize(question);
+		if (normalized.isEmpty()) {
+			return;
+		}
+		answers.put(key(scope, normalized), new CachedAnswer(scope, normalized, answer));
+		if (nearDuplicates) {
+			signatures.computeIfAbsent(scope, s -> new ConcurrentHashMap<>()).put(normalized, matcher.signature(normalized));
+		}
+	}
+
+	public long size() {
+		return answers.estimatedSize();
+	}
+
+	// Warm the cache with answers still inside the TTL so a restart doesn't send every question upstream
+	@EventListener(ApplicationReadyEvent.class)
+	public void seedFromHistory() {
+		try {
+			LocalDateTime since = LocalDateTime.now().minus(ttl);
+			List<AnswerSeed> seeds = chatHistoryRepository.findAnswerSeeds(since, PageRequest.ofSize(maxSize));
+			// Newest first from the query; replay oldest first so the latest answer wins
+			for (int i = seeds.size() - 1; i >= 0; i--) {
+				AnswerSeed seed = seeds.get(i);
+				put(scope(seed.getSubjectId(), seed.getClassName()), seed.getMessage(), seed.getResponse());
+			}
+			log.info("Seeded answer cache with {} entries", answers.estimatedSize());
+		} catch (RuntimeException e) {
+			log.warn("Could not seed answer cache from chat history", e);
+		}
+	}
+
+	private void forgetSignature(CachedAnswer evicted) {
+		if (evicted == null) {
+			return;
+		}
+		signatures.computeIfPresent(evicted.scope(), (scope, byQuestion) -> {
+			byQuestion.remove(evicted.question());
+			return byQuestion.isEmpty() ? null : byQuestion;
+		});
+	}
+
+	private static String key(String scope, String normalizedQuestion) {
+		return scope + '\u0000' + normalizedQuestion;
+	}
+}
@@ -0,0 +1,216 @@
+package com.Schoolai.WebModule.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.Schoolai.WebModule.dto.AttendanceHistory;
+import com.Schoolai.WebModule.entity.Attendance;
+import com.Schoolai.WebModule.entity.AttendanceYear;
+import com.Schoolai.WebModule.repository.AttendanceYearRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Year-long attendance per student from the bitmaps in attendance_year: one small row per student
+ * and year instead of a row per day, so a class's whole year is read in one short query and counts
+ * and streaks are worked out on bits. Rolls set the day's bits in the same transaction.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceHistoryService {
+
+	private static final String CREATE = "INSERT INTO attendance_year (student_id, academic_year, recorded, attended, late) "
+			+ "VALUES (?, ?, ?, ?, ?) ON CONFLICT ON CONSTRAINT attendance_year_pkey DO NOTHING";
+
+	// set_bit numbers bits from the low end of each byte, the same order as BitSet.valueOf
+	private static final String MARK = "UPDATE attendance_year SET recorded = set_bit(recorded, ?, 1), "
+			+ "attended = set_bit(attended, ?, ?), late = set_bit(late, ?, ?) WHERE student_id = ? AND academic_year = ?";
+
+	private static final int REBUILD_BATCH = 500;
+
+	private final AttendanceYearRepository attendanceYearRepository;
+	private final JdbcTemplate jdbcTemplate;
+
+	/** Sets one day's bits for each student from the status just recorded for them. */
+	@Transactional
+	public void record(LocalDate date, Map<Integer, String> statuses) {
+		if (statuses.isEmpty()) {
+			return;
+		}
+		int academicYear = AttendanceYear.academicYearOf(date);
+		int day = AttendanceYear.dayOf(date);
+		byte[] empty = new byte[AttendanceYear.BITMAP_BYTES];
+		// Rolls of the same class on other days update the same rows; one order keeps them from deadlocking
+		Map<Integer, String> ordered = new TreeMap<>(statuses);
+		List<Object[]> rows = new ArrayList<>(ordered.size());
+		List<Object[]> marks = new ArrayList<>(ordered.size());
+		for (Map.Entry<Integer, String> entry : ordered.entrySet()) {
+			int attended = Attendance.ABSENT.equals(entry.getValue()) ? 0 : 1;
+			int late = Attendance.LATE.equals(entry.getValue()) ? 1 : 0;
+			rows.add(new Object[] { entry.getKey(), academicYear, empty, empty, empty });
+			marks.add(new Object[] { day, day, attended, day, late, entry.getKey(), academicYear });
+		}
+		jdbcTemplate.batchUpdate(CREATE, rows);
+		jdbcTemplate.batchUpdate(MARK, marks);
+	}
+
+	public AttendanceHistory history(Integer studentId, Integer academicYear) {
+		int year = academicYear != null ? academicYear : AttendanceYear.academicYearOf(LocalDate.now());
+		return summarize(attendanceYearRepository.findById(new AttendanceYear.Key(studentId, year))
+				.orElseGet(() -> empty(studentId, year)));
+	}
+
+	/** Students of the class who were absent on at least {@code days} recorded days in a row. */
+	public List<AttendanceHistory> absences(Integer schoolId, String className, Integer academicYear, int days) {
+		int year = academicYear != null ? academicYear : AttendanceYear.academicYearOf(LocalDate.now());
+		List<AttendanceHistory> absent = new ArrayList<>();
+		for (AttendanceYear attendanceYear : attendanceYearRepository.findForClass(schoolId, className, year)) {
+			AttendanceHistory history = summarize(attendanceYear);
+			if (history.getLongestAbsence() >= days) {
+				absent.add(history);
+			}
+		}
+		return absent;
+	}
+
+	@Transactional
+	public void rebuildYears() {
+		attendanceYearRepository.lockForRebuild();
+		attendanceYearRepository.deleteAllYears();
+		Rebuild rebuild = new Rebuild();
+		// Streamed in key order, so only the bitmaps of one student and year are held at a time
+		jdbcTemplate.query(connection -> {
+			PreparedStatement statement = connection.prepareStatement(
+					"SELECT student_id, date, status FROM attendance WHERE student_id IS NOT NULL AND date IS NOT NULL "
+							+ "ORDER BY student_id, date");
+			statement.setFetchSize(REBUILD_BATCH * 10);
+			return statement;
+		}, rebuild);
+		rebuild.finish();
+		log.info("Rebuilt attendance bitmaps for {} student years", rebuild.written);
+	}
+
+	private class Rebuild implements RowCallbackHandler {
+
+		private final List<Object[]> batch = new ArrayList<>(REBUILD_BATCH);
+		private int written;
+		private Integer studentId;
+		private int academicYear;
+		private BitSet recorded, attended, late;
+
+		@Override
+		public void processRow(ResultSet rs) throws SQLException {
+			int rowStudentId = rs.getInt(1);
+			LocalDate date = rs.getObject(2, LocalDate.class);
+			String status = rs.getString(3);
+			int rowYear = AttendanceYear.academicYearOf(date);
+			if (studentId == null || studentId != rowStudentId || academicYear != rowYear) {
+				finishYear();
+				if (batch.size() >= REBUILD_BATCH) {
+					flush();
+				}
+				studentId = rowStudentId;
+				academicYear = rowYear;
+				recorded = new BitSet();
+				attended = new BitSet();
+				late = new BitSet();
+			}
+			if (Attendance.PRESENT.equals(status) || Attendance.ABSENT.equals(status) || Attendance.LATE.equals(status)) {
+				int day = AttendanceYear.dayOf(date);
+				recorded.set(day);
+				attended.set(day, !Attendance.ABSENT.equals(status));
+				late.set(day, Attendance.LATE.equals(status));
+			}
+		}
+
+		void finish() {
+			finishYear();
+			flush();
+		}
+
+		private void finishYear() {
+			if (studentId != null) {
+				batch.add(new Object[] { studentId, academicYear, bytes(recorded), bytes(attended), bytes(late) });
+			}
+		}
+
+		private void flush() {
+			if (!batch.isEmpty()) {
+				jdbcTemplate.batchUpdate(CREATE, batch);
+				written += batch.size();
+				batch.clear();
+			}
+		}
+	}
+
+	private static byte[] bytes(BitSet bits) {
+		byte[] bytes = new byte[AttendanceYear.BITMAP_BYTES];
+		byte[] set = bits.toByteArray();
+		System.arraycopy(set, 0, bytes, 0, set.length);
+		return bytes;
+	}
+
+	private static AttendanceYear empty(Integer studentId, int academicYear) {
+		byte[] none = new byte[AttendanceYear.BITMAP_BYTES];
+		return new AttendanceYear(studentId, academicYear, none, none, none);
+	}
+
+	private static AttendanceHistory summarize(AttendanceYear year) {
+		BitSet recorded = year.recordedDays();
+		BitSet attended = year.attendedDays();
+		attended.and(recorded);
+		BitSet late = year.lateDays();
+		late.and(attended);
+		int recordedDays = recorded.cardinality();
+		int attendedDays = attended.cardinality();
+
+		// Only recorded days are visited, so days without a roll don't break a run
+		int streak = 0, longestStreak = 0, absence = 0, longestAbsence = 0, last = -1;
+		for (int day = recorded.nextSetBit(0); day >= 0; day = recorded.nextSetBit(day + 1)) {
+			if (attended.get(day)) {
+				absence = 0;
+				longestStreak = Math.max(longestStreak, ++streak);
+			} else {
+				streak = 0;
+				longestAbsence = Math.max(longestAbsence, ++absence);
+			}
+			last = day;
+		}
+
+		LocalDate first = AttendanceYear.firstDay(year.getAcademicYear());
+		return AttendanceHistory.builder()
+				.studentId(year.getStudentId())
+				.academicYear(year.getAcademicYear())
+				.from(first)
+				.to(first.plusYears(1).minusDays(1))
+				.recordedDays(recordedDays)
+				.attendedDays(attendedDays)
+				.lateDays(late.cardinality())
+				.absentDays(recordedDays - attendedDays)
+				.attendanceRate(recordedDays > 0
+						? BigDecimal.valueOf(attendedDays * 100L).divide(BigDecimal.valueOf(recordedDays), 2, RoundingMode.HALF_UP)
+						: null)
+				.lastRecorded(last >= 0 ? first.plusDays(last) : null)
+				.currentStreak(streak)
+				.longestStreak(longestStreak)
+				.currentAbsence(absence)
+				.longestAbsence(longestAbsence)
+				.build();
+	}
+}
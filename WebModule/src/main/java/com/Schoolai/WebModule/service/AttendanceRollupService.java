@@ -0,0 +1,228 @@
+package com.Schoolai.WebModule.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.Schoolai.WebModule.dto.AttendancePeriodStats;
+import com.Schoolai.WebModule.dto.AttendanceReport;
+import com.Schoolai.WebModule.entity.Attendance;
+import com.Schoolai.WebModule.entity.AttendanceRollup;
+import com.Schoolai.WebModule.repository.AttendanceRollupRepository;
+import com.Schoolai.WebModule.repository.AttendanceRollupRepository.Bucket;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Daily and monthly attendance counts per student, class and school, read from attendance_rollup
+ * instead of the attendance log. Rolls apply their changes as deltas in the same transaction.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceRollupService {
+
+	// The primary key is unnamed in the mapping, so this is Postgres's default name for it
+	private static final String ADD = "INSERT INTO attendance_rollup "
+			+ "(school_id, class_name, student_id, period, period_start, present, absent, late) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT ON CONSTRAINT attendance_rollup_pkey DO UPDATE SET "
+			+ "present = attendance_rollup.present + EXCLUDED.present, "
+			+ "absent = attendance_rollup.absent + EXCLUDED.absent, "
+			+ "late = attendance_rollup.late + EXCLUDED.late";
+
+	@FunctionalInterface
+	private interface BucketQuery {
+		List<Bucket> find(String period, LocalDate from, LocalDate to);
+	}
+
+	private record Delta(int studentId, String period, LocalDate periodStart, int[] counts) {
+	}
+
+	private final AttendanceRollupRepository attendanceRollupRepository;
+	private final JdbcTemplate jdbcTemplate;
+
+	/**
+	 * Moves one day of a class's counts from the previous statuses to the current ones. Students
+	 * missing from {@code previous} had nothing recorded for the day yet.
+	 */
+	@Transactional
+	public void apply(Integer schoolId, String className, LocalDate date,
+			Map<Integer, String> previous, Map<Integer, String> current) {
+		LocalDate month = date.withDayOfMonth(1);
+		int[] classDelta = new int[3];
+		List<Delta> deltas = new ArrayList<>();
+		for (Map.Entry<Integer, String> entry : current.entrySet()) {
+			String before = previous.get(entry.getKey());
+			if (Objects.equals(before, entry.getValue())) {
+				continue;
+			}
+			int[] counts = new int[3];
+			count(counts, before, -1);
+			count(counts, entry.getValue(), 1);
+			for (int i = 0; i < counts.length; i++) {
+				classDelta[i] += counts[i];
+			}
+			deltas.add(new Delta(entry.getKey(), AttendanceRollup.DAY, date, counts));
+			deltas.add(new Delta(entry.getKey(), AttendanceRollup.MONTH, month, counts));
+		}
+		if (deltas.isEmpty()) {
+			return;
+		}
+		deltas.add(new Delta(AttendanceRollup.CLASS_TOTAL, AttendanceRollup.DAY, date, classDelta));
+		deltas.add(new Delta(AttendanceRollup.CLASS_TOTAL, AttendanceRollup.MONTH, month, classDelta));
+		// Rolls for other days of the month share the monthly rows; taking them in one order avoids deadlocks
+		deltas.sort(Comparator.comparingInt(Delta::studentId).thenComparing(Delta::period));
+
+		List<Object[]> rows = new ArrayList<>(deltas.size());
+		for (Delta delta : deltas) {
+			rows.add(new Object[] { schoolId, className, delta.studentId(), delta.period(), delta.periodStart(),
+					delta.counts()[0], delta.counts()[1], delta.counts()[2] });
+		}
+		jdbcTemplate.batchUpdate(ADD, rows);
+	}
+
+	public AttendanceReport studentReport(Integer studentId, LocalDate from, LocalDate to, String period) {
+		AttendanceReport.AttendanceReportBuilder report = AttendanceReport.builder().studentId(studentId);
+		return report(report, from, to, period,
+				(p, f, t) -> attendanceRollupRepository.findStudentBuckets(studentId, p, f, t));
+	}
+
+	public AttendanceReport classReport(Integer schoolId, String className, LocalDate from, LocalDate to, String period) {
+		AttendanceReport.AttendanceReportBuilder report = AttendanceReport.builder().schoolId(schoolId).className(className);
+		return report(report, from, to, period,
+				(p, f, t) -> attendanceRollupRepository.findClassBuckets(schoolId, className, p, f, t));
+	}
+
+	public AttendanceReport schoolReport(Integer schoolId, LocalDate from, LocalDate to, String period) {
+		AttendanceReport.AttendanceReportBuilder report = AttendanceReport.builder().schoolId(schoolId);
+		return report(report, from, to, period,
+				(p, f, t) -> attendanceRollupRepository.findSchoolBuckets(schoolId, p, f, t));
+	}
+
+	@Transactional
+	public void rebuildRollups() {
+		attendanceRollupRepository.lockForRebuild();
+		attendanceRollupRepository.deleteAllRollups();
+		int days = attendanceRollupRepository.insertDaysFromAttendance();
+		int months = attendanceRollupRepository.insertMonthsFromDays();
+		log.info("Rebuilt attendance rollups: {} daily and {} monthly rows", days, months);
+	}
+
+	private AttendanceReport report(AttendanceReport.AttendanceReportBuilder report, LocalDate from, LocalDate to,
+			String period, BucketQuery query) {
+		String granularity = period != null ? period.trim().toUpperCase(Locale.ROOT) : AttendanceRollup.DAY;
+		if (!AttendanceRollup.DAY.equals(granularity) && !AttendanceRollup.MONTH.equals(granularity)) {
+			throw new IllegalArgumentException("Period must be DAY or MONTH");
+		}
+		LocalDate end = to != null ? to : LocalDate.now();
+		LocalDate start = from != null ? from
+				: AttendanceRollup.DAY.equals(granularity) ? end.withDayOfMonth(1) : end.withDayOfYear(1);
+		if (start.isAfter(end)) {
+			throw new IllegalArgumentException("From date must not be after to date");
+		}
+
+		Map<LocalDate, long[]> buckets = AttendanceRollup.DAY.equals(granularity)
+				? collect(query.find(AttendanceRollup.DAY, start, end), false)
+				: months(query, start, end);
+
+		long[] total = new long[3];
+		List<AttendancePeriodStats> periods = new ArrayList<>(buckets.size());
+		for (Map.Entry<LocalDate, long[]> bucket : buckets.entrySet()) {
+			long[] counts = bucket.getValue();
+			for (int i = 0; i < counts.length; i++) {
+				total[i] += counts[i];
+			}
+			periods.add(AttendancePeriodStats.builder()
+					.periodStart(bucket.getKey())
+					.present(counts[0])
+					.absent(counts[1])
+					.late(counts[2])
+					.attendanceRate(rate(counts))
+					.build());
+		}
+		return report
+				.from(start)
+				.to(end)
+				.period(granularity)
+				.present(total[0])
+				.absent(total[1])
+				.late(total[2])
+				.attendanceRate(rate(total))
+				.periods(periods)
+				.build();
+	}
+
+	// Whole months come from the monthly rows; a partial month at either end is added up from its days
+	private static Map<LocalDate, long[]> months(BucketQuery query, LocalDate start, LocalDate end) {
+		LocalDate firstWhole = start.getDayOfMonth() == 1 ? start : start.withDayOfMonth(1).plusMonths(1);
+		LocalDate lastWhole = end.equals(YearMonth.from(end).atEndOfMonth())
+				? end.withDayOfMonth(1)
+				: end.withDayOfMonth(1).minusMonths(1);
+		if (firstWhole.isAfter(lastWhole)) {
+			return collect(query.find(AttendanceRollup.DAY, start, end), true);
+		}
+		Map<LocalDate, long[]> months = collect(query.find(AttendanceRollup.MONTH, firstWhole, lastWhole), false);
+		if (start.isBefore(firstWhole)) {
+			merge(months, collect(query.find(AttendanceRollup.DAY, start, firstWhole.minusDays(1)), true));
+		}
+		LocalDate afterWhole = lastWhole.plusMonths(1);
+		if (!afterWhole.isAfter(end)) {
+			merge(months, collect(query.find(AttendanceRollup.DAY, afterWhole, end), true));
+		}
+		return months;
+	}
+
+	private static Map<LocalDate, long[]> collect(List<Bucket> rows, boolean byMonth) {
+		Map<LocalDate, long[]> buckets = new TreeMap<>();
+		for (Bucket row : rows) {
+			LocalDate key = byMonth ? row.getPeriodStart().withDayOfMonth(1) : row.getPeriodStart();
+			long[] counts = buckets.computeIfAbsent(key, k -> new long[3]);
+			counts[0] += row.getPresent();
+			counts[1] += row.getAbsent();
+			counts[2] += row.getLate();
+		}
+		return buckets;
+	}
+
+	private static void merge(Map<LocalDate, long[]> into, Map<LocalDate, long[]> from) {
+		from.forEach((key, counts) -> into.merge(key, counts, (a, b) -> {
+			for (int i = 0; i < a.length; i++) {
+				a[i] += b[i];
+			}
+			return a;
+		}));
+	}
+
+	private static void count(int[] counts, String status, int sign) {
+		if (Attendance.PRESENT.equals(status)) {
+			counts[0] += sign;
+		} else if (Attendance.ABSENT.equals(status)) {
+			counts[1] += sign;
+		} else if (Attendance.LATE.equals(status)) {
+			counts[2] += sign;
+		}
+	}
+
+	// Late still counts as attended
+	private static BigDecimal rate(long[] counts) {
+		long recorded = counts[0] + counts[1] + counts[2];
+		if (recorded <= 0) {
+			return null;
+		}
+		return BigDecimal.valueOf((counts[0] + counts[2]) * 100L)
+				.divide(BigDecimal.valueOf(recorded), 2, RoundingMode.HALF_UP);
+	}
+}
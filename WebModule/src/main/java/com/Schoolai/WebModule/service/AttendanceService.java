@@ -0,0 +1,129 @@
+package com.Schoolai.WebModule.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.Schoolai.WebModule.config.PooledIds;
+import com.Schoolai.WebModule.dto.AttendanceEntry;
+import com.Schoolai.WebModule.dto.AttendanceRollRequest;
+import com.Schoolai.WebModule.dto.AttendanceRollResponse;
+import com.Schoolai.WebModule.entity.Attendance;
+import com.Schoolai.WebModule.repository.AttendanceRepository;
+import com.Schoolai.WebModule.repository.AttendanceRepository.RecordedStatus;
+import com.Schoolai.WebModule.repository.StudentRepository;
+import com.Schoolai.WebModule.repository.StudentRepository.RosterEntry;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class AttendanceService {
+
+	private static final Set<String> STATUSES = Set.of(Attendance.PRESENT, Attendance.ABSENT, Attendance.LATE);
+
+	// No parenthesised conflict target, so the driver can still rewrite the batch into one multi-row insert
+	private static final String UPSERT = "INSERT INTO attendance (attendance_id, student_id, date, status, email, remarks) "
+			+ "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT ON CONSTRAINT " + Attendance.STUDENT_DATE_CONSTRAINT + " "
+			+ "DO UPDATE SET status = EXCLUDED.status, email = EXCLUDED.email, remarks = EXCLUDED.remarks";
+
+	private final StudentRepository studentRepository;
+	private final AttendanceRepository attendanceRepository;
+	private final AttendanceRollupService attendanceRollupService;
+	private final AttendanceHistoryService attendanceHistoryService;
+	private final JdbcTemplate jdbcTemplate;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	/**
+	 * Records a class's roll for one day: one query checks the students against the class and one
+	 * batched upsert writes them, however many there are. Entries for students outside the class or
+	 * with an unknown status are skipped and reported back. The attendance rollups are moved by the
+	 * difference from whatever was recorded for the day before, and the day's bits are set in each
+	 * student's year bitmap.
+	 */
+	@Transactional
+	public AttendanceRollResponse recordRoll(AttendanceRollRequest request) {
+		if (request.getSchoolId() == null || request.getClassName() == null || request.getDate() == null) {
+			throw new IllegalArgumentException("School ID, class name and date are required");
+		}
+		// The last entry for a student wins; a statement may not upsert the same row twice
+		Map<Integer, AttendanceEntry> entries = new LinkedHashMap<>();
+		Set<Integer> rejected = new LinkedHashSet<>();
+		for (AttendanceEntry entry : request.getEntries() != null ? request.getEntries() : List.<AttendanceEntry>of()) {
+			if (entry.getStudentId() == null) {
+				continue;
+			}
+			String status = normalizeStatus(entry.getStatus());
+			if (status == null) {
+				entries.remove(entry.getStudentId());
+				rejected.add(entry.getStudentId());
+				continue;
+			}
+			rejected.remove(entry.getStudentId());
+			entries.put(entry.getStudentId(), new AttendanceEntry(entry.getStudentId(), status, entry.getRemarks()));
+		}
+
+		List<Object[]> rows = new ArrayList<>(entries.size());
+		if (!entries.isEmpty()) {
+			Map<Integer, String> emails = new LinkedHashMap<>();
+			for (RosterEntry student : studentRepository.findRoster(request.getSchoolId(), request.getClassName(), entries.keySet())) {
+				emails.put(student.getId(), student.getEmail());
+			}
+			SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+			IdentifierGenerator ids = PooledIds.generator(session, Attendance.class);
+			Map<Integer, String> current = new LinkedHashMap<>();
+			for (AttendanceEntry entry : entries.values()) {
+				if (!emails.containsKey(entry.getStudentId())) {
+					rejected.add(entry.getStudentId());
+					continue;
+				}
+				rows.add(new Object[] { ids.generate(session, null), entry.getStudentId(), request.getDate(),
+						entry.getStatus(), emails.get(entry.getStudentId()), entry.getRemarks() });
+				current.put(entry.getStudentId(), entry.getStatus());
+			}
+			if (!rows.isEmpty()) {
+				// Two rolls of the same class and day would otherwise both see the same previous statuses
+				jdbcTemplate.queryForObject("SELECT 1 FROM pg_advisory_xact_lock(hashtext(?))", Integer.class,
+						"attendance:" + request.getSchoolId() + ":" + request.getClassName() + ":" + request.getDate());
+				Map<Integer, String> previous = new HashMap<>();
+				for (RecordedStatus recorded : attendanceRepository.findStatuses(request.getDate(), current.keySet())) {
+					previous.put(recorded.getStudentId(), recorded.getStatus());
+				}
+				jdbcTemplate.batchUpdate(UPSERT, rows);
+				attendanceRollupService.apply(request.getSchoolId(), request.getClassName(), request.getDate(), previous, current);
+				attendanceHistoryService.record(request.getDate(), current);
+			}
+		}
+
+		return AttendanceRollResponse.builder()
+				.schoolId(request.getSchoolId())
+				.className(request.getClassName())
+				.date(request.getDate())
+				.recorded(rows.size())
+				.rejected(List.copyOf(rejected))
+				.build();
+	}
+
+	private static String normalizeStatus(String status) {
+		if (status == null) {
+			return null;
+		}
+		String normalized = status.trim().toLowerCase(Locale.ROOT);
+		return STATUSES.stream().filter(s -> s.toLowerCase(Locale.ROOT).equals(normalized)).findFirst().orElse(null);
+	}
+}
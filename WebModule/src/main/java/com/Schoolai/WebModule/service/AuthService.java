@@ -8,13 +8,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.Schoolai.WebModule.dto.LoginRequest;
 import com.Schoolai.WebModule.dto.LoginResponse;
-import com.Schoolai.WebModule.entity.School;
 import com.Schoolai.WebModule.entity.Student;
 import com.Schoolai.WebModule.entity.Teacher;
-import com.Schoolai.WebModule.repository.SchoolRepository;
 import com.Schoolai.WebModule.repository.StudentRepository;
 import com.Schoolai.WebModule.repository.TeacherRepository;
 import com.Schoolai.WebModule.security.JwtService;
+import com.Schoolai.WebModule.service.ReferenceDataCache.SchoolRef;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -24,7 +23,7 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class AuthService {
 
-    private final SchoolRepository schoolRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final StudentRepository studentRepository;
     private final TeacherRepository teacherRepository;
     private final JwtService jwtService;
@@ -33,14 +32,14 @@ public class AuthService {
 	@Transactional(readOnly = true)
 	public LoginResponse login(LoginRequest request) {
 		String role = normalize(request.getRole());
-		Optional<School> schoolOpt = schoolRepository.findBySchoolName(request.getSchoolName());
+		Optional<SchoolRef> schoolOpt = referenceDataCache.schoolByName(request.getSchoolName());
 		if (schoolOpt.isEmpty()) {
 			return LoginResponse.builder()
 					.success(false)
 					.message("Invalid school name")
 					.build();
 		}
-		School school = schoolOpt.get();
+		SchoolRef school = schoolOpt.get();
 
 		switch (role) {
 			case "STUDENT":
@@ -56,7 +55,7 @@ public class AuthService {
 		}
 	}
 
-	private LoginResponse loginStudent(School school, LoginRequest request) {
+	private LoginResponse loginStudent(SchoolRef school, LoginRequest request) {
 		return studentRepository.findByEmail(request.getUsername())
 				.filter(student -> {
 					// Verify password using PasswordEncoder
@@ -64,7 +63,7 @@ public class AuthService {
 						return false;
 					}
 					// Verify school match
-					if (student.getSchool() == null || !school.getId().equals(student.getSchool().getId())) {
+					if (student.getSchool() == null || !school.id().equals(student.getSchool().getId())) {
 						return false;
 					}
 					return true;
@@ -73,21 +72,21 @@ public class AuthService {
 					String token = jwtService.generateToken(student.getEmail(), java.util.Map.of(
 							"role", "STUDENT",
 							"userId", student.getId(),
-							"schoolId", school.getId()
+							"schoolId", school.id()
 					));
 					return LoginResponse.builder()
 							.success(true)
 							.message("Login successful")
 							.role("STUDENT")
 							.userId(student.getId())
-							.schoolId(school.getId())
+							.schoolId(school.id())
 							.token(token)
 							.build();
 				})
 				.orElse(LoginResponse.builder().success(false).message("Invalid credentials").build());
 	}
 
-	private LoginResponse loginTeacher(School school, LoginRequest request, String mappedRole) {
+	private LoginResponse loginTeacher(SchoolRef school, LoginRequest request, String mappedRole) {
 		return teacherRepository.findByEmail(request.getUsername())
 				.filter(teacher -> {
 					// Verify password using PasswordEncoder
@@ -95,7 +94,7 @@ public class AuthService {
 						return false;
 					}
 					// Verify school match
-					if (teacher.getSchool() == null || !school.getId().equals(teacher.getSchool().getId())) {
+					if (teacher.getSchool() == null || !school.id().equals(teacher.getSchool().getId())) {
 						return false;
 					}
 					return true;
@@ -104,14 +103,14 @@ public class AuthService {
 					String token = jwtService.generateToken(teacher.getEmail(), java.util.Map.of(
 							"role", mappedRole,
 							"userId", teacher.getId(),
-							"schoolId", school.getId()
+							"schoolId", school.id()
 					));
 					return LoginResponse.builder()
 							.success(true)
 							.message("Login successful")
 							.role(mappedRole)
 							.userId(teacher.getId())
-							.schoolId(school.getId())
+							.schoolId(school.id())
 							.token(token)
 							.build();
 				})
@@ -0,0 +1,21 @@
+package com.Schoolai.WebModule.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Content-addressed file storage: blobs are named by the hex SHA-256 of their bytes, so storing the
+ * same upload twice keeps a single copy.
+ */
+public interface BlobStore {
+
+	record StoredBlob(String sha256, long size, boolean created) {
+	}
+
+	/** Streams {@code content} into the store and returns its hash; does not close the stream. */
+	StoredBlob put(InputStream content) throws IOException;
+
+	InputStream open(String sha256) throws IOException;
+
+	boolean exists(String sha256);
+}
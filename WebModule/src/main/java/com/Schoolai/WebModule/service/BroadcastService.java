@@ -1,55 +1,94 @@
 package com.Schoolai.WebModule.service;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.Schoolai.WebModule.dto.BroadcastRequest;
-import com.Schoolai.WebModule.entity.Notification;
-import com.Schoolai.WebModule.repository.NotificationRepository;
+import com.Schoolai.WebModule.dto.BroadcastResponse;
+import com.Schoolai.WebModule.dto.NotificationEvent;
+import com.Schoolai.WebModule.entity.Broadcast;
+import com.Schoolai.WebModule.repository.BroadcastRepository;
 import com.Schoolai.WebModule.repository.StudentRepository;
 import com.Schoolai.WebModule.repository.TeacherRepository;
 
 import lombok.RequiredArgsConstructor;
 
+/**
+ * Records a broadcast and returns straight away; {@link BroadcastWorker} writes the per-user
+ * notifications in the background. Users with an open notification stream get the message pushed
+ * as soon as the broadcast is committed, without waiting for their row.
+ */
 @Service
 @RequiredArgsConstructor
 public class BroadcastService {
 
 	private final StudentRepository studentRepository;
 	private final TeacherRepository teacherRepository;
-	private final NotificationRepository notificationRepository;
-
-	@Transactional
-	public int broadcast(BroadcastRequest request) {
-		List<Notification> notifications = new ArrayList<>();
-		if (request.isToStudents()) {
-			studentRepository.findBySchoolId(request.getSchoolId()).forEach(s -> {
-				Notification n = Notification.builder()
-						.userId(s.getId())
-						.message(request.getMessage())
-						.type(request.getType())
-						.status("SENT")
-						.build();
-				notifications.add(n);
-			});
+	private final BroadcastRepository broadcastRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final NotificationHub notificationHub;
+
+	public BroadcastResponse broadcast(BroadcastRequest request) {
+		if (request.getSchoolId() == null) {
+			throw new IllegalArgumentException("School ID is required");
+		}
+		long recipients = (request.isToStudents() ? studentRepository.countBySchoolId(request.getSchoolId()) : 0)
+				+ (request.isToTeachers() ? teacherRepository.countBySchoolId(request.getSchoolId()) : 0);
+		Broadcast broadcast = Broadcast.builder()
+				.schoolId(request.getSchoolId())
+				.message(request.getMessage())
+				.type(request.getType())
+				.toStudents(request.isToStudents())
+				.toTeachers(request.isToTeachers())
+				.status(recipients == 0 ? Broadcast.DONE : Broadcast.QUEUED)
+				.recipients((int) recipients)
+				.createdAt(LocalDateTime.now())
+				.build();
+		if (recipients == 0) {
+			broadcast.setCompletedAt(broadcast.getCreatedAt());
+		}
+		BroadcastResponse response = toResponse(transactionTemplate.execute(status -> broadcastRepository.save(broadcast)));
+
+		Set<NotificationHub.Audience> audiences = EnumSet.noneOf(NotificationHub.Audience.class);
+		if (broadcast.isToStudents()) {
+			audiences.add(NotificationHub.Audience.STUDENT);
+		}
+		if (broadcast.isToTeachers()) {
+			audiences.add(NotificationHub.Audience.STAFF);
 		}
-		if (request.isToTeachers()) {
-			teacherRepository.findBySchoolId(request.getSchoolId()).forEach(t -> {
-				Notification n = Notification.builder()
-						.userId(t.getId())
-						.message(request.getMessage())
-						.type(request.getType())
-						.status("SENT")
-						.build();
-				notifications.add(n);
-			});
+		if (!audiences.isEmpty()) {
+			notificationHub.publishToSchool(broadcast.getSchoolId(), audiences, new NotificationHub.PushEvent("notification",
+					NotificationEvent.builder()
+							.broadcastId(broadcast.getId())
+							.message(broadcast.getMessage())
+							.type(broadcast.getType())
+							.timestamp(broadcast.getCreatedAt())
+							.build()));
 		}
-		notificationRepository.saveAll(notifications);
-		return notifications.size();
+		return response;
 	}
-}
 
+	@Transactional(readOnly = true)
+	public Optional<BroadcastResponse> getBroadcast(Integer broadcastId) {
+		return broadcastRepository.findById(broadcastId).map(this::toResponse);
+	}
 
+	private BroadcastResponse toResponse(Broadcast broadcast) {
+		return BroadcastResponse.builder()
+				.broadcastId(broadcast.getId())
+				.schoolId(broadcast.getSchoolId())
+				.status(broadcast.getStatus())
+				.recipients(broadcast.getRecipients())
+				.delivered(broadcast.getDelivered())
+				.error(broadcast.getLastError())
+				.createdAt(broadcast.getCreatedAt())
+				.completedAt(broadcast.getCompletedAt())
+				.build();
+	}
+}
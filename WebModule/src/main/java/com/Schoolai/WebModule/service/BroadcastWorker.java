@@ -0,0 +1,89 @@
+package com.Schoolai.WebModule.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Schoolai.WebModule.entity.Broadcast;
+import com.Schoolai.WebModule.repository.BroadcastRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fans queued broadcasts out into notification rows, {@code chunk-size} recipients per transaction.
+ * Each chunk advances the broadcast's cursor in the same transaction as its inserts, so a restart
+ * resumes where it stopped without notifying anyone twice, and no lock is held across the whole school.
+ */
+@Slf4j
+@Component
+public class BroadcastWorker {
+
+	private final TransactionTemplate transactionTemplate;
+	private final BroadcastRepository broadcastRepository;
+	private final int chunkSize;
+	private final Duration lease;
+
+	public BroadcastWorker(TransactionTemplate transactionTemplate, BroadcastRepository broadcastRepository,
+			@Value("${broadcast.chunk-size:1000}") int chunkSize,
+			@Value("${broadcast.lease:1m}") Duration lease) {
+		this.transactionTemplate = transactionTemplate;
+		this.broadcastRepository = broadcastRepository;
+		this.chunkSize = chunkSize;
+		this.lease = lease;
+	}
+
+	@Scheduled(fixedDelayString = "${broadcast.poll-interval:1s}")
+	public void poll() {
+		LocalDateTime now = LocalDateTime.now();
+		List<Integer> claimed = transactionTemplate.execute(status -> {
+			List<Integer> due = broadcastRepository.lockDueBroadcastIds(now, 1);
+			due.forEach(id -> broadcastRepository.markRunning(id, now.plus(lease)));
+			return due;
+		});
+		for (Integer broadcastId : claimed) {
+			try {
+				while (Boolean.TRUE.equals(transactionTemplate.execute(status -> fanOutChunk(broadcastId)))) {
+					// keep going until both audiences are exhausted
+				}
+			} catch (RuntimeException e) {
+				log.warn("Broadcast {} failed", broadcastId, e);
+				transactionTemplate.executeWithoutResult(status -> broadcastRepository.findById(broadcastId).ifPresent(b -> {
+					b.setStatus(Broadcast.FAILED);
+					b.setLastError(e.getClass().getSimpleName() + ": " + e.getMessage());
+					b.setLockedUntil(null);
+				}));
+			}
+		}
+	}
+
+	// Returns true while there are recipients left
+	private boolean fanOutChunk(Integer broadcastId) {
+		Broadcast broadcast = broadcastRepository.findById(broadcastId).orElseThrow();
+		LocalDateTime now = LocalDateTime.now();
+		BroadcastRepository.FanOutChunk chunk = null;
+		if (broadcast.isToStudents() && broadcast.getStudentCursor() >= 0) {
+			chunk = broadcastRepository.fanOutToStudents(broadcastId, broadcast.getSchoolId(),
+					broadcast.getStudentCursor(), chunkSize, now);
+			// -1 marks an audience as finished
+			broadcast.setStudentCursor(chunk.getInserted() > 0 ? chunk.getLastId() : -1);
+		} else if (broadcast.isToTeachers() && broadcast.getTeacherCursor() >= 0) {
+			chunk = broadcastRepository.fanOutToTeachers(broadcastId, broadcast.getSchoolId(),
+					broadcast.getTeacherCursor(), chunkSize, now);
+			broadcast.setTeacherCursor(chunk.getInserted() > 0 ? chunk.getLastId() : -1);
+		}
+		if (chunk == null) {
+			broadcast.setStatus(Broadcast.DONE);
+			broadcast.setCompletedAt(now);
+			broadcast.setLockedUntil(null);
+			return false;
+		}
+		broadcast.setDelivered(broadcast.getDelivered() + (int) chunk.getInserted());
+		broadcast.setLockedUntil(now.plus(lease));
+		return true;
+	}
+}
@@ -0,0 +1,61 @@
+package com.Schoolai.WebModule.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.Schoolai.WebModule.dto.FeedbackJobResponse;
+import com.Schoolai.WebModule.entity.FeedbackJob;
+
+/** SSE subscribers per feedback job; streams are closed once the job reaches DONE or FAILED. */
+@Component
+public class FeedbackJobEvents {
+
+	private final Map<Integer, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+	private final Duration timeout;
+
+	public FeedbackJobEvents(@Value("${ai.feedback-jobs.sse-timeout:2m}") Duration timeout) {
+		this.timeout = timeout;
+	}
+
+	public SseEmitter subscribe(Integer jobId) {
+		SseEmitter emitter = new SseEmitter(timeout.toMillis());
+		subscribers.computeIfAbsent(jobId, id -> ConcurrentHashMap.newKeySet()).add(emitter);
+		Runnable remove = () -> unsubscribe(jobId, emitter);
+		emitter.onCompletion(remove);
+		emitter.onTimeout(remove);
+		emitter.onError(e -> remove.run());
+		return emitter;
+	}
+
+	public void publish(FeedbackJobResponse job) {
+		boolean terminal = FeedbackJob.DONE.equals(job.getStatus()) || FeedbackJob.FAILED.equals(job.getStatus());
+		Set<SseEmitter> emitters = terminal ? subscribers.remove(job.getJobId()) : subscribers.get(job.getJobId());
+		if (emitters == null) {
+			return;
+		}
+		for (SseEmitter emitter : emitters) {
+			try {
+				emitter.send(SseEmitter.event().name("job").data(job));
+				if (terminal) {
+					emitter.complete();
+				}
+			} catch (IOException | IllegalStateException e) {
+				unsubscribe(job.getJobId(), emitter);
+			}
+		}
+	}
+
+	private void unsubscribe(Integer jobId, SseEmitter emitter) {
+		subscribers.computeIfPresent(jobId, (id, emitters) -> {
+			emitters.remove(emitter);
+			return emitters.isEmpty() ? null : emitters;
+		});
+	}
+}
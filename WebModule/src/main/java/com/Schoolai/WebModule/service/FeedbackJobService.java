@@ -0,0 +1,182 @@
+package com.Schoolai.WebModule.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.Schoolai.WebModule.dto.FeedbackJobResponse;
+import com.Schoolai.WebModule.entity.Assignment;
+import com.Schoolai.WebModule.entity.AssignmentSubmission;
+import com.Schoolai.WebModule.entity.FeedbackJob;
+import com.Schoolai.WebModule.entity.Subject;
+import com.Schoolai.WebModule.repository.AssignmentRepository;
+import com.Schoolai.WebModule.repository.AssignmentSubmissionRepository;
+import com.Schoolai.WebModule.repository.FeedbackJobRepository;
+import com.Schoolai.WebModule.repository.StudentRepository;
+import com.Schoolai.WebModule.repository.SubjectRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Accepts assignment uploads and queues them for AI feedback. The submission row is written straight
+ * away with an empty aiFeedback; {@link FeedbackJobWorker} fills it in.
+ */
+@Service
+@RequiredArgsConstructor
+public class FeedbackJobService {
+
+	/** Who is asking about a job: students may follow their own submissions, staff those of their school. */
+	public record Viewer(boolean student, Integer userId, Integer schoolId) {
+	}
+
+	private final BlobStore blobStore;
+	private final TransactionTemplate transactionTemplate;
+	private final FeedbackJobRepository feedbackJobRepository;
+	private final AssignmentSubmissionRepository assignmentSubmissionRepository;
+	private final AssignmentRepository assignmentRepository;
+	private final SubjectRepository subjectRepository;
+	private final ReferenceDataCache referenceDataCache;
+	private final StudentRepository studentRepository;
+	private final FeedbackJobEvents feedbackJobEvents;
+	private final ApplicationEventPublisher eventPublisher;
+
+	public FeedbackJobResponse submit(InputStream upload, String filename, Integer assignmentId, Integer studentId,
+			Integer subjectId, String notes, String idempotencyKey) throws IOException {
+		if (studentId == null || !studentRepository.existsById(studentId)) {
+			throw new IllegalArgumentException("Student not found with ID: " + studentId);
+		}
+
+		// Client keys are scoped per student so two students can't collide on the same key
+		String key = idempotencyKey != null && !idempotencyKey.isBlank()
+				? studentId + ":" + idempotencyKey.trim()
+				: UUID.randomUUID().toString();
+		Optional<FeedbackJobResponse> existing = findByKey(key);
+		if (existing.isPresent()) {
+			return existing.get();
+		}
+
+		BlobStore.StoredBlob blob = blobStore.put(upload);
+		try {
+			return transactionTemplate.execute(status -> enqueue(key, blob, filename, assignmentId, studentId, subjectId, notes));
+		} catch (DataIntegrityViolationException e) {
+			// Lost a race with a retry carrying the same key
+			return findByKey(key).orElseThrow(() -> e);
+		}
+	}
+
+	@Transactional(readOnly = true)
+	public Optional<FeedbackJobResponse> getJob(Integer jobId) {
+		return feedbackJobRepository.findById(jobId).map(this::toResponse);
+	}
+
+	// Jobs the viewer may not see look the same as missing ones
+	@Transactional(readOnly = true)
+	public Optional<FeedbackJobResponse> getJob(Integer jobId, Viewer viewer) {
+		return canView(jobId, viewer) ? getJob(jobId) : Optional.empty();
+	}
+
+	public Optional<SseEmitter> subscribe(Integer jobId, Viewer viewer) {
+		if (!canView(jobId, viewer)) {
+			return Optional.empty();
+		}
+		// Register before reading the state so a completion in between is not missed
+		SseEmitter emitter = feedbackJobEvents.subscribe(jobId);
+		getJob(jobId).ifPresent(feedbackJobEvents::publish);
+		return Optional.of(emitter);
+	}
+
+	private boolean canView(Integer jobId, Viewer viewer) {
+		return feedbackJobRepository.findOwner(jobId)
+				.filter(owner -> viewer.student()
+						? owner.getStudentId().equals(viewer.userId())
+						: viewer.schoolId() != null && viewer.schoolId().equals(owner.getSchoolId()))
+				.isPresent();
+	}
+
+	private FeedbackJobResponse enqueue(String key, BlobStore.StoredBlob blob, String filename, Integer assignmentId,
+			Integer studentId, Integer subjectId, String notes) {
+		LocalDateTime now = LocalDateTime.now();
+		// Only the submission row is written; the assignment row is shared by the whole class and stays untouched
+		Assignment assignment = null;
+		if (assignmentId != null) {
+			assignment = assignmentRepository.findById(assignmentId).orElse(null);
+		}
+		Subject subject = referenceDataCache.subject(subjectId)
+				.map(ref -> subjectRepository.getReferenceById(ref.id())).orElse(null);
+
+		AssignmentSubmission submission = assignmentSubmissionRepository.save(AssignmentSubmission.builder()
+				.assignment(assignment) // Can be null for AI Teacher Assistant submissions
+				.student(studentRepository.getReferenceById(studentId))
+				.subject(subject) // Can be null
+				.fileName(filename)
+				.fileHash(blob.sha256())
+				.fileSize(blob.size())
+				.fileType(detectFileType(filename))
+				.notes(notes)
+				.submittedAt(now)
+				.build());
+		eventPublisher.publishEvent(new StudentDashboardCache.SubmissionReceived(studentId));
+
+		FeedbackJob job = feedbackJobRepository.saveAndFlush(FeedbackJob.builder()
+				.submissionId(submission.getId())
+				.idempotencyKey(key)
+				.status(FeedbackJob.QUEUED)
+				.attempts(0)
+				.nextAttemptAt(now)
+				.createdAt(now)
+				.updatedAt(now)
+				.build());
+		return toResponse(job, null);
+	}
+
+	private Optional<FeedbackJobResponse> findByKey(String key) {
+		return transactionTemplate.execute(status -> feedbackJobRepository.findByIdempotencyKey(key).map(this::toResponse));
+	}
+
+	private FeedbackJobResponse toResponse(FeedbackJob job) {
+		String feedback = assignmentSubmissionRepository.findById(job.getSubmissionId())
+				.map(AssignmentSubmission::getAiFeedback)
+				.orElse(null);
+		return toResponse(job, feedback);
+	}
+
+	private static FeedbackJobResponse toResponse(FeedbackJob job, String feedback) {
+		return FeedbackJobResponse.builder()
+				.jobId(job.getId())
+				.submissionId(job.getSubmissionId())
+				.status(job.getStatus())
+				.attempts(job.getAttempts())
+				.feedback(feedback)
+				.error(FeedbackJob.FAILED.equals(job.getStatus()) ? job.getLastError() : null)
+				.createdAt(job.getCreatedAt())
+				.updatedAt(job.getUpdatedAt())
+				.build();
+	}
+
+	// Determine file type from filename
+	static String detectFileType(String filename) {
+		String fileType = "application/octet-stream";
+		if (filename != null) {
+			String lowerFilename = filename.toLowerCase();
+			if (lowerFilename.endsWith(".pdf")) {
+				fileType = "application/pdf";
+			} else if (lowerFilename.endsWith(".jpg") || lowerFilename.endsWith(".jpeg")) {
+				fileType = "image/jpeg";
+			} else if (lowerFilename.endsWith(".png")) {
+				fileType = "image/png";
+			} else if (lowerFilename.endsWith(".gif")) {
+				fileType = "image/gif";
+			}
+		}
+		return fileType;
+	}
+}
@@ -0,0 +1,174 @@
+package com.Schoolai.WebModule.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Schoolai.WebModule.entity.AssignmentSubmission;
+import com.Schoolai.WebModule.entity.FeedbackJob;
+import com.Schoolai.WebModule.repository.AssignmentSubmissionRepository;
+import com.Schoolai.WebModule.repository.FeedbackJobRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains the feedback_job table. At most {@code concurrency} chatbot calls are outstanding; failed
+ * calls are retried with exponential backoff until {@code max-attempts} is reached.
+ */
+@Slf4j
+@Component
+public class FeedbackJobWorker {
+
+	private record Work(String fileHash, long fileSize, String fileName, String fileType, Map<String, Object> fields) {
+	}
+
+	private final AiGateway aiGateway;
+	private final BlobStore blobStore;
+	private final TransactionTemplate transactionTemplate;
+	private final FeedbackJobRepository feedbackJobRepository;
+	private final AssignmentSubmissionRepository assignmentSubmissionRepository;
+	private final FeedbackJobService feedbackJobService;
+	private final FeedbackJobEvents feedbackJobEvents;
+	private final AiCallbackExecutor callbacks;
+	private final Semaphore slots;
+	private final int maxAttempts;
+	private final Duration initialBackoff;
+	private final Duration maxBackoff;
+	private final Duration lease;
+
+	public FeedbackJobWorker(AiGateway aiGateway, BlobStore blobStore, TransactionTemplate transactionTemplate,
+			FeedbackJobRepository feedbackJobRepository, AssignmentSubmissionRepository assignmentSubmissionRepository,
+			FeedbackJobService feedbackJobService, FeedbackJobEvents feedbackJobEvents, AiCallbackExecutor callbacks,
+			@Value("${ai.feedback-jobs.concurrency:8}") int concurrency,
+			@Value("${ai.feedback-jobs.max-attempts:5}") int maxAttempts,
+			@Value("${ai.feedback-jobs.initial-backoff:5s}") Duration initialBackoff,
+			@Value("${ai.feedback-jobs.max-backoff:5m}") Duration maxBackoff,
+			@Value("${ai.feedback-jobs.lease:2m}") Duration lease) {
+		this.aiGateway = aiGateway;
+		this.blobStore = blobStore;
+		this.transactionTemplate = transactionTemplate;
+		this.feedbackJobRepository = feedbackJobRepository;
+		this.assignmentSubmissionRepository = assignmentSubmissionRepository;
+		this.feedbackJobService = feedbackJobService;
+		this.feedbackJobEvents = feedbackJobEvents;
+		this.callbacks = callbacks;
+		this.slots = new Semaphore(concurrency);
+		this.maxAttempts = maxAttempts;
+		this.initialBackoff = initialBackoff;
+		this.maxBackoff = maxBackoff;
+		this.lease = lease;
+	}
+
+	@Scheduled(fixedDelayString = "${ai.feedback-jobs.poll-interval:500ms}")
+	public void poll() {
+		int free = slots.availablePermits();
+		if (free == 0) {
+			return;
+		}
+		LocalDateTime now = LocalDateTime.now();
+		List<Integer> claimed = transactionTemplate.execute(status -> {
+			List<Integer> due = feedbackJobRepository.lockDueJobIds(now, free);
+			if (!due.isEmpty()) {
+				feedbackJobRepository.markRunning(due, now, now.plus(lease));
+			}
+			return due;
+		});
+		for (Integer jobId : claimed) {
+			slots.acquireUninterruptibly();
+			start(jobId);
+		}
+	}
+
+	private void start(Integer jobId) {
+		CompletableFuture<String> call;
+		try {
+			Work work = transactionTemplate.execute(status -> load(jobId));
+			Supplier<InputStream> file = () -> {
+				try {
+					return blobStore.open(work.fileHash());
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			};
+			call = aiGateway.reviewAssignment(file, work.fileSize(), work.fileName(), work.fileType(), work.fields());
+		} catch (RuntimeException e) {
+			call = CompletableFuture.failedFuture(e);
+		}
+		call.whenCompleteAsync((feedback, error) -> {
+			slots.release();
+			try {
+				finish(jobId, feedback, error);
+			} catch (RuntimeException e) {
+				log.warn("Could not record result of feedback job {}", jobId, e);
+			}
+		}, callbacks.executor());
+	}
+
+	private Work load(Integer jobId) {
+		FeedbackJob job = feedbackJobRepository.findById(jobId).orElseThrow();
+		AssignmentSubmission submission = assignmentSubmissionRepository.findById(job.getSubmissionId()).orElseThrow();
+
+		// Add submission details to the request if needed by the AI service
+		Map<String, Object> fields = new LinkedHashMap<>();
+		if (submission.getAssignment() != null) {
+			fields.put("assignmentId", submission.getAssignment().getId());
+		}
+		fields.put("studentId", submission.getStudent().getId());
+		if (submission.getSubject() != null) {
+			fields.put("subjectId", submission.getSubject().getId());
+		}
+		if (submission.getNotes() != null && !submission.getNotes().isEmpty()) {
+			fields.put("notes", submission.getNotes());
+		}
+		return new Work(submission.getFileHash(),
+				submission.getFileSize() != null ? submission.getFileSize() : 0L,
+				submission.getFileName(), submission.getFileType(), fields);
+	}
+
+	private void finish(Integer jobId, String feedback, Throwable error) {
+		transactionTemplate.executeWithoutResult(status -> {
+			FeedbackJob job = feedbackJobRepository.findById(jobId).orElseThrow();
+			LocalDateTime now = LocalDateTime.now();
+			job.setUpdatedAt(now);
+			job.setLockedUntil(null);
+			if (error == null) {
+				assignmentSubmissionRepository.findById(job.getSubmissionId())
+						.ifPresent(submission -> submission.setAiFeedback(feedback));
+				job.setStatus(FeedbackJob.DONE);
+				job.setLastError(null);
+			} else {
+				Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+				job.setLastError(cause.getClass().getSimpleName() + ": " + cause.getMessage());
+				if (job.getAttempts() >= maxAttempts) {
+					job.setStatus(FeedbackJob.FAILED);
+				} else {
+					job.setStatus(FeedbackJob.QUEUED);
+					job.setNextAttemptAt(now.plus(backoff(job.getAttempts())));
+				}
+			}
+		});
+		feedbackJobService.getJob(jobId).ifPresent(feedbackJobEvents::publish);
+	}
+
+	// initial * 2^(attempt-1), capped, with up to 20% jitter so retries from one outage spread out
+	private Duration backoff(int attempt) {
+		long millis = initialBackoff.toMillis() << Math.min(attempt - 1, 20);
+		millis = Math.min(millis, maxBackoff.toMillis());
+		return Duration.ofMillis(millis + ThreadLocalRandom.current().nextLong(millis / 5 + 1));
+	}
+}
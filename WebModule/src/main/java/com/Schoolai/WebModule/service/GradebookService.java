@@ -0,0 +1,232 @@
+package com.Schoolai.WebModule.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.Schoolai.WebModule.dto.AssessmentGradebook;
+import com.Schoolai.WebModule.dto.GradeBucket;
+import com.Schoolai.WebModule.dto.GradeRank;
+import com.Schoolai.WebModule.entity.Assessment;
+import com.Schoolai.WebModule.repository.AssessmentRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Class statistics and ranking per assessment, worked out on primitive arrays of the marks and
+ * cached until a mark for the assessment is written. Missing assessments are loaded in one query
+ * however many a subject has.
+ */
+@Service
+public class GradebookService {
+
+	static final int BUCKET_WIDTH = 10;
+
+	// Highest marks first; an assessment without marks still returns one row, with a null student
+	private static final String MARKS = "SELECT a.assessment_id, a.subject_id, a.title, p.student_id, s.full_name, "
+			+ "p.marks_obtained, p.grade FROM assessment a "
+			+ "LEFT JOIN performance p ON p.assessment_id = a.assessment_id AND p.marks_obtained IS NOT NULL "
+			+ "LEFT JOIN student s ON s.student_id = p.student_id "
+			+ "WHERE a.assessment_id IN (:ids) ORDER BY a.assessment_id, p.marks_obtained DESC, p.student_id";
+
+	private final AssessmentRepository assessmentRepository;
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final Cache<Integer, AssessmentGradebook> gradebooks;
+	private final AtomicLong invalidations = new AtomicLong();
+
+	public GradebookService(AssessmentRepository assessmentRepository, NamedParameterJdbcTemplate jdbcTemplate,
+			MeterRegistry registry,
+			@Value("${gradebook-cache.ttl:1h}") Duration ttl,
+			@Value("${gradebook-cache.max-size:10000}") int maxSize) {
+		this.assessmentRepository = assessmentRepository;
+		this.jdbcTemplate = jdbcTemplate;
+		this.gradebooks = Caffeine.newBuilder()
+				.expireAfterWrite(ttl)
+				.maximumSize(maxSize)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(registry, gradebooks, "gradebook.assessments");
+	}
+
+	public Optional<AssessmentGradebook> assessment(Integer assessmentId) {
+		return Optional.ofNullable(gradebooks(List.of(assessmentId)).get(assessmentId));
+	}
+
+	public List<AssessmentGradebook> subject(Integer subjectId) {
+		List<Integer> ids = assessmentRepository.findBySubjectId(subjectId).stream().map(Assessment::getId).sorted().toList();
+		Map<Integer, AssessmentGradebook> found = gradebooks(ids);
+		return ids.stream().map(found::get).filter(Objects::nonNull).toList();
+	}
+
+	// fallbackExecution: marks written outside a transaction still invalidate, just immediately
+	@TransactionalEventListener(fallbackExecution = true)
+	public void on(StudentDashboardCache.PerformanceRecorded event) {
+		if (event.assessmentId() != null) {
+			invalidations.incrementAndGet();
+			gradebooks.invalidate(event.assessmentId());
+		}
+	}
+
+	private Map<Integer, AssessmentGradebook> gradebooks(List<Integer> ids) {
+		Map<Integer, AssessmentGradebook> found = new HashMap<>(gradebooks.getAllPresent(ids));
+		List<Integer> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+		if (!missing.isEmpty()) {
+			long generation = invalidations.get();
+			Map<Integer, AssessmentGradebook> loaded = load(missing);
+			found.putAll(loaded);
+			// A mark written while loading may be missing from what was read, so that result isn't kept
+			if (invalidations.get() == generation) {
+				gradebooks.putAll(loaded);
+			}
+		}
+		return found;
+	}
+
+	private Map<Integer, AssessmentGradebook> load(List<Integer> ids) {
+		Map<Integer, Marks> marks = new HashMap<>();
+		jdbcTemplate.query(MARKS, Map.of("ids", ids), rs -> {
+			Marks assessment = marks.computeIfAbsent(rs.getInt(1), id -> new Marks());
+			assessment.subjectId = (Integer) rs.getObject(2);
+			assessment.title = rs.getString(3);
+			Integer studentId = (Integer) rs.getObject(4);
+			if (studentId != null) {
+				assessment.add(studentId, rs.getString(5), rs.getDouble(6), rs.getString(7));
+			}
+		});
+		Map<Integer, AssessmentGradebook> gradebooks = new HashMap<>();
+		marks.forEach((id, m) -> gradebooks.put(id, build(id, m)));
+		return gradebooks;
+	}
+
+	static AssessmentGradebook build(Integer assessmentId, Marks m) {
+		AssessmentGradebook.AssessmentGradebookBuilder gradebook = AssessmentGradebook.builder()
+				.assessmentId(assessmentId)
+				.subjectId(m.subjectId)
+				.title(m.title)
+				.marked(m.size);
+		int n = m.size;
+		if (n == 0) {
+			return gradebook.histogram(List.of()).ranking(List.of()).build();
+		}
+		// Marks arrive highest first; percentiles read them from the other end
+		double[] ascending = new double[n];
+		double sum = 0;
+		for (int i = 0; i < n; i++) {
+			ascending[i] = m.marks[n - 1 - i];
+			sum += ascending[i];
+		}
+		double mean = sum / n;
+		double squares = 0;
+		for (double mark : ascending) {
+			squares += (mark - mean) * (mark - mean);
+		}
+
+		List<GradeRank> ranking = new ArrayList<>(n);
+		for (int i = 0, rank = 1; i < n; ) {
+			int end = i;
+			while (end < n && m.marks[end] == m.marks[i]) {
+				end++;
+			}
+			BigDecimal percentile = round((n - end + (end - i) / 2.0) * 100 / n);
+			for (int j = i; j < end; j++) {
+				ranking.add(GradeRank.builder()
+						.rank(rank)
+						.studentId(m.studentIds[j])
+						.studentName(m.names[j])
+						.marks(round(m.marks[j]))
+						.grade(m.grades[j])
+						.percentile(percentile)
+						.build());
+			}
+			rank += end - i;
+			i = end;
+		}
+
+		return gradebook
+				.mean(round(mean))
+				.median(round(percentile(ascending, 0.5)))
+				.min(round(ascending[0]))
+				.max(round(ascending[n - 1]))
+				.standardDeviation(round(Math.sqrt(squares / n)))
+				.p25(round(percentile(ascending, 0.25)))
+				.p75(round(percentile(ascending, 0.75)))
+				.p90(round(percentile(ascending, 0.9)))
+				.histogram(histogram(ascending))
+				.ranking(ranking)
+				.build();
+	}
+
+	// Linear interpolation between the two closest ranks
+	private static double percentile(double[] ascending, double fraction) {
+		double position = fraction * (ascending.length - 1);
+		int lower = (int) Math.floor(position);
+		int upper = (int) Math.ceil(position);
+		return ascending[lower] + (ascending[upper] - ascending[lower]) * (position - lower);
+	}
+
+	// Buckets of BUCKET_WIDTH marks from the one holding the lowest mark to the one holding the highest.
+	// The last bucket includes its upper bound, so a full mark counts in 90-100 rather than a bucket of its own.
+	private static List<GradeBucket> histogram(double[] ascending) {
+		double max = ascending[ascending.length - 1];
+		double end = max > 0 ? Math.ceil(max / BUCKET_WIDTH) * BUCKET_WIDTH : BUCKET_WIDTH;
+		double start = Math.min(Math.floor(ascending[0] / BUCKET_WIDTH) * BUCKET_WIDTH, end - BUCKET_WIDTH);
+		int[] counts = new int[(int) Math.round((end - start) / BUCKET_WIDTH)];
+		for (double mark : ascending) {
+			counts[Math.min((int) ((mark - start) / BUCKET_WIDTH), counts.length - 1)]++;
+		}
+		List<GradeBucket> buckets = new ArrayList<>(counts.length);
+		for (int i = 0; i < counts.length; i++) {
+			buckets.add(GradeBucket.builder()
+					.from(round(start + i * BUCKET_WIDTH))
+					.to(round(start + (i + 1) * BUCKET_WIDTH))
+					.count(counts[i])
+					.build());
+		}
+		return buckets;
+	}
+
+	private static BigDecimal round(double value) {
+		return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+	}
+
+	// One assessment's marks, highest first, in parallel arrays
+	static final class Marks {
+		private Integer subjectId;
+		private String title;
+		private int size;
+		private int[] studentIds = new int[32];
+		private String[] names = new String[32];
+		private double[] marks = new double[32];
+		private String[] grades = new String[32];
+
+		void add(int studentId, String name, double mark, String grade) {
+			if (size == marks.length) {
+				studentIds = Arrays.copyOf(studentIds, size * 2);
+				names = Arrays.copyOf(names, size * 2);
+				marks = Arrays.copyOf(marks, size * 2);
+				grades = Arrays.copyOf(grades, size * 2);
+			}
+			studentIds[size] = studentId;
+			names[size] = name;
+			marks[size] = mark;
+			grades[size] = grade;
+			size++;
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package com.Schoolai.WebModule.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps blobs under {@code root/ab/cd/<sha256>}. Uploads are hashed while they are copied into a
+ * temp file and then renamed into place, so a partially written blob is never visible.
+ */
+@Component
+public class LocalBlobStore implements BlobStore {
+
+	private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final Path root;
+	private final Path tmp;
+
+	public LocalBlobStore(@Value("${blob-store.local.root:data/blobs}") Path root) throws IOException {
+		this.root = root.toAbsolutePath();
+		this.tmp = this.root.resolve(".tmp");
+		Files.createDirectories(tmp);
+	}
+
+	@Override
+	public StoredBlob put(InputStream content) throws IOException {
+		MessageDigest digest = sha256();
+		Path part = Files.createTempFile(tmp, "upload-", ".part");
+		try {
+			long size = 0;
+			ReadableByteChannel source = Channels.newChannel(content);
+			try (FileChannel out = FileChannel.open(part, StandardOpenOption.WRITE)) {
+				ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+				while (source.read(buffer) != -1) {
+					buffer.flip();
+					digest.update(buffer.array(), 0, buffer.limit());
+					while (buffer.hasRemaining()) {
+						size += out.write(buffer);
+					}
+					buffer.clear();
+				}
+				out.force(false);
+			}
+
+			String sha256 = HexFormat.of().formatHex(digest.digest());
+			Path target = pathFor(sha256);
+			if (Files.exists(target)) {
+				return new StoredBlob(sha256, size, false);
+			}
+			Files.createDirectories(target.getParent());
+			Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+			return new StoredBlob(sha256, size, true);
+		} finally {
+			Files.deleteIfExists(part);
+		}
+	}
+
+	@Override
+	public InputStream open(String sha256) throws IOException {
+		Path path = pathFor(sha256);
+		if (!Files.exists(path)) {
+			throw new NoSuchFileException("No blob " + sha256);
+		}
+		return Files.newInputStream(path);
+	}
+
+	@Override
+	public boolean exists(String sha256) {
+		return Files.exists(pathFor(sha256));
+	}
+
+	private Path pathFor(String sha256) {
+		if (sha256 == null || !SHA256_HEX.matcher(sha256).matches()) {
+			throw new IllegalArgumentException("Not a SHA-256 hex digest: " + sha256);
+		}
+		return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package com.Schoolai.WebModule.service;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * MinHash over character shingles: the fraction of equal signature slots estimates the Jaccard
+ * similarity of the two questions' shingle sets.
+ */
+@Component
+public class MinHashMatcher implements NearDuplicateMatcher {
+
+	private static final int SHINGLE_LENGTH = 4;
+	private static final int HASH_COUNT = 64;
+
+	private final long[] seeds = new SplittableRandom(0x5EED_CAFEL).longs(HASH_COUNT).toArray();
+
+	@Override
+	public long[] signature(String normalizedQuestion) {
+		long[] signature = new long[HASH_COUNT];
+		Arrays.fill(signature, Long.MAX_VALUE);
+		int last = Math.max(0, normalizedQuestion.length() - SHINGLE_LENGTH);
+		for (int start = 0; start <= last; start++) {
+			long shingle = fnv1a(normalizedQuestion, start, Math.min(normalizedQuestion.length(), start + SHINGLE_LENGTH));
+			for (int i = 0; i < HASH_COUNT; i++) {
+				long h = mix(shingle ^ seeds[i]);
+				if (h < signature[i]) {
+					signature[i] = h;
+				}
+			}
+		}
+		return signature;
+	}
+
+	@Override
+	public double similarity(long[] a, long[] b) {
+		int equal = 0;
+		for (int i = 0; i < HASH_COUNT; i++) {
+			if (a[i] == b[i]) {
+				equal++;
+			}
+		}
+		return (double) equal / HASH_COUNT;
+	}
+
+	private static long fnv1a(String s, int from, int to) {
+		long h = 0xcbf29ce484222325L;
+		for (int i = from; i < to; i++) {
+			h ^= s.charAt(i);
+			h *= 0x100000001b3L;
+		}
+		return h;
+	}
+
+	// splitmix64 finalizer
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -0,0 +1,13 @@
+package com.Schoolai.WebModule.service;
+
+/**
+ * Scores how alike two already-normalized questions are. Signatures are computed once when an
+ * answer is cached so a lookup only has to compare signatures.
+ */
+public interface NearDuplicateMatcher {
+
+	long[] signature(String normalizedQuestion);
+
+	/** Estimated similarity in [0, 1] between two signatures produced by this matcher. */
+	double similarity(long[] a, long[] b);
+}
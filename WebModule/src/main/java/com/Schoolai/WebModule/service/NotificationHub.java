@@ -0,0 +1,347 @@
+package com.Schoolai.WebModule.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process registry of connected notification streams. Subscriptions are spread over lock stripes
+ * by recipient, so connects, disconnects and publishes to different users rarely contend. Publishing
+ * never writes to a connection itself: each subscription has a small bounded buffer drained by a
+ * writer pool, and when a client can't keep up its oldest events are dropped and it is sent a
+ * {@code dropped} event telling it to reload. A client whose connection stops accepting data holds
+ * a writer thread only until {@code write-timeout}: it is then evicted and its writer interrupted.
+ * Subscriptions are also indexed by school, so a school-wide broadcast only visits that school's users.
+ */
+@Slf4j
+@Component
+public class NotificationHub {
+
+	public enum Audience {
+		STUDENT, STAFF
+	}
+
+	public record Recipient(Audience audience, int userId) {
+	}
+
+	public record PushEvent(String name, Object data) {
+	}
+
+	public interface Sink {
+		void send(PushEvent event) throws IOException;
+
+		default void close() {
+		}
+	}
+
+	// Events a single drain run may write before yielding the writer thread to other subscriptions
+	private static final int DRAIN_BATCH = 64;
+
+	private final Map<Recipient, List<Subscription>>[] stripes;
+	private final Map<Integer, Set<Subscription>> bySchool = new ConcurrentHashMap<>();
+	private final Set<Subscription> writing = ConcurrentHashMap.newKeySet();
+	private final int bufferSize;
+	private final Duration streamTimeout;
+	private final long writeTimeoutNanos;
+	private final ExecutorService writers;
+	private final AtomicInteger subscriberCount = new AtomicInteger();
+	private final Counter queued;
+	private final Counter dropped;
+	private final Counter evicted;
+
+	@SuppressWarnings("unchecked")
+	public NotificationHub(@Value("${notifications.push.stripes:64}") int stripes,
+			@Value("${notifications.push.buffer-size:32}") int bufferSize,
+			@Value("${notifications.push.writer-threads:4}") int writerThreads,
+			@Value("${notifications.push.stream-timeout:30m}") Duration streamTimeout,
+			@Value("${notifications.push.write-timeout:5s}") Duration writeTimeout,
+			MeterRegistry registry) {
+		this.stripes = new Map[Integer.highestOneBit(Math.max(1, stripes - 1)) << 1];
+		for (int i = 0; i < this.stripes.length; i++) {
+			this.stripes[i] = new HashMap<>();
+		}
+		this.bufferSize = bufferSize;
+		this.streamTimeout = streamTimeout;
+		this.writeTimeoutNanos = writeTimeout.toNanos();
+		AtomicInteger threadCount = new AtomicInteger();
+		this.writers = Executors.newFixedThreadPool(writerThreads, r -> {
+			Thread t = new Thread(r, "notification-push-" + threadCount.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+		this.queued = registry.counter("notifications.push.events", "result", "queued");
+		this.dropped = registry.counter("notifications.push.events", "result", "dropped");
+		this.evicted = registry.counter("notifications.push.evicted");
+		registry.gauge("notifications.push.subscribers", subscriberCount);
+	}
+
+	/** Opens an SSE stream for one user; it stays registered until the client disconnects or it times out. */
+	public SseEmitter stream(Recipient recipient, int schoolId) {
+		SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+		Subscription subscription = subscribe(recipient, schoolId, new Sink() {
+			@Override
+			public void send(PushEvent event) throws IOException {
+				emitter.send(SseEmitter.event().name(event.name()).data(event.data()));
+			}
+
+			@Override
+			public void close() {
+				emitter.complete();
+			}
+		});
+		emitter.onCompletion(subscription::close);
+		emitter.onTimeout(subscription::close);
+		emitter.onError(e -> subscription.close());
+		try {
+			// Commits the response headers now, so clients and proxies see the stream as open
+			emitter.send(SseEmitter.event().comment("connected"));
+		} catch (IOException e) {
+			subscription.close();
+		}
+		return emitter;
+	}
+
+	public Subscription subscribe(Recipient recipient, int schoolId, Sink sink) {
+		Subscription subscription = new Subscription(recipient, schoolId, sink);
+		Map<Recipient, List<Subscription>> stripe = stripe(recipient);
+		synchronized (stripe) {
+			stripe.computeIfAbsent(recipient, r -> new ArrayList<>(1)).add(subscription);
+		}
+		bySchool.compute(schoolId, (id, subscriptions) -> {
+			Set<Subscription> school = subscriptions != null ? subscriptions : ConcurrentHashMap.newKeySet();
+			school.add(subscription);
+			return school;
+		});
+		subscriberCount.incrementAndGet();
+		return subscription;
+	}
+
+	/** Queues the event for every connection of the recipient; returns how many connections it went to. */
+	public int publish(Recipient recipient, PushEvent event) {
+		List<Subscription> targets;
+		Map<Recipient, List<Subscription>> stripe = stripe(recipient);
+		synchronized (stripe) {
+			List<Subscription> subscriptions = stripe.get(recipient);
+			targets = subscriptions != null ? List.copyOf(subscriptions) : List.of();
+		}
+		targets.forEach(s -> s.offer(event));
+		return targets.size();
+	}
+
+	/** Queues the event for every connected user of the school in the given audiences. */
+	public int publishToSchool(int schoolId, Set<Audience> audiences, PushEvent event) {
+		Set<Subscription> school = bySchool.get(schoolId);
+		if (school == null) {
+			return 0;
+		}
+		int targets = 0;
+		for (Subscription subscription : school) {
+			if (audiences.contains(subscription.recipient.audience())) {
+				subscription.offer(event);
+				targets++;
+			}
+		}
+		return targets;
+	}
+
+	public int subscriberCount() {
+		return subscriberCount.get();
+	}
+
+	/** Evicts subscriptions whose current write has been blocked for longer than the write timeout. */
+	@Scheduled(fixedDelayString = "${notifications.push.write-check-interval:1s}")
+	public void evictStalledWriters() {
+		long now = System.nanoTime();
+		for (Subscription subscription : writing) {
+			if (subscription.interruptStalledWrite(now)) {
+				log.debug("Evicting notification stream for {}: write blocked for over {} ms", subscription.recipient,
+						writeTimeoutNanos / 1_000_000);
+				evicted.increment();
+				subscription.close();
+			}
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		writers.shutdownNow();
+	}
+
+	private Map<Recipient, List<Subscription>> stripe(Recipient recipient) {
+		int h = recipient.hashCode();
+		return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+	}
+
+	private void unregister(Subscription subscription) {
+		Map<Recipient, List<Subscription>> stripe = stripe(subscription.recipient);
+		boolean removed = false;
+		synchronized (stripe) {
+			List<Subscription> subscriptions = stripe.get(subscription.recipient);
+			if (subscriptions != null) {
+				removed = subscriptions.remove(subscription);
+				if (subscriptions.isEmpty()) {
+					stripe.remove(subscription.recipient);
+				}
+			}
+		}
+		if (removed) {
+			subscriberCount.decrementAndGet();
+		}
+		bySchool.computeIfPresent(subscription.schoolId, (id, school) -> {
+			school.remove(subscription);
+			return school.isEmpty() ? null : school;
+		});
+	}
+
+	public final class Subscription {
+		private final Recipient recipient;
+		private final int schoolId;
+		private final Sink sink;
+		private final ArrayDeque<PushEvent> buffer = new ArrayDeque<>();
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+		private int droppedSinceLastSend;
+		private volatile boolean closed;
+		// The writer thread and start of the write in progress, guarded by writeLock
+		private final Object writeLock = new Object();
+		private Thread writer;
+		private long writeStartedAt;
+
+		private Subscription(Recipient recipient, int schoolId, Sink sink) {
+			this.recipient = recipient;
+			this.schoolId = schoolId;
+			this.sink = sink;
+		}
+
+		private void offer(PushEvent event) {
+			if (closed) {
+				return;
+			}
+			synchronized (this) {
+				if (buffer.size() >= bufferSize) {
+					buffer.pollFirst();
+					droppedSinceLastSend++;
+					dropped.increment();
+				}
+				buffer.addLast(event);
+			}
+			queued.increment();
+			if (scheduled.compareAndSet(false, true)) {
+				writers.execute(this::drain);
+			}
+		}
+
+		private void drain() {
+			for (int sent = 0; sent < DRAIN_BATCH; sent++) {
+				PushEvent event;
+				int droppedCount;
+				synchronized (this) {
+					event = buffer.pollFirst();
+					droppedCount = droppedSinceLastSend;
+					droppedSinceLastSend = 0;
+					if (event == null) {
+						// Cleared under the same lock offer() appends under, so no wake-up is lost
+						scheduled.set(false);
+						return;
+					}
+				}
+				boolean failed = false;
+				startWrite();
+				try {
+					if (droppedCount > 0) {
+						sink.send(new PushEvent("dropped", Map.of("count", droppedCount)));
+					}
+					sink.send(event);
+				} catch (IOException | RuntimeException e) {
+					log.debug("Closing notification stream for {}: {}", recipient, e.toString());
+					failed = true;
+				} finally {
+					endWrite();
+				}
+				if (closed) {
+					// Evicted while writing; close() left the sink to this thread
+					closeSink();
+					return;
+				}
+				if (failed) {
+					close();
+					return;
+				}
+			}
+			// Still backlogged; requeue behind other subscriptions instead of monopolising a writer
+			writers.execute(this::drain);
+		}
+
+		private void startWrite() {
+			synchronized (writeLock) {
+				writer = Thread.currentThread();
+				writeStartedAt = System.nanoTime();
+			}
+			writing.add(this);
+		}
+
+		private void endWrite() {
+			writing.remove(this);
+			synchronized (writeLock) {
+				if (writer == null) {
+					// Interrupted by the watchdog; don't let the flag leak into the next subscription's write
+					Thread.interrupted();
+				}
+				writer = null;
+			}
+		}
+
+		private boolean interruptStalledWrite(long now) {
+			synchronized (writeLock) {
+				if (writer == null || now - writeStartedAt < writeTimeoutNanos) {
+					return false;
+				}
+				writer.interrupt();
+				writer = null;
+				return true;
+			}
+		}
+
+		public void close() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			unregister(this);
+			synchronized (this) {
+				buffer.clear();
+			}
+			// A stalled write may hold the connection's lock; its writer closes the sink once it returns
+			if (!writing.contains(this)) {
+				closeSink();
+			}
+		}
+
+		private void closeSink() {
+			try {
+				sink.close();
+			} catch (RuntimeException e) {
+				// already completed by the container
+			}
+		}
+	}
+}
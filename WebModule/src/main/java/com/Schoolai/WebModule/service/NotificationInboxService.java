@@ -0,0 +1,68 @@
+package com.Schoolai.WebModule.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.Schoolai.WebModule.dto.MarkNotificationsReadRequest;
+import com.Schoolai.WebModule.dto.NotificationInfo;
+import com.Schoolai.WebModule.dto.UnreadCountResponse;
+import com.Schoolai.WebModule.entity.NotificationUnread;
+import com.Schoolai.WebModule.repository.NotificationRepository;
+import com.Schoolai.WebModule.repository.NotificationUnreadRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A recipient's notifications, newest first, and their unread count. The count is read from
+ * notification_unread, which every write path keeps in step.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationInboxService {
+
+	private final NotificationRepository notificationRepository;
+	private final NotificationUnreadRepository notificationUnreadRepository;
+
+	@Transactional(readOnly = true)
+	public List<NotificationInfo> inbox(NotificationHub.Recipient recipient, Integer before, Integer limit) {
+		return notificationRepository.findInboxBefore(recipient.userId(), recipient.audience().name(),
+				before != null ? before : Integer.MAX_VALUE, Paging.limit(limit));
+	}
+
+	@Transactional(readOnly = true)
+	public UnreadCountResponse unreadCount(NotificationHub.Recipient recipient) {
+		return UnreadCountResponse.builder().unread(unread(recipient)).build();
+	}
+
+	@Transactional
+	public UnreadCountResponse markRead(NotificationHub.Recipient recipient, MarkNotificationsReadRequest request) {
+		String audience = recipient.audience().name();
+		int updated = 0;
+		if (request.getIds() != null && !request.getIds().isEmpty()) {
+			updated += notificationRepository.markRead(recipient.userId(), audience, request.getIds());
+		}
+		if (request.getUpTo() != null) {
+			updated += notificationRepository.markReadUpTo(recipient.userId(), audience, request.getUpTo());
+		}
+		return UnreadCountResponse.builder().unread(unread(recipient)).updated(updated).build();
+	}
+
+	@Transactional
+	public void rebuildUnreadCounts() {
+		notificationUnreadRepository.lockForRebuild();
+		notificationUnreadRepository.deleteAllCounts();
+		int recipients = notificationUnreadRepository.insertCountsFromNotifications();
+		log.info("Rebuilt unread notification counts for {} recipients", recipients);
+	}
+
+	private int unread(NotificationHub.Recipient recipient) {
+		return notificationUnreadRepository
+				.findById(new NotificationUnread.Key(recipient.userId(), recipient.audience().name()))
+				.map(NotificationUnread::getUnread)
+				.orElse(0);
+	}
+}
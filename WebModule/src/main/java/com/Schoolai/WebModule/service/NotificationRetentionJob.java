@@ -0,0 +1,57 @@
+package com.Schoolai.WebModule.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Schoolai.WebModule.repository.NotificationRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves notifications older than {@code max-age} into notification_archive so the inbox table and
+ * its indexes stay small. Works in chunks, one transaction each, so it never holds many row locks.
+ */
+@Slf4j
+@Component
+public class NotificationRetentionJob {
+
+	private final TransactionTemplate transactionTemplate;
+	private final NotificationRepository notificationRepository;
+	private final Duration maxAge;
+	private final int chunkSize;
+
+	public NotificationRetentionJob(TransactionTemplate transactionTemplate, NotificationRepository notificationRepository,
+			@Value("${notifications.retention.max-age:90d}") Duration maxAge,
+			@Value("${notifications.retention.chunk-size:5000}") int chunkSize) {
+		this.transactionTemplate = transactionTemplate;
+		this.notificationRepository = notificationRepository;
+		this.maxAge = maxAge;
+		this.chunkSize = chunkSize;
+	}
+
+	@Scheduled(cron = "${notifications.retention.cron:0 30 3 * * *}")
+	public void archive() {
+		LocalDateTime now = LocalDateTime.now();
+		LocalDateTime cutoff = now.minus(maxAge);
+		long total = 0;
+		try {
+			int moved;
+			do {
+				moved = transactionTemplate.execute(status -> notificationRepository.archiveOlderThan(cutoff, chunkSize, now));
+				total += moved;
+			} while (moved == chunkSize);
+		} catch (RuntimeException e) {
+			// Whatever was committed stays archived; the next run picks up the rest
+			log.warn("Notification archiving stopped after {} rows", total, e);
+			return;
+		}
+		if (total > 0) {
+			log.info("Archived {} notifications older than {}", total, cutoff);
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package com.Schoolai.WebModule.service;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+public final class Paging {
+
+	public static final int DEFAULT_LIMIT = 50;
+	public static final int MAX_LIMIT = 500;
+
+	private Paging() {
+	}
+
+	// Keyset pages always start at offset 0; the cursor lives in the WHERE clause
+	public static Pageable limit(Integer limit) {
+		int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+		return PageRequest.ofSize(size);
+	}
+
+	public static int after(Integer after) {
+		return after == null ? 0 : after;
+	}
+}
@@ -0,0 +1,75 @@
+package com.Schoolai.WebModule.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.Schoolai.WebModule.entity.Performance;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA listener on Performance that keeps the student's subject totals in step and announces the
+ * write, so the student's dashboard snapshot and the assessment's gradebook are rebuilt however the
+ * row was saved. Created by Hibernate through Spring; the stats service is looked up lazily because
+ * it depends on repositories that are only available once the EntityManagerFactory exists.
+ */
+public class PerformanceListener {
+
+	private final ApplicationEventPublisher eventPublisher;
+	private final ObjectProvider<StudentSubjectStatsService> stats;
+
+	public PerformanceListener(ApplicationEventPublisher eventPublisher, ObjectProvider<StudentSubjectStatsService> stats) {
+		this.eventPublisher = eventPublisher;
+		this.stats = stats;
+	}
+
+	@PostLoad
+	public void loaded(Performance performance) {
+		performance.setCounted(Performance.Counted.of(performance));
+	}
+
+	@PostPersist
+	public void persisted(Performance performance) {
+		count(performance);
+		recorded(performance);
+	}
+
+	@PostUpdate
+	public void updated(Performance performance) {
+		takeBack(performance);
+		count(performance);
+		recorded(performance);
+	}
+
+	@PostRemove
+	public void removed(Performance performance) {
+		takeBack(performance);
+		performance.setCounted(null);
+		recorded(performance);
+	}
+
+	private void count(Performance performance) {
+		Performance.Counted counted = Performance.Counted.of(performance);
+		StudentSubjectStatsService service = stats.getIfAvailable();
+		if (service != null) {
+			service.add(counted);
+		}
+		performance.setCounted(counted);
+	}
+
+	private void takeBack(Performance performance) {
+		StudentSubjectStatsService service = stats.getIfAvailable();
+		if (service != null && performance.getCounted() != null) {
+			service.takeBack(performance.getCounted());
+		}
+	}
+
+	private void recorded(Performance performance) {
+		eventPublisher.publishEvent(new StudentDashboardCache.PerformanceRecorded(
+				performance.getStudent() != null ? performance.getStudent().getId() : null,
+				performance.getAssessment() != null ? performance.getAssessment().getId() : null));
+	}
+}
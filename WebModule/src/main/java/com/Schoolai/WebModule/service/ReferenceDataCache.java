@@ -0,0 +1,149 @@
+package com.Schoolai.WebModule.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.Schoolai.WebModule.entity.Curriculum;
+import com.Schoolai.WebModule.entity.School;
+import com.Schoolai.WebModule.entity.Subject;
+import com.Schoolai.WebModule.repository.CurriculumRepository;
+import com.Schoolai.WebModule.repository.SchoolRepository;
+import com.Schoolai.WebModule.repository.SubjectRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Read-through cache of schools, curricula and subjects, including the natural-key lookups used on
+ * every login and progress request. Values are immutable snapshots rather than entities, so they
+ * are safe to share between sessions; callers that need an association use
+ * {@code getReferenceById} with the cached id. {@link ReferenceDataListener} evicts entries when
+ * an entity is written through JPA; anything else is picked up when the TTL runs out.
+ */
+@Component
+public class ReferenceDataCache {
+
+	public record SchoolRef(Integer id, String schoolName, String address, String board) {
+		static SchoolRef of(School school) {
+			return new SchoolRef(school.getId(), school.getSchoolName(), school.getAddress(), school.getBoard());
+		}
+	}
+
+	public record CurriculumRef(Integer id, String className, Integer schoolId, String medium, String description) {
+		static CurriculumRef of(Curriculum curriculum) {
+			return new CurriculumRef(curriculum.getId(), curriculum.getClassName(),
+					curriculum.getSchool() != null ? curriculum.getSchool().getId() : null,
+					curriculum.getMedium(), curriculum.getDescription());
+		}
+	}
+
+	public record SubjectRef(Integer id, String subjectName, String className, Integer curriculumId) {
+		static SubjectRef of(Subject subject) {
+			return new SubjectRef(subject.getId(), subject.getSubjectName(), subject.getClassName(),
+					subject.getCurriculum() != null ? subject.getCurriculum().getId() : null);
+		}
+	}
+
+	// curriculumId is null for students without a curriculum, who get every subject of their class
+	private record ClassKey(String className, Integer curriculumId) {
+	}
+
+	private final SchoolRepository schoolRepository;
+	private final CurriculumRepository curriculumRepository;
+	private final SubjectRepository subjectRepository;
+	// Misses are cached too (as empty), so unknown names and ids don't reach the database every time
+	private final Cache<Integer, Optional<SchoolRef>> schools;
+	private final Cache<String, Optional<SchoolRef>> schoolsByName;
+	private final Cache<Integer, Optional<CurriculumRef>> curricula;
+	private final Cache<Integer, Optional<SubjectRef>> subjects;
+	private final Cache<ClassKey, List<SubjectRef>> subjectsByClass;
+
+	public ReferenceDataCache(SchoolRepository schoolRepository, CurriculumRepository curriculumRepository,
+			SubjectRepository subjectRepository, MeterRegistry registry,
+			@Value("${reference-cache.ttl:1h}") Duration ttl,
+			@Value("${reference-cache.max-size:10000}") int maxSize) {
+		this.schoolRepository = schoolRepository;
+		this.curriculumRepository = curriculumRepository;
+		this.subjectRepository = subjectRepository;
+		this.schools = build(ttl, maxSize, registry, "reference.schools");
+		this.schoolsByName = build(ttl, maxSize, registry, "reference.schools-by-name");
+		this.curricula = build(ttl, maxSize, registry, "reference.curricula");
+		this.subjects = build(ttl, maxSize, registry, "reference.subjects");
+		this.subjectsByClass = build(ttl, maxSize, registry, "reference.subjects-by-class");
+	}
+
+	private static <K, V> Cache<K, V> build(Duration ttl, int maxSize, MeterRegistry registry, String name) {
+		Cache<K, V> cache = Caffeine.newBuilder()
+				.expireAfterWrite(ttl)
+				.maximumSize(maxSize)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(registry, cache, name);
+		return cache;
+	}
+
+	public Optional<SchoolRef> school(Integer id) {
+		return id == null ? Optional.empty() : schools.get(id, k -> schoolRepository.findById(k).map(SchoolRef::of));
+	}
+
+	public Optional<SchoolRef> schoolByName(String schoolName) {
+		return schoolName == null ? Optional.empty()
+				: schoolsByName.get(schoolName, k -> schoolRepository.findBySchoolName(k).map(SchoolRef::of));
+	}
+
+	public Optional<CurriculumRef> curriculum(Integer id) {
+		return id == null ? Optional.empty()
+				: curricula.get(id, k -> curriculumRepository.findById(k).map(CurriculumRef::of));
+	}
+
+	public Optional<SubjectRef> subject(Integer id) {
+		return id == null ? Optional.empty() : subjects.get(id, k -> subjectRepository.findById(k).map(SubjectRef::of));
+	}
+
+	public List<SubjectRef> subjectsForClass(String className, Integer curriculumId) {
+		return subjectsByClass.get(new ClassKey(className, curriculumId), key -> (key.curriculumId() != null
+				? subjectRepository.findByClassNameAndCurriculumId(key.className(), key.curriculumId())
+				: subjectRepository.findByClassName(key.className()))
+				.stream().map(SubjectRef::of).toList());
+	}
+
+	void evict(Object entity) {
+		runNowAndAfterCommit(() -> {
+			if (entity instanceof School school) {
+				schools.invalidate(school.getId());
+				// The name may have changed, so also drop any entry still pointing at this id
+				schoolsByName.invalidate(school.getSchoolName());
+				schoolsByName.asMap().values().removeIf(ref -> ref.isPresent() && Objects.equals(ref.get().id(), school.getId()));
+			} else if (entity instanceof Curriculum curriculum) {
+				curricula.invalidate(curriculum.getId());
+			} else if (entity instanceof Subject subject) {
+				subjects.invalidate(subject.getId());
+				// Subject lists are few and small; rebuilding them all is simpler than tracking old keys
+				subjectsByClass.invalidateAll();
+			}
+		});
+	}
+
+	// A reader between the write and the commit can still load the old row; evicting again after
+	// commit makes sure that copy doesn't stay cached until the TTL
+	private static void runNowAndAfterCommit(Runnable eviction) {
+		eviction.run();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					eviction.run();
+				}
+			});
+		}
+	}
+}
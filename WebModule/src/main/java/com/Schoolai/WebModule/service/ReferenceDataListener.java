@@ -0,0 +1,31 @@
+package com.Schoolai.WebModule.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA listener on School, Curriculum and Subject that evicts them from {@link ReferenceDataCache}.
+ * Hibernate creates it through Spring; the cache is looked up lazily because it depends on
+ * repositories that are only available once the EntityManagerFactory exists.
+ */
+public class ReferenceDataListener {
+
+	private final ObjectProvider<ReferenceDataCache> cache;
+
+	public ReferenceDataListener(ObjectProvider<ReferenceDataCache> cache) {
+		this.cache = cache;
+	}
+
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	public void evict(Object entity) {
+		ReferenceDataCache referenceDataCache = cache.getIfAvailable();
+		if (referenceDataCache != null) {
+			referenceDataCache.evict(entity);
+		}
+	}
+}
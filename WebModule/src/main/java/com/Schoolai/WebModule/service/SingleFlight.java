@@ -0,0 +1,97 @@
+package com.Schoolai.WebModule.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Shares one upstream call between concurrent callers with the same key. Every caller that joined
+ * a flight is handed to {@code onSettled} together, once, before any of them sees the result, so
+ * per-caller side effects can be written as a single batch; what it returns is the result every
+ * caller gets, and if it throws, every caller fails. Settling runs on {@code settleExecutor}, not on
+ * the thread that completed the upstream call.
+ *
+ * @param <K> flight key
+ * @param <V> upstream result
+ * @param <C> per-caller context
+ */
+public class SingleFlight<K, V, C> {
+
+	private static final class Flight<V, C> {
+		private final List<C> callers = new ArrayList<>();
+		private final CompletableFuture<V> result = new CompletableFuture<>();
+		private boolean closed;
+	}
+
+	private final ConcurrentHashMap<K, Flight<V, C>> flights = new ConcurrentHashMap<>();
+	private final Executor settleExecutor;
+	private final Counter upstreamCalls;
+	private final Counter coalescedCalls;
+
+	public SingleFlight(String name, Executor settleExecutor, MeterRegistry registry) {
+		this.settleExecutor = settleExecutor;
+		this.upstreamCalls = registry.counter("ai.flights.calls", "endpoint", name, "result", "upstream");
+		this.coalescedCalls = registry.counter("ai.flights.calls", "endpoint", name, "result", "coalesced");
+	}
+
+	public CompletableFuture<V> execute(K key, C caller, Supplier<CompletableFuture<V>> call,
+			BiFunction<V, List<C>, V> onSettled) {
+		while (true) {
+			Flight<V, C> flight = flights.computeIfAbsent(key, k -> new Flight<>());
+			boolean leader;
+			synchronized (flight) {
+				if (flight.closed) {
+					// Settling already started; drop the stale entry and start a fresh flight
+					flights.remove(key, flight);
+					continue;
+				}
+				flight.callers.add(caller);
+				leader = flight.callers.size() == 1;
+			}
+			if (leader) {
+				upstreamCalls.increment();
+				start(key, flight, call, onSettled);
+			} else {
+				coalescedCalls.increment();
+			}
+			return flight.result.copy();
+		}
+	}
+
+	public int inFlight() {
+		return flights.size();
+	}
+
+	private void start(K key, Flight<V, C> flight, Supplier<CompletableFuture<V>> call, BiFunction<V, List<C>, V> onSettled) {
+		CompletableFuture<V> upstream;
+		try {
+			upstream = call.get();
+		} catch (RuntimeException e) {
+			upstream = CompletableFuture.failedFuture(e);
+		}
+		upstream.whenCompleteAsync((value, error) -> {
+			flights.remove(key, flight);
+			List<C> callers;
+			synchronized (flight) {
+				flight.closed = true;
+				callers = List.copyOf(flight.callers);
+			}
+			if (error != null) {
+				flight.result.completeExceptionally(error);
+				return;
+			}
+			try {
+				flight.result.complete(onSettled.apply(value, callers));
+			} catch (RuntimeException e) {
+				flight.result.completeExceptionally(e);
+			}
+		}, settleExecutor);
+	}
+}
@@ -0,0 +1,136 @@
+package com.Schoolai.WebModule.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.Schoolai.WebModule.dto.AssignmentSummary;
+import com.Schoolai.WebModule.dto.PerformanceSummary;
+import com.Schoolai.WebModule.dto.StudentProgressResponse;
+import com.Schoolai.WebModule.dto.SubjectInfo;
+import com.Schoolai.WebModule.dto.VideoInfo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Per-student snapshot of everything the dashboard shows, built once and shared by the progress,
+ * subjects, assignments, performance and videos endpoints. Snapshots are dropped by the domain events
+ * below once their transaction commits. Events about a subject (new assignment or video) bump that
+ * subject's version instead of searching the cache: a snapshot remembers the versions it was built
+ * from and is rebuilt on the next read if any of them moved.
+ */
+@Component
+public class StudentDashboardCache {
+
+	public record Snapshot(StudentProgressResponse progress, List<SubjectInfo> subjects,
+			List<AssignmentSummary> assignments, List<PerformanceSummary> performance, List<VideoInfo> videos,
+			Map<Integer, Long> subjectVersions) {
+	}
+
+	public record AssignmentCreated(Integer subjectId) {
+	}
+
+	public record SubmissionReceived(Integer studentId) {
+	}
+
+	public record PerformanceRecorded(Integer studentId, Integer assessmentId) {
+	}
+
+	public record VideoPublished(Integer subjectId) {
+	}
+
+	private final Cache<Integer, Snapshot> snapshots;
+	// One counter per subject; there are few enough subjects that this is never trimmed
+	private final Map<Integer, AtomicLong> subjectVersions = new ConcurrentHashMap<>();
+
+	public StudentDashboardCache(MeterRegistry registry,
+			@Value("${dashboard-cache.ttl:10m}") Duration ttl,
+			@Value("${dashboard-cache.max-size:10000}") int maxSize) {
+		this.snapshots = Caffeine.newBuilder()
+				.expireAfterWrite(ttl)
+				.maximumSize(maxSize)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(registry, snapshots, "student.dashboard");
+	}
+
+	/**
+	 * Returns the student's snapshot, building it with the loader when absent or outdated. The loader
+	 * returns null for unknown students, which is not cached.
+	 */
+	public Snapshot get(Integer studentId, Function<Integer, Snapshot> loader) {
+		Snapshot snapshot = snapshots.get(studentId, loader);
+		if (snapshot != null && !isCurrent(snapshot)) {
+			snapshots.asMap().remove(studentId, snapshot);
+			snapshot = snapshots.get(studentId, loader);
+		}
+		return snapshot;
+	}
+
+	/** Must be read before the data the snapshot is built from, so a change in between makes it outdated. */
+	public Map<Integer, Long> subjectVersions(Collection<Integer> subjectIds) {
+		Map<Integer, Long> versions = new HashMap<>();
+		for (Integer subjectId : subjectIds) {
+			versions.put(subjectId, version(subjectId).get());
+		}
+		return versions;
+	}
+
+	public void invalidateStudent(Integer studentId) {
+		if (studentId != null) {
+			snapshots.invalidate(studentId);
+		}
+	}
+
+	public void invalidateSubject(Integer subjectId) {
+		if (subjectId != null) {
+			version(subjectId).incrementAndGet();
+		}
+	}
+
+	// fallbackExecution: events raised outside a transaction still invalidate, just immediately
+	@TransactionalEventListener(fallbackExecution = true)
+	public void on(AssignmentCreated event) {
+		invalidateSubject(event.subjectId());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void on(SubmissionReceived event) {
+		invalidateStudent(event.studentId());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void on(PerformanceRecorded event) {
+		invalidateStudent(event.studentId());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void on(VideoPublished event) {
+		invalidateSubject(event.subjectId());
+	}
+
+	private boolean isCurrent(Snapshot snapshot) {
+		for (Map.Entry<Integer, Long> entry : snapshot.subjectVersions().entrySet()) {
+			if (version(entry.getKey()).get() != entry.getValue()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private AtomicLong version(Integer subjectId) {
+		return subjectVersions.computeIfAbsent(subjectId, id -> new AtomicLong());
+	}
+}
@@ -1,10 +1,12 @@
 package com.Schoolai.WebModule.service;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,17 +17,15 @@ import com.Schoolai.WebModule.dto.StudentProgressResponse;
 import com.Schoolai.WebModule.dto.StudentSubjectProgress;
 import com.Schoolai.WebModule.dto.SubjectInfo;
 import com.Schoolai.WebModule.dto.VideoInfo;
-import com.Schoolai.WebModule.entity.Assignment;
-import com.Schoolai.WebModule.entity.Performance;
 import com.Schoolai.WebModule.entity.Student;
-import com.Schoolai.WebModule.entity.Subject;
 import com.Schoolai.WebModule.entity.Video;
-import com.Schoolai.WebModule.repository.AssessmentRepository;
 import com.Schoolai.WebModule.repository.AssignmentRepository;
 import com.Schoolai.WebModule.repository.PerformanceRepository;
 import com.Schoolai.WebModule.repository.StudentRepository;
 import com.Schoolai.WebModule.repository.SubjectRepository;
 import com.Schoolai.WebModule.repository.VideoRepository;
+import com.Schoolai.WebModule.service.ReferenceDataCache.SubjectRef;
+import com.Schoolai.WebModule.service.StudentDashboardCache.Snapshot;
 
 import lombok.RequiredArgsConstructor;
 
@@ -36,23 +36,70 @@ public class StudentProgressService {
 	private final StudentRepository studentRepository;
 	private final SubjectRepository subjectRepository;
 	private final AssignmentRepository assignmentRepository;
-	private final AssessmentRepository assessmentRepository;
 	private final PerformanceRepository performanceRepository;
 	private final VideoRepository videoRepository;
+	private final ReferenceDataCache referenceDataCache;
+	private final StudentDashboardCache dashboardCache;
 
 	@Transactional(readOnly = true)
 	public StudentProgressResponse getProgress(Integer studentId) {
+		Snapshot snapshot = dashboard(studentId);
+		if (snapshot == null) {
+			return StudentProgressResponse.builder().studentId(studentId).studentName(null).className(null).subjects(List.of()).build();
+		}
+		return snapshot.progress();
+	}
+
+	@Transactional(readOnly = true)
+	public List<SubjectInfo> getSubjects(Integer studentId) {
+		Snapshot snapshot = dashboard(studentId);
+		return snapshot != null ? snapshot.subjects() : List.of();
+	}
+
+	@Transactional(readOnly = true)
+	public List<AssignmentSummary> getAssignments(Integer studentId) {
+		Snapshot snapshot = dashboard(studentId);
+		return snapshot != null ? snapshot.assignments() : List.of();
+	}
+
+	@Transactional(readOnly = true)
+	public List<PerformanceSummary> getPerformance(Integer studentId) {
+		Snapshot snapshot = dashboard(studentId);
+		return snapshot != null ? snapshot.performance() : List.of();
+	}
+
+	@Transactional(readOnly = true)
+	public List<VideoInfo> getVideos(Integer studentId) {
+		Snapshot snapshot = dashboard(studentId);
+		return snapshot != null ? snapshot.videos() : List.of();
+	}
+
+	private Snapshot dashboard(Integer studentId) {
+		return dashboardCache.get(studentId, this::buildSnapshot);
+	}
+
+	// Everything the five dashboard endpoints return, from one pass over the student's subjects
+	private Snapshot buildSnapshot(Integer studentId) {
 		Student student = studentRepository.findById(studentId).orElse(null);
 		if (student == null) {
-			return StudentProgressResponse.builder().studentId(studentId).studentName(null).className(null).subjects(List.of()).build();
+			return null;
 		}
 
-		String className = student.getClassName();
-		List<Subject> subjects = new ArrayList<>();
-		if (student.getCurriculum() != null) {
-			subjects = subjectRepository.findByClassNameAndCurriculumId(className, student.getCurriculum().getId());
-		} else {
-			subjects = subjectRepository.findByClassName(className);
+		List<SubjectRef> subjects = findSubjects(student);
+		List<Integer> subjectIds = subjects.stream().map(SubjectRef::id).collect(Collectors.toList());
+		Map<Integer, Long> versions = dashboardCache.subjectVersions(subjectIds);
+
+		Map<Integer, StudentSubjectProgress> aggregates = subjectIds.isEmpty() ? Map.of()
+				: subjectRepository.aggregateProgress(studentId, subjectIds).stream()
+						.collect(Collectors.toMap(StudentSubjectProgress::getSubjectId, Function.identity()));
+		Map<Integer, List<Video>> videosBySubject = subjectIds.isEmpty() ? Map.of()
+				: videoRepository.findBySubjectIdInOrderById(subjectIds).stream()
+						.collect(Collectors.groupingBy(v -> v.getSubject().getId()));
+		Map<Integer, List<AssignmentSummary>> assignmentsBySubject = Map.of();
+		if (!subjectIds.isEmpty()) {
+			try (Stream<AssignmentSummary> rows = assignmentRepository.streamSummariesForStudent(studentId, subjectIds)) {
+				assignmentsBySubject = rows.collect(Collectors.groupingBy(AssignmentSummary::getSubjectId));
+			}
 		}
 
 		int totalAssignments = 0;
@@ -61,134 +108,110 @@ public class StudentProgressService {
 		int assessmentsTaken = 0;
 
 		List<StudentSubjectProgress> perSubject = new ArrayList<>();
-		for (Subject subject : subjects) {
-			List<Assignment> subjectAssignments = assignmentRepository.findBySubjectId(subject.getId());
-			int subjectTotal = subjectAssignments.size();
-			int subjectSubmitted = (int) subjectAssignments.stream().filter(a -> a.getSubmittedOn() != null).count();
-			int subjectPending = subjectTotal - subjectSubmitted;
-
-			totalAssignments += subjectTotal;
-			totalSubmitted += subjectSubmitted;
-			totalPending += subjectPending;
-
-			int subjectAssessments = assessmentRepository.findBySubjectId(subject.getId()).size();
-			assessmentsTaken += subjectAssessments;
-
-			List<Performance> perf = performanceRepository.findByStudentId(studentId).stream()
-					.filter(p -> p.getAssessment() != null && p.getAssessment().getSubject() != null && p.getAssessment().getSubject().getId().equals(subject.getId()))
-					.collect(Collectors.toList());
-			BigDecimal avg = perf.isEmpty() ? BigDecimal.ZERO : BigDecimal.valueOf(perf.stream()
-					.map(p -> p.getMarksObtained() != null ? p.getMarksObtained().doubleValue() : 0.0)
-					.mapToDouble(Double::doubleValue)
-					.average().orElse(0.0)).setScale(2, RoundingMode.HALF_UP);
-			String lastGrade = perf.isEmpty() ? null : perf.get(perf.size() - 1).getGrade();
-
-			List<Video> videos = videoRepository.findBySubjectId(subject.getId());
-			StudentSubjectProgress ssp = StudentSubjectProgress.builder()
-					.subjectId(subject.getId())
-					.subjectName(subject.getSubjectName())
-					.className(subject.getClassName())
-					.totalAssignments(subjectTotal)
-					.submittedAssignments(subjectSubmitted)
-					.pendingAssignments(subjectPending)
-					.assessmentsCount(subjectAssessments)
-					.averageMarks(avg)
-					.lastGrade(lastGrade)
-					.videosCount(videos.size())
-					.videoTitles(videos.stream().map(Video::getTitle).collect(Collectors.toList()))
-					.build();
+		List<SubjectInfo> subjectInfos = new ArrayList<>();
+		List<AssignmentSummary> assignments = new ArrayList<>();
+		List<VideoInfo> videos = new ArrayList<>();
+		for (SubjectRef subject : subjects) {
+			StudentSubjectProgress ssp = aggregates.get(subject.id());
+			List<Video> subjectVideos = videosBySubject.getOrDefault(subject.id(), List.of());
+			ssp.setVideosCount(subjectVideos.size());
+			ssp.setVideoTitles(subjectVideos.stream().map(Video::getTitle).collect(Collectors.toList()));
+
+			totalAssignments += ssp.getTotalAssignments();
+			totalSubmitted += ssp.getSubmittedAssignments();
+			totalPending += ssp.getPendingAssignments();
+			assessmentsTaken += ssp.getAssessmentsCount();
 			perSubject.add(ssp);
+
+			subjectInfos.add(SubjectInfo.builder()
+					.subjectId(subject.id())
+					.subjectName(subject.subjectName())
+					.className(subject.className())
+					.build());
+			assignments.addAll(assignmentsBySubject.getOrDefault(subject.id(), List.of()));
+			for (Video v : subjectVideos) {
+				videos.add(VideoInfo.builder()
+						.videoId(v.getId())
+						.subjectId(subject.id())
+						.subjectName(subject.subjectName())
+						.title(v.getTitle())
+						.url(v.getUrl())
+						.videoType(v.getVideoType())
+						.build());
+			}
 		}
 
-		return StudentProgressResponse.builder()
+		StudentProgressResponse progress = StudentProgressResponse.builder()
 					.studentId(student.getId())
 					.studentName(student.getFullName())
 					.schoolId(student.getSchool() != null ? student.getSchool().getId() : null)
-					.className(className)
+					.className(student.getClassName())
 					.totalAssignments(totalAssignments)
 					.totalSubmitted(totalSubmitted)
 					.totalPending(totalPending)
 					.assessmentsTaken(assessmentsTaken)
 					.subjects(perSubject)
 					.build();
+		List<PerformanceSummary> performance;
+		try (Stream<PerformanceSummary> rows = performanceRepository.streamSummariesByStudentId(studentId)) {
+			performance = rows.toList();
+		}
+		return new Snapshot(progress, List.copyOf(subjectInfos), List.copyOf(assignments), List.copyOf(performance),
+				List.copyOf(videos), versions);
 	}
 
 	@Transactional(readOnly = true)
-	public List<SubjectInfo> getSubjects(Integer studentId) {
-		Student student = studentRepository.findById(studentId).orElse(null);
-		if (student == null) return List.of();
-		String className = student.getClassName();
-		List<Subject> subjects;
-		if (student.getCurriculum() != null) {
-			subjects = subjectRepository.findByClassNameAndCurriculumId(className, student.getCurriculum().getId());
-		} else {
-			subjects = subjectRepository.findByClassName(className);
+	public List<AssignmentSummary> getAssignments(Integer studentId, Integer after, Integer limit) {
+		List<Integer> subjectIds = findSubjectIds(studentId);
+		if (subjectIds.isEmpty()) return List.of();
+		return assignmentRepository.findSummariesForStudentAfter(studentId, subjectIds, Paging.after(after), Paging.limit(limit));
+	}
+
+	@Transactional(readOnly = true)
+	public void streamAssignments(Integer studentId, Consumer<AssignmentSummary> sink) {
+		List<Integer> subjectIds = findSubjectIds(studentId);
+		if (subjectIds.isEmpty()) return;
+		try (Stream<AssignmentSummary> rows = assignmentRepository.streamSummariesForStudent(studentId, subjectIds)) {
+			rows.forEach(sink);
 		}
-		return subjects.stream().map(s -> SubjectInfo.builder()
-				.subjectId(s.getId())
-				.subjectName(s.getSubjectName())
-				.className(s.getClassName())
-				.build()).collect(Collectors.toList());
 	}
 
 	@Transactional(readOnly = true)
-	public List<AssignmentSummary> getAssignments(Integer studentId) {
-		Student student = studentRepository.findById(studentId).orElse(null);
-		if (student == null) return List.of();
-		List<SubjectInfo> subjects = getSubjects(studentId);
-		List<AssignmentSummary> result = new ArrayList<>();
-		for (SubjectInfo s : subjects) {
-			List<Assignment> assignments = assignmentRepository.findBySubjectId(s.getSubjectId());
-			for (Assignment a : assignments) {
-				result.add(AssignmentSummary.builder()
-						.assignmentId(a.getId())
-						.subjectId(s.getSubjectId())
-						.subjectName(s.getSubjectName())
-						.title(a.getTitle())
-						.dueDate(a.getDueDate())
-						.submitted(a.getSubmittedOn() != null)
-						.build());
-			}
+	public List<PerformanceSummary> getPerformance(Integer studentId, Integer after, Integer limit) {
+		return performanceRepository.findSummariesByStudentIdAfter(studentId, Paging.after(after), Paging.limit(limit));
+	}
+
+	@Transactional(readOnly = true)
+	public void streamPerformance(Integer studentId, Consumer<PerformanceSummary> sink) {
+		try (Stream<PerformanceSummary> rows = performanceRepository.streamSummariesByStudentId(studentId)) {
+			rows.forEach(sink);
 		}
-		return result;
 	}
 
 	@Transactional(readOnly = true)
-	public List<PerformanceSummary> getPerformance(Integer studentId) {
-		Student student = studentRepository.findById(studentId).orElse(null);
-		if (student == null) return List.of();
-		List<Performance> perf = performanceRepository.findByStudentId(studentId);
-		return perf.stream().map(p -> PerformanceSummary.builder()
-				.assessmentId(p.getAssessment() != null ? p.getAssessment().getId() : null)
-				.subjectId(p.getAssessment() != null && p.getAssessment().getSubject() != null ? p.getAssessment().getSubject().getId() : null)
-				.subjectName(p.getAssessment() != null && p.getAssessment().getSubject() != null ? p.getAssessment().getSubject().getSubjectName() : null)
-				.title(p.getAssessment() != null ? p.getAssessment().getTitle() : null)
-				.marksObtained(p.getMarksObtained())
-				.grade(p.getGrade())
-				.build()).collect(Collectors.toList());
+	public List<VideoInfo> getVideos(Integer studentId, Integer after, Integer limit) {
+		List<Integer> subjectIds = findSubjectIds(studentId);
+		if (subjectIds.isEmpty()) return List.of();
+		return videoRepository.findInfosBySubjectIdsAfter(subjectIds, Paging.after(after), Paging.limit(limit));
 	}
 
 	@Transactional(readOnly = true)
-	public List<VideoInfo> getVideos(Integer studentId) {
-		Student student = studentRepository.findById(studentId).orElse(null);
-		if (student == null) return List.of();
-		List<SubjectInfo> subjects = getSubjects(studentId);
-		List<VideoInfo> result = new ArrayList<>();
-		for (SubjectInfo s : subjects) {
-			List<Video> videos = videoRepository.findBySubjectId(s.getSubjectId());
-			for (Video v : videos) {
-				result.add(VideoInfo.builder()
-						.videoId(v.getId())
-						.subjectId(s.getSubjectId())
-						.subjectName(s.getSubjectName())
-						.title(v.getTitle())
-						.url(v.getUrl())
-						.videoType(v.getVideoType())
-						.build());
-			}
+	public void streamVideos(Integer studentId, Consumer<VideoInfo> sink) {
+		List<Integer> subjectIds = findSubjectIds(studentId);
+		if (subjectIds.isEmpty()) return;
+		try (Stream<VideoInfo> rows = videoRepository.streamInfosBySubjectIds(subjectIds)) {
+			rows.forEach(sink);
 		}
-		return result;
 	}
-}
 
+	private List<SubjectRef> findSubjects(Student student) {
+		return referenceDataCache.subjectsForClass(student.getClassName(),
+				student.getCurriculum() != null ? student.getCurriculum().getId() : null);
+	}
 
+	private List<Integer> findSubjectIds(Integer studentId) {
+		return studentRepository.findById(studentId)
+				.map(student -> findSubjects(student).stream().map(SubjectRef::id).collect(Collectors.toList()))
+				.orElse(List.of());
+	}
+}
@@ -8,11 +8,11 @@ import org.springframework.transaction.annotation.Transactional;
 import com.Schoolai.WebModule.dto.StudentRegistrationRequest;
 import com.Schoolai.WebModule.dto.StudentResponse;
 import com.Schoolai.WebModule.entity.Curriculum;
-import com.Schoolai.WebModule.entity.School;
 import com.Schoolai.WebModule.entity.Student;
 import com.Schoolai.WebModule.repository.CurriculumRepository;
 import com.Schoolai.WebModule.repository.SchoolRepository;
 import com.Schoolai.WebModule.repository.StudentRepository;
+import com.Schoolai.WebModule.service.ReferenceDataCache.SchoolRef;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,15 +22,16 @@ public class StudentService {
 
 	private final SchoolRepository schoolRepository;
 	private final CurriculumRepository curriculumRepository;
+	private final ReferenceDataCache referenceDataCache;
 	private final StudentRepository studentRepository;
 
 	@Transactional
 	public StudentResponse register(StudentRegistrationRequest request) {
-		Optional<School> schoolOpt = schoolRepository.findBySchoolName(request.getSchoolName());
+		Optional<SchoolRef> schoolOpt = referenceDataCache.schoolByName(request.getSchoolName());
 		if (schoolOpt.isEmpty()) {
 			return StudentResponse.builder().message("Invalid school name").build();
 		}
-		School school = schoolOpt.get();
+		SchoolRef school = schoolOpt.get();
 
 		if (request.getEmail() != null && studentRepository.findByEmail(request.getEmail()).isPresent()) {
 			return StudentResponse.builder().message("Email already registered").build();
@@ -38,14 +39,16 @@ public class StudentService {
 
 		Curriculum curriculum = null;
 		if (request.getCurriculumId() != null) {
-			curriculum = curriculumRepository.findByIdAndSchoolId(request.getCurriculumId(), school.getId())
+			curriculum = referenceDataCache.curriculum(request.getCurriculumId())
+					.filter(c -> school.id().equals(c.schoolId()))
+					.map(c -> curriculumRepository.getReferenceById(c.id()))
 					.orElse(null);
 		}
 
 		Student student = Student.builder()
 					.fullName(request.getFullName())
 					.className(request.getClassName())
-					.school(school)
+					.school(schoolRepository.getReferenceById(school.id()))
 					.password(request.getPassword())
 					.medium(request.getMedium())
 					.email(request.getEmail())
@@ -60,7 +63,7 @@ public class StudentService {
 		student = studentRepository.save(student);
 		return StudentResponse.builder()
 					.studentId(student.getId())
-					.schoolId(school.getId())
+					.schoolId(school.id())
 					.curriculumId(curriculum != null ? curriculum.getId() : null)
 					.message("Student registered successfully")
 					.build();
@@ -0,0 +1,126 @@
+package com.Schoolai.WebModule.service;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.Schoolai.WebModule.entity.Performance;
+import com.Schoolai.WebModule.repository.StudentSubjectStatsRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps student_subject_stats in step with performance rows as {@link PerformanceListener} sees them
+ * written: a new mark is added to its student's subject totals and a changed or removed one is taken
+ * back out first. The subject comes from the assessment in the same statement, so nothing is loaded.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StudentSubjectStatsService {
+
+	private static final String ADD = "INSERT INTO student_subject_stats AS s (student_id, subject_id, marked, marks_sum, "
+			+ "marks_squares, last_performance_id, last_grade, last_assessment_date) "
+			+ "SELECT ?, a.subject_id, 1, ?, ?, ?, ?, a.due_date FROM assessment a "
+			+ "WHERE a.assessment_id = ? AND a.subject_id IS NOT NULL "
+			+ "ON CONFLICT ON CONSTRAINT student_subject_stats_pkey DO UPDATE SET marked = s.marked + 1, "
+			+ "marks_sum = s.marks_sum + EXCLUDED.marks_sum, marks_squares = s.marks_squares + EXCLUDED.marks_squares, "
+			+ "last_grade = CASE WHEN s.last_performance_id IS NULL OR EXCLUDED.last_performance_id >= s.last_performance_id "
+			+ "THEN EXCLUDED.last_grade ELSE s.last_grade END, "
+			+ "last_assessment_date = CASE WHEN s.last_performance_id IS NULL OR EXCLUDED.last_performance_id >= s.last_performance_id "
+			+ "THEN EXCLUDED.last_assessment_date ELSE s.last_assessment_date END, "
+			+ "last_performance_id = GREATEST(s.last_performance_id, EXCLUDED.last_performance_id)";
+
+	private static final String TAKE_BACK = "UPDATE student_subject_stats s SET marked = s.marked - 1, "
+			+ "marks_sum = s.marks_sum - ?, marks_squares = s.marks_squares - ? "
+			+ "FROM assessment a WHERE a.assessment_id = ? AND s.subject_id = a.subject_id AND s.student_id = ?";
+
+	private static final String REFRESH_LAST = "UPDATE student_subject_stats s "
+			+ "SET (last_performance_id, last_grade, last_assessment_date) = "
+			+ "(SELECT p.performance_id, p.grade, pa.due_date FROM performance p "
+			+ "JOIN assessment pa ON pa.assessment_id = p.assessment_id "
+			+ "WHERE p.student_id = s.student_id AND pa.subject_id = s.subject_id ORDER BY p.performance_id DESC LIMIT 1) "
+			+ "FROM assessment a WHERE a.assessment_id = ? AND s.subject_id = a.subject_id AND s.student_id = ?";
+
+	private record Taken(Integer studentId, Integer assessmentId) {
+	}
+
+	private final StudentSubjectStatsRepository studentSubjectStatsRepository;
+	private final JdbcTemplate jdbcTemplate;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	void add(Performance.Counted mark) {
+		if (mark.studentId() == null || mark.assessmentId() == null) {
+			return;
+		}
+		BigDecimal marks = marks(mark);
+		jdbcTemplate.update(ADD, mark.studentId(), marks, marks.multiply(marks), mark.performanceId(), mark.grade(),
+				mark.assessmentId());
+	}
+
+	void takeBack(Performance.Counted mark) {
+		if (mark.studentId() == null || mark.assessmentId() == null) {
+			return;
+		}
+		BigDecimal marks = marks(mark);
+		jdbcTemplate.update(TAKE_BACK, marks, marks.multiply(marks), mark.assessmentId(), mark.studentId());
+		refreshLastBeforeCommit(new Taken(mark.studentId(), mark.assessmentId()));
+	}
+
+	@Transactional
+	public void rebuildStats() {
+		studentSubjectStatsRepository.lockForRebuild();
+		studentSubjectStatsRepository.deleteAllStats();
+		int rows = studentSubjectStatsRepository.insertStatsFromPerformance();
+		log.info("Rebuilt subject mark totals for {} student subjects", rows);
+	}
+
+	// The row taken back may have been the latest. Other rows changed in the same flush may still be
+	// waiting in a JDBC batch, so the latest is looked up just before commit, after the final flush.
+	@SuppressWarnings("unchecked")
+	private void refreshLastBeforeCommit(Taken taken) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			refreshLast(Set.of(taken));
+			return;
+		}
+		Set<Taken> pending = (Set<Taken>) TransactionSynchronizationManager.getResource(this);
+		if (pending == null) {
+			Set<Taken> keys = new LinkedHashSet<>();
+			TransactionSynchronizationManager.bindResource(this, keys);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(StudentSubjectStatsService.this);
+				}
+			});
+			// Spring's beforeCommit runs before Hibernate's own flush at commit; this runs after it
+			entityManager.unwrap(SessionImplementor.class).getActionQueue()
+					.registerProcess((BeforeTransactionCompletionProcess) session -> refreshLast(keys));
+			pending = keys;
+		}
+		pending.add(taken);
+	}
+
+	private void refreshLast(Set<Taken> taken) {
+		jdbcTemplate.batchUpdate(REFRESH_LAST, taken.stream()
+				.map(t -> new Object[] { t.assessmentId(), t.studentId() })
+				.toList());
+	}
+
+	private static BigDecimal marks(Performance.Counted mark) {
+		return mark.marks() != null ? mark.marks() : BigDecimal.ZERO;
+	}
+}
@@ -1,8 +1,13 @@
 package com.Schoolai.WebModule.service;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,31 +15,29 @@ import com.Schoolai.WebModule.dto.AssignmentSummary;
 import com.Schoolai.WebModule.dto.CreateAssignmentRequest;
 import com.Schoolai.WebModule.dto.CreateTopicRequest;
 import com.Schoolai.WebModule.dto.PerformanceSummary;
+import com.Schoolai.WebModule.dto.StudentInfo;
 import com.Schoolai.WebModule.dto.SubjectInfo;
 import com.Schoolai.WebModule.dto.VideoInfo;
 import com.Schoolai.WebModule.dto.TeacherRegistrationRequest;
 import com.Schoolai.WebModule.dto.TeacherResponse;
+import com.Schoolai.WebModule.dto.StudentViewTotals;
 import com.Schoolai.WebModule.dto.VideoViewInfo;
+import com.Schoolai.WebModule.dto.VideoViewTotals;
 import com.Schoolai.WebModule.entity.Assignment;
-import com.Schoolai.WebModule.entity.Performance;
-import com.Schoolai.WebModule.entity.Assessment;
-import com.Schoolai.WebModule.entity.Student;
 import com.Schoolai.WebModule.entity.Subject;
 import com.Schoolai.WebModule.entity.Teacher;
 import com.Schoolai.WebModule.entity.Topic;
 import com.Schoolai.WebModule.entity.School;
-import com.Schoolai.WebModule.entity.Video;
-import com.Schoolai.WebModule.entity.VideoView;
-import com.Schoolai.WebModule.repository.AssessmentRepository;
 import com.Schoolai.WebModule.repository.AssignmentRepository;
+import com.Schoolai.WebModule.repository.AssignmentSubmissionRepository;
 import com.Schoolai.WebModule.repository.PerformanceRepository;
 import com.Schoolai.WebModule.repository.StudentRepository;
 import com.Schoolai.WebModule.repository.SubjectRepository;
 import com.Schoolai.WebModule.repository.TeacherRepository;
 import com.Schoolai.WebModule.repository.SchoolRepository;
 import com.Schoolai.WebModule.repository.TopicRepository;
-import com.Schoolai.WebModule.repository.VideoRepository;
 import com.Schoolai.WebModule.repository.VideoViewRepository;
+import com.Schoolai.WebModule.repository.VideoViewStatsRepository;
 
 import lombok.RequiredArgsConstructor;
 
@@ -46,16 +49,19 @@ public class TeacherService {
 	private final SubjectRepository subjectRepository;
 	private final StudentRepository studentRepository;
 	private final AssignmentRepository assignmentRepository;
+	private final AssignmentSubmissionRepository assignmentSubmissionRepository;
 	private final PerformanceRepository performanceRepository;
-	private final AssessmentRepository assessmentRepository;
-	private final VideoRepository videoRepository;
 	private final VideoViewRepository videoViewRepository;
+	private final VideoViewStatsRepository videoViewStatsRepository;
 	private final TopicRepository topicRepository;
 	private final SchoolRepository schoolRepository;
+	private final ReferenceDataCache referenceDataCache;
+	private final ApplicationEventPublisher eventPublisher;
 
 	@Transactional
 	public Integer addAssignment(CreateAssignmentRequest request) {
-		Subject subject = subjectRepository.findById(request.getSubjectId()).orElseThrow();
+		Subject subject = referenceDataCache.subject(request.getSubjectId())
+				.map(ref -> subjectRepository.getReferenceById(ref.id())).orElseThrow();
 		Teacher teacher = teacherRepository.findById(request.getTeacherId()).orElseThrow();
 		Assignment a = Assignment.builder()
 				.subject(subject)
@@ -69,12 +75,14 @@ public class TeacherService {
 				.maxMarks(request.getMaxMarks())
 				.build();
 		a = assignmentRepository.save(a);
+		eventPublisher.publishEvent(new StudentDashboardCache.AssignmentCreated(subject.getId()));
 		return a.getId();
 	}
 
 	@Transactional
 	public Integer addTopic(CreateTopicRequest request) {
-		Subject subject = subjectRepository.findById(request.getSubjectId()).orElseThrow();
+		Subject subject = referenceDataCache.subject(request.getSubjectId())
+				.map(ref -> subjectRepository.getReferenceById(ref.id())).orElseThrow();
 		Teacher teacher = teacherRepository.findById(request.getTeacherId()).orElseThrow();
 		Topic topic = Topic.builder()
 				.className(request.getClassName())
@@ -91,58 +99,92 @@ public class TeacherService {
 	@Transactional(readOnly = true)
 	public List<AssignmentSummary> getAssignmentsBySubject(Integer teacherId, Integer subjectId) {
 		Teacher teacher = teacherRepository.findById(teacherId).orElseThrow();
-		List<Assignment> assignments = assignmentRepository.findBySubjectId(subjectId);
-		return assignments.stream().filter(a -> a.getAssignedBy() != null && a.getAssignedBy().getId().equals(teacher.getId()))
+		List<Assignment> assignments = assignmentRepository.findBySubjectId(subjectId).stream()
+				.filter(a -> a.getAssignedBy() != null && a.getAssignedBy().getId().equals(teacher.getId()))
+				.collect(Collectors.toList());
+		if (assignments.isEmpty()) {
+			return List.of();
+		}
+		// For the teacher, "submitted" means at least one student has handed it in
+		Set<Integer> submitted = new HashSet<>(assignmentSubmissionRepository
+				.findSubmittedAssignmentIds(assignments.stream().map(Assignment::getId).toList()));
+		return assignments.stream()
 				.map(a -> AssignmentSummary.builder()
 						.assignmentId(a.getId())
 						.subjectId(subjectId)
 						.subjectName(a.getSubject() != null ? a.getSubject().getSubjectName() : null)
 						.title(a.getTitle())
 						.dueDate(a.getDueDate())
-						.submitted(a.getSubmittedOn() != null)
+						.submitted(submitted.contains(a.getId()))
 						.build())
 				.collect(Collectors.toList());
 	}
 
 	@Transactional(readOnly = true)
 	public List<PerformanceSummary> getPerformanceBySubject(Integer subjectId) {
-		List<Assessment> assessments = assessmentRepository.findBySubjectId(subjectId);
-		List<Integer> assessmentIds = assessments.stream().map(Assessment::getId).collect(Collectors.toList());
-		List<Performance> perf = assessmentIds.isEmpty() ? List.of() : performanceRepository.findAll().stream()
-				.filter(p -> p.getAssessment() != null && assessmentIds.contains(p.getAssessment().getId()))
-				.collect(Collectors.toList());
-		return perf.stream().map(p -> PerformanceSummary.builder()
-				.assessmentId(p.getAssessment() != null ? p.getAssessment().getId() : null)
-				.subjectId(subjectId)
-				.subjectName(p.getAssessment() != null && p.getAssessment().getSubject() != null ? p.getAssessment().getSubject().getSubjectName() : null)
-				.title(p.getAssessment() != null ? p.getAssessment().getTitle() : null)
-				.marksObtained(p.getMarksObtained())
-				.grade(p.getGrade())
-				.build()).collect(Collectors.toList());
+		return performanceRepository.findSummariesBySubjectId(subjectId);
+	}
+
+	@Transactional(readOnly = true)
+	public List<PerformanceSummary> getPerformanceBySubject(Integer subjectId, Integer after, Integer limit) {
+		return performanceRepository.findSummariesBySubjectIdAfter(subjectId, Paging.after(after), Paging.limit(limit));
+	}
+
+	@Transactional(readOnly = true)
+	public void streamPerformanceBySubject(Integer subjectId, Consumer<PerformanceSummary> sink) {
+		try (Stream<PerformanceSummary> rows = performanceRepository.streamSummariesBySubjectId(subjectId)) {
+			rows.forEach(sink);
+		}
+	}
+
+	@Transactional(readOnly = true)
+	public List<VideoViewInfo> getVideoViewsBySubject(Integer subjectId, Integer after, Integer limit) {
+		return videoViewRepository.findInfosBySubjectIdAfter(subjectId, Paging.after(after), Paging.limit(limit));
+	}
+
+	@Transactional(readOnly = true)
+	public void streamVideoViewsBySubject(Integer subjectId, Consumer<VideoViewInfo> sink) {
+		try (Stream<VideoViewInfo> rows = videoViewRepository.streamInfosBySubjectId(subjectId)) {
+			rows.forEach(sink);
+		}
 	}
 
 	@Transactional(readOnly = true)
 	public List<VideoViewInfo> getVideoViewsBySubject(Integer subjectId) {
-		List<Video> videos = videoRepository.findBySubjectId(subjectId);
-		return videos.stream()
-				.flatMap(v -> videoViewRepository.findByVideoId(v.getId()).stream()
-						.map(vv -> VideoViewInfo.builder()
-								.videoId(v.getId())
-								.studentId(vv.getStudent() != null ? vv.getStudent().getId() : null)
-								.studentName(vv.getStudent() != null ? vv.getStudent().getFullName() : null)
-								.viewedAt(vv.getViewedAt())
-								.build()))
-				.collect(Collectors.toList());
+		return videoViewRepository.findInfosBySubjectId(subjectId);
+	}
+
+	@Transactional(readOnly = true)
+	public List<VideoViewTotals> getVideoViewTotals(Integer subjectId) {
+		return videoViewStatsRepository.findVideoTotalsBySubjectId(subjectId);
+	}
+
+	@Transactional(readOnly = true)
+	public List<StudentViewTotals> getStudentViewTotals(Integer subjectId) {
+		return videoViewStatsRepository.findStudentTotalsBySubjectId(subjectId);
 	}
 
 	@Transactional(readOnly = true)
-	public List<Student> getClassStudents(String className) {
-		return studentRepository.findByClassName(className);
+	public List<StudentInfo> getClassStudents(String className) {
+		return studentRepository.findInfosByClassName(className);
+	}
+
+	@Transactional(readOnly = true)
+	public List<StudentInfo> getClassStudents(String className, Integer after, Integer limit) {
+		return studentRepository.findInfosByClassNameAfter(className, Paging.after(after), Paging.limit(limit));
+	}
+
+	@Transactional(readOnly = true)
+	public void streamClassStudents(String className, Consumer<StudentInfo> sink) {
+		try (Stream<StudentInfo> rows = studentRepository.streamInfosByClassName(className)) {
+			rows.forEach(sink);
+		}
 	}
 
 	@Transactional
 	public TeacherResponse registerTeacher(TeacherRegistrationRequest request) {
-		School school = schoolRepository.findById(request.getSchoolId()).orElse(null);
+		School school = referenceDataCache.school(request.getSchoolId())
+				.map(ref -> schoolRepository.getReferenceById(ref.id())).orElse(null);
 		if (school == null) {
 			return TeacherResponse.builder().message("Invalid school").build();
 		}
@@ -158,7 +200,8 @@ public class TeacherService {
 				.school(school)
 				.build();
 		if (request.getSubjectId() != null) {
-			teacher.setSubject(subjectRepository.findById(request.getSubjectId()).orElse(null));
+			teacher.setSubject(referenceDataCache.subject(request.getSubjectId())
+					.map(ref -> subjectRepository.getReferenceById(ref.id())).orElse(null));
 		}
 		teacher = teacherRepository.save(teacher);
 		return TeacherResponse.builder().teacherId(teacher.getId()).schoolId(school.getId()).message("Teacher registered")
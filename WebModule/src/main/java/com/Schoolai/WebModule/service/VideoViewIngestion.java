@@ -0,0 +1,263 @@
+package com.Schoolai.WebModule.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Schoolai.WebModule.config.PooledIds;
+import com.Schoolai.WebModule.entity.VideoView;
+import com.Schoolai.WebModule.repository.VideoViewStatsRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind ingestion of video views. Requests only put the view into a bounded in-memory ring,
+ * which never blocks; a scheduled flush drains it and writes up to {@code batch-size} views per
+ * transaction as one batched insert into video_view plus one batched upsert of the per-video,
+ * per-student counters in video_view_stats. A batch that fails to write is kept and retried with
+ * growing backoff while new views wait in the ring; only a batch the database rejects outright is
+ * dropped. Views still in memory when the process dies are lost, and a full ring turns new views
+ * away instead of growing.
+ */
+@Slf4j
+@Component
+public class VideoViewIngestion {
+
+	public record View(int videoId, int studentId, LocalDateTime viewedAt) {
+	}
+
+	private record StatsKey(int videoId, int studentId) {
+	}
+
+	private static final Comparator<StatsKey> KEY_ORDER = Comparator.comparingInt(StatsKey::videoId)
+			.thenComparingInt(StatsKey::studentId);
+
+	private static final String INSERT_VIEW = "INSERT INTO video_view (view_id, video_id, student_id, viewed_at) "
+			+ "VALUES (?, ?, ?, ?)";
+
+	private static final String ADD_STATS = "INSERT INTO video_view_stats (video_id, student_id, views, last_viewed_at) "
+			+ "VALUES (?, ?, ?, ?) ON CONFLICT ON CONSTRAINT video_view_stats_pkey "
+			+ "DO UPDATE SET views = video_view_stats.views + EXCLUDED.views, "
+			+ "last_viewed_at = GREATEST(video_view_stats.last_viewed_at, EXCLUDED.last_viewed_at)";
+
+	private final VideoViewStatsRepository videoViewStatsRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final JdbcTemplate jdbcTemplate;
+	private final NamedParameterJdbcTemplate namedJdbcTemplate;
+	private final Ring ring;
+	private final int batchSize;
+	private final long initialBackoffNanos;
+	private final long maxBackoffNanos;
+	// Drained from the ring but not written yet; guarded by the flush lock like the ring's consumer side
+	private final List<View> pending;
+	private long backoffNanos;
+	private long retryAt;
+	private final Counter accepted;
+	private final Counter rejected;
+	private final Counter written;
+	private final Counter discarded;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public VideoViewIngestion(VideoViewStatsRepository videoViewStatsRepository, TransactionTemplate transactionTemplate,
+			JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate, MeterRegistry registry,
+			@Value("${video-views.buffer-size:65536}") int bufferSize,
+			@Value("${video-views.batch-size:1000}") int batchSize,
+			@Value("${video-views.retry-backoff:1s}") Duration retryBackoff,
+			@Value("${video-views.retry-backoff-max:1m}") Duration maxRetryBackoff) {
+		this.videoViewStatsRepository = videoViewStatsRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.jdbcTemplate = jdbcTemplate;
+		this.namedJdbcTemplate = namedJdbcTemplate;
+		this.ring = new Ring(bufferSize);
+		this.batchSize = batchSize;
+		this.initialBackoffNanos = retryBackoff.toNanos();
+		this.maxBackoffNanos = maxRetryBackoff.toNanos();
+		this.pending = new ArrayList<>(Math.min(batchSize, ring.capacity()));
+		this.accepted = Counter.builder("video.views").tag("outcome", "accepted").register(registry);
+		this.rejected = Counter.builder("video.views").tag("outcome", "rejected").register(registry);
+		this.written = Counter.builder("video.views").tag("outcome", "written").register(registry);
+		this.discarded = Counter.builder("video.views").tag("outcome", "discarded").register(registry);
+		registry.gauge("video.views.buffered", ring, Ring::size);
+	}
+
+	/** Queues a view for the next flush; false when the buffer is full and the view was not taken. */
+	public boolean record(Integer studentId, Integer videoId, LocalDateTime viewedAt) {
+		if (studentId == null || videoId == null) {
+			throw new IllegalArgumentException("Student ID and video ID are required");
+		}
+		boolean offered = ring.offer(new View(videoId, studentId, viewedAt != null ? viewedAt : LocalDateTime.now()));
+		(offered ? accepted : rejected).increment();
+		return offered;
+	}
+
+	// synchronized: the ring has a single consumer, and shutdown may flush while the scheduler does
+	@Scheduled(fixedDelayString = "${video-views.flush-interval:250ms}")
+	public synchronized void flush() {
+		if (backoffNanos > 0 && System.nanoTime() - retryAt < 0) {
+			return;
+		}
+		drainAndWrite();
+	}
+
+	@PreDestroy
+	public synchronized void flushOnShutdown() {
+		drainAndWrite();
+		long lost = pending.size() + (long) ring.size();
+		if (lost > 0) {
+			log.warn("Lost {} video views that could not be written before shutdown", lost);
+			discarded.increment(lost);
+		}
+	}
+
+	// Stops at the first batch that fails for any reason but bad data, keeping it for the next attempt
+	private void drainAndWrite() {
+		while (!pending.isEmpty() || ring.drainTo(pending, batchSize) > 0) {
+			try {
+				writeBatch(pending);
+			} catch (DataIntegrityViolationException e) {
+				// A video or student deleted since the check; the same batch would fail again
+				log.warn("Dropped {} video views that could not be written", pending.size(), e);
+				discarded.increment(pending.size());
+			} catch (RuntimeException e) {
+				backoffNanos = backoffNanos > 0 ? Math.min(backoffNanos * 2, maxBackoffNanos) : Math.max(1, initialBackoffNanos);
+				retryAt = System.nanoTime() + backoffNanos;
+				log.warn("Could not write {} video views, retrying in {} ms", pending.size(), backoffNanos / 1_000_000, e);
+				return;
+			}
+			backoffNanos = 0;
+			pending.clear();
+		}
+	}
+
+	void writeBatch(List<View> batch) {
+		transactionTemplate.executeWithoutResult(status -> write(batch));
+	}
+
+	@Transactional
+	public void rebuildStats() {
+		videoViewStatsRepository.lockForRebuild();
+		videoViewStatsRepository.deleteAllStats();
+		int rows = videoViewStatsRepository.insertStatsFromViews();
+		log.info("Rebuilt video view counters for {} video viewers", rows);
+	}
+
+	private void write(List<View> batch) {
+		Set<Integer> videoIds = new HashSet<>();
+		Set<Integer> studentIds = new HashSet<>();
+		for (View view : batch) {
+			videoIds.add(view.videoId());
+			studentIds.add(view.studentId());
+		}
+		Set<Integer> knownVideos = new HashSet<>(namedJdbcTemplate.queryForList(
+				"SELECT video_id FROM videos WHERE video_id IN (:ids)", Map.of("ids", videoIds), Integer.class));
+		Set<Integer> knownStudents = new HashSet<>(namedJdbcTemplate.queryForList(
+				"SELECT student_id FROM student WHERE student_id IN (:ids)", Map.of("ids", studentIds), Integer.class));
+
+		SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+		IdentifierGenerator ids = PooledIds.generator(session, VideoView.class);
+		List<Object[]> rows = new ArrayList<>(batch.size());
+		// Sorted, so concurrent flushes from several instances take the counter rows' locks in the same order
+		Map<StatsKey, Object[]> stats = new TreeMap<>(KEY_ORDER);
+		for (View view : batch) {
+			if (!knownVideos.contains(view.videoId()) || !knownStudents.contains(view.studentId())) {
+				discarded.increment();
+				continue;
+			}
+			rows.add(new Object[] { ids.generate(session, null), view.videoId(), view.studentId(), view.viewedAt() });
+			Object[] counter = stats.computeIfAbsent(new StatsKey(view.videoId(), view.studentId()),
+					key -> new Object[] { key.videoId(), key.studentId(), 0, view.viewedAt() });
+			counter[2] = (Integer) counter[2] + 1;
+			if (view.viewedAt().isAfter((LocalDateTime) counter[3])) {
+				counter[3] = view.viewedAt();
+			}
+		}
+		if (!rows.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_VIEW, rows);
+			jdbcTemplate.batchUpdate(ADD_STATS, new ArrayList<>(stats.values()));
+			written.increment(rows.size());
+		}
+	}
+
+	/**
+	 * Bounded multi-producer, single-consumer ring. Producers claim a sequence number with a CAS on
+	 * the tail and then publish into its slot; the consumer takes slots in order, stopping at one that
+	 * was claimed but not yet published, and clears each slot before moving the head past it so a
+	 * producer that wraps around always finds its slot empty.
+	 */
+	private static final class Ring {
+
+		private final AtomicReferenceArray<View> slots;
+		private final int mask;
+		private final AtomicLong tail = new AtomicLong();
+		private volatile long head;
+
+		Ring(int requestedCapacity) {
+			int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+			this.slots = new AtomicReferenceArray<>(capacity);
+			this.mask = capacity - 1;
+		}
+
+		boolean offer(View view) {
+			long claimed;
+			do {
+				claimed = tail.get();
+				if (claimed - head >= slots.length()) {
+					return false;
+				}
+			} while (!tail.compareAndSet(claimed, claimed + 1));
+			slots.set((int) claimed & mask, view);
+			return true;
+		}
+
+		int drainTo(List<View> batch, int max) {
+			long next = head;
+			int drained = 0;
+			while (drained < max) {
+				int slot = (int) next & mask;
+				View view = slots.get(slot);
+				if (view == null) {
+					break;
+				}
+				slots.set(slot, null);
+				batch.add(view);
+				head = ++next;
+				drained++;
+			}
+			return drained;
+		}
+
+		int capacity() {
+			return slots.length();
+		}
+
+		double size() {
+			return Math.max(0, tail.get() - head);
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package com.Schoolai.WebModule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.Schoolai.WebModule.dto.AttendanceEntry;
+import com.Schoolai.WebModule.dto.AttendanceRollRequest;
+import com.Schoolai.WebModule.dto.AttendanceRollResponse;
+import com.Schoolai.WebModule.entity.AttendanceRollup;
+import com.Schoolai.WebModule.entity.AttendanceYear;
+import com.Schoolai.WebModule.repository.AttendanceYearRepository;
+import com.Schoolai.WebModule.service.AttendanceService;
+
+/**
+ * A roll writes the attendance upsert, the rollup deltas and the year bitmaps with hand-written SQL,
+ * so these run against the database. Rolls go to an academic year the seeded data never reaches, and
+ * each test is rolled back.
+ */
+@SpringBootTest
+@Transactional
+class AttendanceRollTests {
+
+	private static final int YEAR = 2031;
+
+	@Autowired
+	private AttendanceService attendanceService;
+
+	@Autowired
+	private AttendanceYearRepository attendanceYearRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Integer schoolId;
+	private String className;
+	private Integer first;
+	private Integer second;
+
+	@BeforeEach
+	void pickClass() {
+		Map<String, Object> row = jdbcTemplate.queryForMap("SELECT school_id, class, MIN(student_id) AS first, "
+				+ "MAX(student_id) AS second FROM student WHERE school_id IS NOT NULL "
+				+ "GROUP BY school_id, class HAVING COUNT(*) > 1 ORDER BY school_id, class LIMIT 1");
+		schoolId = (Integer) row.get("school_id");
+		className = (String) row.get("class");
+		first = (Integer) row.get("first");
+		second = (Integer) row.get("second");
+	}
+
+	@Test
+	void rollingADayAgainOverwritesItAndMovesTheRollups() {
+		LocalDate day = day(12);
+		roll(day, new AttendanceEntry(first, "Present", null), new AttendanceEntry(second, "Present", null));
+		roll(day, new AttendanceEntry(first, "absent", "Sick"));
+
+		assertThat(jdbcTemplate.queryForList("SELECT status FROM attendance WHERE student_id = ? AND date = ?",
+				String.class, first, day)).containsExactly("Absent");
+		assertThat(rollup(first, AttendanceRollup.DAY, day)).containsExactly(0, 1, 0);
+		assertThat(rollup(second, AttendanceRollup.DAY, day)).containsExactly(1, 0, 0);
+		assertThat(rollup(AttendanceRollup.CLASS_TOTAL, AttendanceRollup.DAY, day)).containsExactly(1, 1, 0);
+		assertThat(rollup(AttendanceRollup.CLASS_TOTAL, AttendanceRollup.MONTH, day.withDayOfMonth(1))).containsExactly(1, 1, 0);
+	}
+
+	@Test
+	void lastEntryForARepeatedStudentWins() {
+		LocalDate day = day(12);
+		AttendanceRollResponse response = roll(day, new AttendanceEntry(first, "Present", null),
+				new AttendanceEntry(first, "Late", null));
+
+		assertThat(response.getRecorded()).isEqualTo(1);
+		assertThat(jdbcTemplate.queryForList("SELECT status FROM attendance WHERE student_id = ? AND date = ?",
+				String.class, first, day)).containsExactly("Late");
+		assertThat(rollup(first, AttendanceRollup.DAY, day)).containsExactly(0, 0, 1);
+	}
+
+	@Test
+	void bitsSetByTheDatabaseAreTheDaysBitSetReads() {
+		// Days in different bytes and at different bit positions within them
+		roll(day(3), new AttendanceEntry(first, "Present", null));
+		roll(day(12), new AttendanceEntry(first, "Late", null));
+		roll(day(200), new AttendanceEntry(first, "Absent", null));
+		roll(day(201), new AttendanceEntry(first, "Late", null));
+		roll(day(201), new AttendanceEntry(first, "Absent", null));
+
+		AttendanceYear year = attendanceYearRepository.findById(new AttendanceYear.Key(first, YEAR)).orElseThrow();
+		assertThat(year.recordedDays()).isEqualTo(bits(3, 12, 200, 201));
+		assertThat(year.attendedDays()).isEqualTo(bits(3, 12));
+		assertThat(year.lateDays()).isEqualTo(bits(12));
+	}
+
+	private AttendanceRollResponse roll(LocalDate day, AttendanceEntry... entries) {
+		AttendanceRollRequest request = new AttendanceRollRequest();
+		request.setSchoolId(schoolId);
+		request.setClassName(className);
+		request.setDate(day);
+		request.setEntries(List.of(entries));
+		return attendanceService.recordRoll(request);
+	}
+
+	private List<Integer> rollup(int studentId, String period, LocalDate periodStart) {
+		return jdbcTemplate.queryForObject("SELECT present, absent, late FROM attendance_rollup "
+				+ "WHERE school_id = ? AND class_name = ? AND student_id = ? AND period = ? AND period_start = ?",
+				(rs, n) -> List.of(rs.getInt(1), rs.getInt(2), rs.getInt(3)),
+				schoolId, className, studentId, period, periodStart);
+	}
+
+	private static LocalDate day(int day) {
+		return AttendanceYear.firstDay(YEAR).plusDays(day);
+	}
+
+	private static BitSet bits(int... days) {
+		BitSet bits = new BitSet();
+		Arrays.stream(days).forEach(bits::set);
+		return bits;
+	}
+}
@@ -0,0 +1,95 @@
+package com.Schoolai.WebModule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.Schoolai.WebModule.security.JwtService;
+import com.Schoolai.WebModule.service.StudentDashboardCache;
+
+/**
+ * The progress endpoint must cost a fixed number of statements however many subjects, assignments
+ * and videos the student has. Every request below is made with the dashboard snapshot evicted, so
+ * each one builds it from the database. Statements are counted on the request thread only, so the
+ * background pollers running alongside don't add to the count.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.Schoolai.WebModule.StudentProgressQueryCountTests$StatementCounter")
+@AutoConfigureMockMvc
+class StudentProgressQueryCountTests {
+
+	// student, subjects of the class, aggregated subject progress, videos, assignments, marks
+	private static final long MAX_STATEMENTS = 6;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtService jwtService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private StudentDashboardCache dashboardCache;
+
+	@Test
+	void progressUsesBoundedStatementCount() throws Exception {
+		// The students with the most subjects and the most marks, where per-row queries would show up first
+		Set<Integer> students = new LinkedHashSet<>(jdbcTemplate.queryForList("SELECT s.student_id FROM student s "
+				+ "JOIN subjects sub ON sub.class = s.class "
+				+ "GROUP BY s.student_id ORDER BY COUNT(*) DESC, s.student_id LIMIT 10", Integer.class));
+		students.addAll(jdbcTemplate.queryForList("SELECT student_id FROM performance "
+				+ "GROUP BY student_id ORDER BY COUNT(*) DESC, student_id LIMIT 10", Integer.class));
+		assertThat(students).isNotEmpty();
+
+		for (Integer studentId : students) {
+			dashboardCache.invalidateStudent(studentId);
+			StatementCounter.reset();
+
+			mockMvc.perform(get("/api/students/{studentId}/progress", studentId)
+					.header(HttpHeaders.AUTHORIZATION, "Bearer " + token(studentId)))
+					.andExpect(status().isOk());
+
+			assertThat(StatementCounter.count())
+					.as("statements for student %d", studentId)
+					.isLessThanOrEqualTo(MAX_STATEMENTS);
+		}
+	}
+
+	private String token(Integer studentId) {
+		return jwtService.generateToken("student-" + studentId, Map.of("role", "STUDENT", "userId", studentId));
+	}
+
+	public static class StatementCounter implements StatementInspector {
+
+		private static final ThreadLocal<long[]> STATEMENTS = ThreadLocal.withInitial(() -> new long[1]);
+
+		static void reset() {
+			STATEMENTS.get()[0] = 0;
+		}
+
+		static long count() {
+			return STATEMENTS.get()[0];
+		}
+
+		@Override
+		public String inspect(String sql) {
+			STATEMENTS.get()[0]++;
+			return sql;
+		}
+	}
+}
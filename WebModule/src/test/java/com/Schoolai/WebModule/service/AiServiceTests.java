@@ -0,0 +1,152 @@
+package com.Schoolai.WebModule.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Schoolai.WebModule.dto.AskQuestionRequest;
+import com.Schoolai.WebModule.dto.AskQuestionResponse;
+import com.Schoolai.WebModule.dto.VideoGenerationRequest;
+import com.Schoolai.WebModule.dto.VideoGenerationResponse;
+import com.Schoolai.WebModule.entity.ChatHistory;
+import com.Schoolai.WebModule.entity.Subject;
+import com.Schoolai.WebModule.entity.Video;
+import com.Schoolai.WebModule.repository.ChatHistoryRepository;
+import com.Schoolai.WebModule.repository.StudentRepository;
+import com.Schoolai.WebModule.repository.SubjectRepository;
+import com.Schoolai.WebModule.repository.TeacherRepository;
+import com.Schoolai.WebModule.repository.VideoRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AiServiceTests {
+
+	private static final int CALLERS = 16;
+
+	private final ExecutorService settleExecutor = Executors.newSingleThreadExecutor();
+	private final AiGateway aiGateway = mock(AiGateway.class);
+	private final ChatHistoryRepository chatHistoryRepository = mock(ChatHistoryRepository.class);
+	private final SubjectRepository subjectRepository = mock(SubjectRepository.class);
+	private final ReferenceDataCache referenceDataCache = mock(ReferenceDataCache.class);
+	private final VideoRepository videoRepository = mock(VideoRepository.class);
+	private final StudentRepository studentRepository = mock(StudentRepository.class);
+	private final AiService aiService = new AiService(aiGateway,
+			new AnswerCache(new MinHashMatcher(), chatHistoryRepository, new SimpleMeterRegistry(), Duration.ofHours(1),
+					100, true, 0.8, System::nanoTime, Runnable::run),
+			new SingleFlight<>("ask", settleExecutor, new SimpleMeterRegistry()),
+			new SingleFlight<>("videos", settleExecutor, new SimpleMeterRegistry()),
+			new TransactionTemplate(mock(PlatformTransactionManager.class)), chatHistoryRepository, subjectRepository,
+			referenceDataCache, mock(TeacherRepository.class), videoRepository, studentRepository,
+			mock(ApplicationEventPublisher.class));
+
+	@AfterEach
+	void shutdown() {
+		settleExecutor.shutdownNow();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void identicalQuestionsMakeOneCallAndOneHistoryRowPerCaller() throws Exception {
+		CompletableFuture<String> upstream = new CompletableFuture<>();
+		when(aiGateway.ask(anyString())).thenReturn(upstream);
+		when(studentRepository.findClassNameById(anyInt())).thenReturn(Optional.of("10-A"));
+
+		List<CompletableFuture<AskQuestionResponse>> responses = new ArrayList<>();
+		for (int i = 0; i < CALLERS; i++) {
+			responses.add(aiService.askQuestion(question(100 + i, i % 2 == 0 ? "What is a prime?" : "what is a PRIME")));
+		}
+		upstream.complete("A number with two divisors");
+
+		for (CompletableFuture<AskQuestionResponse> response : responses) {
+			assertThat(response.get(5, TimeUnit.SECONDS).getAnswer()).isEqualTo("A number with two divisors");
+		}
+		verify(aiGateway, times(1)).ask(anyString());
+		ArgumentCaptor<List<ChatHistory>> saved = ArgumentCaptor.forClass(List.class);
+		verify(chatHistoryRepository, times(1)).saveAll(saved.capture());
+		assertThat(saved.getValue()).extracting(ChatHistory::getSenderId).hasSize(CALLERS).doesNotHaveDuplicates();
+	}
+
+	@Test
+	void identicalVideoRequestsShareOneSavedVideo() throws Exception {
+		CompletableFuture<String> upstream = new CompletableFuture<>();
+		when(aiGateway.generateVideo(anyString())).thenReturn(upstream);
+		when(referenceDataCache.subject(3)).thenReturn(Optional.of(new ReferenceDataCache.SubjectRef(3, "Science", "10-A", null)));
+		when(subjectRepository.getReferenceById(3)).thenReturn(Subject.builder().id(3).build());
+		when(videoRepository.save(any(Video.class))).thenAnswer(inv -> {
+			Video video = inv.getArgument(0);
+			video.setId(42);
+			return video;
+		});
+
+		List<CompletableFuture<VideoGenerationResponse>> responses = new ArrayList<>();
+		for (int i = 0; i < CALLERS; i++) {
+			responses.add(aiService.generateVideo(videoRequest(100 + i, "Newton " + i)));
+		}
+		upstream.complete("https://videos/newton");
+
+		for (CompletableFuture<VideoGenerationResponse> response : responses) {
+			VideoGenerationResponse video = response.get(5, TimeUnit.SECONDS);
+			assertThat(video.getVideoId()).isEqualTo(42);
+			assertThat(video.getUrl()).isEqualTo("https://videos/newton");
+		}
+		verify(aiGateway, times(1)).generateVideo(anyString());
+		verify(videoRepository, times(1)).save(any(Video.class));
+	}
+
+	@Test
+	void failedHistoryWriteFailsEveryCoalescedCaller() throws Exception {
+		CompletableFuture<String> upstream = new CompletableFuture<>();
+		when(aiGateway.ask(anyString())).thenReturn(upstream);
+		when(studentRepository.findClassNameById(anyInt())).thenReturn(Optional.empty());
+		when(chatHistoryRepository.saveAll(anyList())).thenThrow(new IllegalStateException("database down"));
+
+		List<CompletableFuture<AskQuestionResponse>> responses = new ArrayList<>();
+		for (int i = 0; i < CALLERS; i++) {
+			responses.add(aiService.askQuestion(question(100 + i, "What is a prime?")));
+		}
+		upstream.complete("A number with two divisors");
+
+		for (CompletableFuture<AskQuestionResponse> response : responses) {
+			assertThat(response).failsWithin(5, TimeUnit.SECONDS).withThrowableThat().withRootCauseInstanceOf(IllegalStateException.class);
+		}
+	}
+
+	private static AskQuestionRequest question(int studentId, String question) {
+		AskQuestionRequest request = new AskQuestionRequest();
+		request.setStudentId(studentId);
+		request.setSubjectId(3);
+		request.setQuestion(question);
+		return request;
+	}
+
+	private static VideoGenerationRequest videoRequest(int studentId, String title) {
+		VideoGenerationRequest request = new VideoGenerationRequest();
+		request.setStudentId(studentId);
+		request.setSubjectId(3);
+		request.setTopicContext("Newton's laws");
+		request.setTitle(title);
+		return request;
+	}
+}
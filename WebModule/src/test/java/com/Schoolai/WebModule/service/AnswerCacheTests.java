@@ -0,0 +1,119 @@
+package com.Schoolai.WebModule.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AnswerCacheTests {
+
+	private static final Duration TTL = Duration.ofHours(6);
+	private static final String MATHS_10A = AnswerCache.scope(3, "10-A");
+
+	private final AtomicLong nanos = new AtomicLong();
+
+	@Test
+	void normalizeFoldsCaseWidthWhitespaceAndTrailingPunctuation() {
+		assertThat(AnswerCache.normalize("  What   is\tPhotosynthesis?! ")).isEqualTo("what is photosynthesis");
+		assertThat(AnswerCache.normalize("ＷＨＡＴ is 2+2 ?")).isEqualTo("what is 2+2");
+		assertThat(AnswerCache.normalize("Explain x.y, then z")).isEqualTo("explain x.y, then z");
+		assertThat(AnswerCache.normalize("???")).isEmpty();
+		assertThat(AnswerCache.normalize(null)).isEmpty();
+	}
+
+	@Test
+	void keyIsScopedBySubjectAndClass() {
+		String key = AnswerCache.key(3, "10-A", "What is a prime?");
+		assertThat(AnswerCache.key(3, "10-A", "what is a prime")).isEqualTo(key);
+		assertThat(AnswerCache.key(4, "10-A", "What is a prime?")).isNotEqualTo(key);
+		assertThat(AnswerCache.key(3, "10-B", "What is a prime?")).isNotEqualTo(key);
+	}
+
+	@Test
+	void exactHitIgnoresFormatting() {
+		AnswerCache cache = cache(100, true);
+		cache.put(MATHS_10A, "What is a prime number?", "A number with exactly two divisors");
+
+		assertThat(cache.lookup(MATHS_10A, "  what IS a   prime number ")).contains("A number with exactly two divisors");
+	}
+
+	@Test
+	void answersDoNotLeakAcrossScopes() {
+		AnswerCache cache = cache(100, true);
+		cache.put(MATHS_10A, "What is a prime number?", "maths 10-A");
+
+		assertThat(cache.lookup(AnswerCache.scope(4, "10-A"), "What is a prime number?")).isEmpty();
+		assertThat(cache.lookup(AnswerCache.scope(3, "10-B"), "What is a prime number?")).isEmpty();
+		assertThat(cache.lookup(AnswerCache.scope(4, "10-A"), "What is a prime number, really?")).isEmpty();
+	}
+
+	@Test
+	void nearDuplicateAboveThresholdHits() {
+		AnswerCache cache = cache(100, true);
+		cache.put(MATHS_10A, "Explain the process of photosynthesis in green plants", "answer");
+
+		assertThat(cache.lookup(MATHS_10A, "explain the process of photosynthesis in green plant")).contains("answer");
+	}
+
+	@Test
+	void questionsBelowThresholdMiss() {
+		AnswerCache cache = cache(100, true);
+		cache.put(MATHS_10A, "Explain the process of photosynthesis in green plants", "answer");
+
+		assertThat(cache.lookup(MATHS_10A, "What is photosynthesis")).isEmpty();
+		assertThat(cache.lookup(MATHS_10A, "State Newton's second law of motion")).isEmpty();
+	}
+
+	@Test
+	void nearDuplicatesCanBeSwitchedOff() {
+		AnswerCache cache = cache(100, false);
+		cache.put(MATHS_10A, "Explain the process of photosynthesis in green plants", "answer");
+
+		assertThat(cache.lookup(MATHS_10A, "explain the process of photosynthesis in green plant")).isEmpty();
+		assertThat(cache.lookup(MATHS_10A, "Explain the process of photosynthesis in green plants.")).contains("answer");
+	}
+
+	@Test
+	void entriesExpireAfterTtl() {
+		AnswerCache cache = cache(100, true);
+		cache.put(MATHS_10A, "Explain the process of photosynthesis in green plants", "answer");
+
+		nanos.addAndGet(TTL.minusSeconds(1).toNanos());
+		assertThat(cache.lookup(MATHS_10A, "Explain the process of photosynthesis in green plants")).contains("answer");
+
+		nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+		assertThat(cache.lookup(MATHS_10A, "Explain the process of photosynthesis in green plants")).isEmpty();
+		assertThat(cache.lookup(MATHS_10A, "explain the process of photosynthesis in green plant")).isEmpty();
+	}
+
+	@Test
+	void sizeIsBounded() {
+		AnswerCache cache = cache(2, true);
+		List<String> questions = List.of("What is a prime number", "Define an isosceles triangle", "State the Pythagorean theorem");
+		for (String question : questions) {
+			cache.put(MATHS_10A, question, "answer: " + question);
+		}
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(questions.stream().map(q -> cache.lookup(MATHS_10A, q)).filter(Optional::isPresent)).hasSize(2);
+	}
+
+	@Test
+	void blankQuestionsAreNotCached() {
+		AnswerCache cache = cache(100, true);
+		cache.put(MATHS_10A, " ?! ", "answer");
+
+		assertThat(cache.size()).isZero();
+	}
+
+	private AnswerCache cache(int maxSize, boolean nearDuplicates) {
+		return new AnswerCache(new MinHashMatcher(), null, new SimpleMeterRegistry(), TTL, maxSize, nearDuplicates, 0.8,
+				nanos::get, Runnable::run);
+	}
+}
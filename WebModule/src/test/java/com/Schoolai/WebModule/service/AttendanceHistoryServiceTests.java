@@ -0,0 +1,142 @@
+package com.Schoolai.WebModule.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.Schoolai.WebModule.dto.AttendanceHistory;
+import com.Schoolai.WebModule.entity.AttendanceYear;
+import com.Schoolai.WebModule.repository.AttendanceYearRepository;
+
+class AttendanceHistoryServiceTests {
+
+	private static final int YEAR = 2025;
+	private static final LocalDate FIRST_DAY = AttendanceYear.firstDay(YEAR);
+
+	private final AttendanceYearRepository repository = mock(AttendanceYearRepository.class);
+	private final AttendanceHistoryService service = new AttendanceHistoryService(repository, null);
+
+	@Test
+	void daysWithoutARollDoNotBreakAStreak() {
+		// Days 5 to 9 have no roll at all, so days 3 to 11 are one absence and then one streak
+		AttendanceHistory history = history(year(7)
+				.attended(0, 1, 2, 10, 11)
+				.recorded(0, 1, 2, 3, 4, 10, 11));
+
+		assertThat(history.getRecordedDays()).isEqualTo(7);
+		assertThat(history.getAttendedDays()).isEqualTo(5);
+		assertThat(history.getAbsentDays()).isEqualTo(2);
+		assertThat(history.getAttendanceRate()).isEqualByComparingTo("71.43");
+		assertThat(history.getLongestStreak()).isEqualTo(3);
+		assertThat(history.getCurrentStreak()).isEqualTo(2);
+		assertThat(history.getLongestAbsence()).isEqualTo(2);
+		assertThat(history.getCurrentAbsence()).isZero();
+		assertThat(history.getLastRecorded()).isEqualTo(FIRST_DAY.plusDays(11));
+	}
+
+	@Test
+	void runOfAbsencesUpToTheLastRollIsTheCurrentAbsence() {
+		// Runs across a byte boundary, and the last roll is on the last day of the academic year
+		AttendanceHistory history = history(year(7)
+				.attended(6, 7)
+				.recorded(6, 7, 8, 9, 364));
+
+		assertThat(history.getCurrentStreak()).isZero();
+		assertThat(history.getLongestStreak()).isEqualTo(2);
+		assertThat(history.getCurrentAbsence()).isEqualTo(3);
+		assertThat(history.getLongestAbsence()).isEqualTo(3);
+		assertThat(history.getLastRecorded()).isEqualTo(LocalDate.of(YEAR + 1, 3, 31));
+	}
+
+	@Test
+	void bitsOnDaysWithoutARollAreIgnored() {
+		// Attended and late bits left on days without a roll, and a late bit on an absent day
+		AttendanceHistory history = history(year(7)
+				.attended(0, 1, 40)
+				.late(1, 2, 40)
+				.recorded(0, 1, 2));
+
+		assertThat(history.getRecordedDays()).isEqualTo(3);
+		assertThat(history.getAttendedDays()).isEqualTo(2);
+		assertThat(history.getLateDays()).isEqualTo(1);
+		assertThat(history.getLastRecorded()).isEqualTo(FIRST_DAY.plusDays(2));
+	}
+
+	@Test
+	void yearWithoutRollsHasNoRateOrLastDay() {
+		when(repository.findById(new AttendanceYear.Key(7, YEAR))).thenReturn(Optional.empty());
+
+		AttendanceHistory history = service.history(7, YEAR);
+
+		assertThat(history.getRecordedDays()).isZero();
+		assertThat(history.getAttendanceRate()).isNull();
+		assertThat(history.getLastRecorded()).isNull();
+		assertThat(history.getFrom()).isEqualTo(FIRST_DAY);
+		assertThat(history.getTo()).isEqualTo(LocalDate.of(YEAR + 1, 3, 31));
+	}
+
+	@Test
+	void absencesListsStudentsWithALongEnoughRun() {
+		when(repository.findForClass(1, "5A", YEAR)).thenReturn(List.of(
+				year(7).recorded(0, 1, 2).build(),
+				year(8).attended(1).recorded(0, 1, 2).build(),
+				year(9).attended(0, 1, 2).recorded(0, 1, 2).build()));
+
+		assertThat(service.absences(1, "5A", YEAR, 2))
+				.extracting(AttendanceHistory::getStudentId)
+				.containsExactly(7);
+	}
+
+	private AttendanceHistory history(Bitmaps bitmaps) {
+		AttendanceYear year = bitmaps.build();
+		when(repository.findById(new AttendanceYear.Key(year.getStudentId(), YEAR))).thenReturn(Optional.of(year));
+		return service.history(year.getStudentId(), YEAR);
+	}
+
+	private static Bitmaps year(int studentId) {
+		return new Bitmaps(studentId);
+	}
+
+	private static final class Bitmaps {
+
+		private final int studentId;
+		private final BitSet recorded = new BitSet();
+		private final BitSet attended = new BitSet();
+		private final BitSet late = new BitSet();
+
+		Bitmaps(int studentId) {
+			this.studentId = studentId;
+		}
+
+		Bitmaps recorded(int... days) {
+			Arrays.stream(days).forEach(recorded::set);
+			return this;
+		}
+
+		Bitmaps attended(int... days) {
+			Arrays.stream(days).forEach(attended::set);
+			return this;
+		}
+
+		Bitmaps late(int... days) {
+			Arrays.stream(days).forEach(late::set);
+			return this;
+		}
+
+		AttendanceYear build() {
+			return new AttendanceYear(studentId, YEAR, bytes(recorded), bytes(attended), bytes(late));
+		}
+
+		private static byte[] bytes(BitSet bits) {
+			return Arrays.copyOf(bits.toByteArray(), AttendanceYear.BITMAP_BYTES);
+		}
+	}
+}
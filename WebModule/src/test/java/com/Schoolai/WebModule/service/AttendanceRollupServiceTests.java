@@ -0,0 +1,154 @@
+package com.Schoolai.WebModule.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.Schoolai.WebModule.dto.AttendanceReport;
+import com.Schoolai.WebModule.entity.Attendance;
+import com.Schoolai.WebModule.entity.AttendanceRollup;
+import com.Schoolai.WebModule.repository.AttendanceRollupRepository;
+import com.Schoolai.WebModule.repository.AttendanceRollupRepository.Bucket;
+
+class AttendanceRollupServiceTests {
+
+	private static final LocalDate DAY = LocalDate.of(2025, 10, 14);
+
+	private final AttendanceRollupRepository repository = mock(AttendanceRollupRepository.class);
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final AttendanceRollupService service = new AttendanceRollupService(repository, jdbcTemplate);
+
+	// Every bucket query the report made, as "period from to"
+	private final List<String> queries = new ArrayList<>();
+
+	@Test
+	void statusChangeMovesOneCountBetweenColumns() {
+		service.apply(1, "5A", DAY,
+				Map.of(10, Attendance.PRESENT, 11, Attendance.PRESENT),
+				Map.of(10, Attendance.ABSENT, 11, Attendance.PRESENT, 12, Attendance.LATE));
+
+		// student, period, present, absent, late; the unchanged student 11 is left out
+		assertThat(appliedRows()).containsExactly(
+				List.of(AttendanceRollup.CLASS_TOTAL, AttendanceRollup.DAY, DAY, -1, 1, 1),
+				List.of(AttendanceRollup.CLASS_TOTAL, AttendanceRollup.MONTH, DAY.withDayOfMonth(1), -1, 1, 1),
+				List.of(10, AttendanceRollup.DAY, DAY, -1, 1, 0),
+				List.of(10, AttendanceRollup.MONTH, DAY.withDayOfMonth(1), -1, 1, 0),
+				List.of(12, AttendanceRollup.DAY, DAY, 0, 0, 1),
+				List.of(12, AttendanceRollup.MONTH, DAY.withDayOfMonth(1), 0, 0, 1));
+	}
+
+	@Test
+	void rollMatchingWhatWasRecordedWritesNothing() {
+		service.apply(1, "5A", DAY, Map.of(10, Attendance.LATE), Map.of(10, Attendance.LATE));
+
+		verifyNoInteractions(jdbcTemplate);
+	}
+
+	@Test
+	void monthReportTakesWholeMonthsFromMonthlyRowsAndPartialOnesFromDays() {
+		AttendanceReport report = monthReport(LocalDate.of(2025, 9, 15), LocalDate.of(2025, 12, 10));
+
+		assertThat(queries).containsExactlyInAnyOrder(
+				"MONTH 2025-10-01 2025-11-01",
+				"DAY 2025-09-15 2025-09-30",
+				"DAY 2025-12-01 2025-12-10");
+		// Monthly rows are marked with one late each, so only October and November come from them
+		assertThat(periods(report)).containsExactly(
+				List.of(LocalDate.of(2025, 9, 1), 16L, 0L),
+				List.of(LocalDate.of(2025, 10, 1), 31L, 1L),
+				List.of(LocalDate.of(2025, 11, 1), 30L, 1L),
+				List.of(LocalDate.of(2025, 12, 1), 10L, 0L));
+		assertThat(report.getPresent()).isEqualTo(87L);
+	}
+
+	@Test
+	void monthReportWithinOneMonthAddsUpItsDays() {
+		AttendanceReport report = monthReport(LocalDate.of(2025, 10, 5), LocalDate.of(2025, 10, 20));
+
+		assertThat(queries).containsExactly("DAY 2025-10-05 2025-10-20");
+		assertThat(periods(report)).containsExactly(List.of(LocalDate.of(2025, 10, 1), 16L, 0L));
+	}
+
+	@Test
+	void monthReportOnMonthBoundariesReadsOnlyMonthlyRows() {
+		AttendanceReport report = monthReport(LocalDate.of(2025, 9, 1), LocalDate.of(2025, 11, 30));
+
+		assertThat(queries).containsExactly("MONTH 2025-09-01 2025-11-01");
+		assertThat(periods(report)).extracting(period -> period.get(0))
+				.containsExactly(LocalDate.of(2025, 9, 1), LocalDate.of(2025, 10, 1), LocalDate.of(2025, 11, 1));
+	}
+
+	private List<List<Object>> appliedRows() {
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+		verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+		return rows.getValue().stream()
+				.map(row -> Arrays.asList(row[2], row[3], row[4], row[5], row[6], row[7]))
+				.toList();
+	}
+
+	// Every day of the class has one student present; a monthly row holds its month's days plus one late
+	private AttendanceReport monthReport(LocalDate from, LocalDate to) {
+		when(repository.findClassBuckets(eq(1), eq("5A"), anyString(), any(), any())).thenAnswer(invocation -> {
+			String period = invocation.getArgument(2);
+			LocalDate start = invocation.getArgument(3);
+			LocalDate end = invocation.getArgument(4);
+			queries.add(period + " " + start + " " + end);
+			List<Bucket> buckets = new ArrayList<>();
+			if (AttendanceRollup.DAY.equals(period)) {
+				start.datesUntil(end.plusDays(1)).forEach(day -> buckets.add(new Row(day, 1, 0)));
+			} else {
+				for (LocalDate month = start; !month.isAfter(end); month = month.plusMonths(1)) {
+					buckets.add(new Row(month, YearMonth.from(month).lengthOfMonth(), 1));
+				}
+			}
+			return buckets;
+		});
+		return service.classReport(1, "5A", from, to, "month");
+	}
+
+	private static List<List<Object>> periods(AttendanceReport report) {
+		return report.getPeriods().stream()
+				.map(period -> List.<Object>of(period.getPeriodStart(), period.getPresent(), period.getLate()))
+				.toList();
+	}
+
+	private record Row(LocalDate day, long present, long late) implements Bucket {
+
+		@Override
+		public LocalDate getPeriodStart() {
+			return day;
+		}
+
+		@Override
+		public long getPresent() {
+			return present;
+		}
+
+		@Override
+		public long getAbsent() {
+			return 0;
+		}
+
+		@Override
+		public long getLate() {
+			return late;
+		}
+	}
+}
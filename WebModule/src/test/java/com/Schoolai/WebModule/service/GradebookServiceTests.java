@@ -0,0 +1,130 @@
+package com.Schoolai.WebModule.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.Schoolai.WebModule.dto.AssessmentGradebook;
+import com.Schoolai.WebModule.dto.GradeBucket;
+import com.Schoolai.WebModule.dto.GradeRank;
+
+class GradebookServiceTests {
+
+	@Test
+	void percentilesInterpolateBetweenNeighbouringMarks() {
+		AssessmentGradebook gradebook = gradebook(40, 30, 20, 10);
+
+		assertThat(gradebook.getMedian()).isEqualByComparingTo("25");
+		assertThat(gradebook.getP25()).isEqualByComparingTo("17.5");
+		assertThat(gradebook.getP75()).isEqualByComparingTo("32.5");
+		assertThat(gradebook.getP90()).isEqualByComparingTo("37");
+		assertThat(gradebook.getMean()).isEqualByComparingTo("25");
+		assertThat(gradebook.getMin()).isEqualByComparingTo("10");
+		assertThat(gradebook.getMax()).isEqualByComparingTo("40");
+	}
+
+	@Test
+	void singleMarkIsEveryPercentile() {
+		AssessmentGradebook gradebook = gradebook(73);
+
+		assertThat(List.of(gradebook.getMedian(), gradebook.getP25(), gradebook.getP75(), gradebook.getP90()))
+				.allSatisfy(value -> assertThat(value).isEqualByComparingTo("73"));
+		assertThat(gradebook.getStandardDeviation()).isEqualByComparingTo("0");
+	}
+
+	@Test
+	void equalMarksShareARankAndCountHalfTowardsThePercentile() {
+		List<GradeRank> ranking = gradebook(90, 80, 80, 70).getRanking();
+
+		assertThat(ranking).extracting(GradeRank::getRank).containsExactly(1, 2, 2, 4);
+		assertThat(ranking).extracting(GradeRank::getPercentile)
+				.usingElementComparator(BigDecimal::compareTo)
+				.containsExactly(new BigDecimal("87.5"), new BigDecimal("50"), new BigDecimal("50"), new BigDecimal("12.5"));
+	}
+
+	@Test
+	void wholeClassTiedIsRankedFirstAtTheFiftiethPercentile() {
+		List<GradeRank> ranking = gradebook(60, 60, 60).getRanking();
+
+		assertThat(ranking).extracting(GradeRank::getRank).containsOnly(1);
+		assertThat(ranking).extracting(GradeRank::getPercentile)
+				.allSatisfy(percentile -> assertThat(percentile).isEqualByComparingTo("50"));
+	}
+
+	@Test
+	void fullMarkCountsInTheTopBucket() {
+		List<GradeBucket> histogram = gradebook(100, 95, 40).getHistogram();
+
+		assertThat(histogram).hasSize(6);
+		assertBucket(histogram.get(0), "40", "50", 1);
+		assertBucket(histogram.get(histogram.size() - 1), "90", "100", 2);
+	}
+
+	@Test
+	void marksOnABoundaryBelowTheTopStartTheirBucket() {
+		List<GradeBucket> histogram = gradebook(35, 20).getHistogram();
+
+		assertThat(histogram).hasSize(2);
+		assertBucket(histogram.get(0), "20", "30", 1);
+		assertBucket(histogram.get(1), "30", "40", 1);
+	}
+
+	@Test
+	void topBoundaryJoinsTheBucketBelow() {
+		List<GradeBucket> histogram = gradebook(40, 30).getHistogram();
+
+		assertThat(histogram).hasSize(1);
+		assertBucket(histogram.get(0), "30", "40", 2);
+	}
+
+	@Test
+	void allFullMarksMakeOneBucketEndingAtTheMark() {
+		List<GradeBucket> histogram = gradebook(100, 100).getHistogram();
+
+		assertThat(histogram).hasSize(1);
+		assertBucket(histogram.get(0), "90", "100", 2);
+	}
+
+	@Test
+	void allZeroMarksMakeTheFirstBucket() {
+		List<GradeBucket> histogram = gradebook(0, 0).getHistogram();
+
+		assertThat(histogram).hasSize(1);
+		assertBucket(histogram.get(0), "0", "10", 2);
+	}
+
+	@Test
+	void bucketsCountEveryMark() {
+		List<GradeBucket> histogram = gradebook(100, 99.5, 90, 89.99, 50, 10, 0).getHistogram();
+
+		assertThat(histogram).extracting(GradeBucket::getCount).containsExactly(1, 1, 0, 0, 0, 1, 0, 0, 1, 3);
+	}
+
+	@Test
+	void assessmentWithoutMarksHasNoFigures() {
+		AssessmentGradebook gradebook = gradebook();
+
+		assertThat(gradebook.getMarked()).isZero();
+		assertThat(gradebook.getMedian()).isNull();
+		assertThat(gradebook.getHistogram()).isEmpty();
+		assertThat(gradebook.getRanking()).isEmpty();
+	}
+
+	// Marks are given highest first, the order the gradebook query returns them in
+	private static AssessmentGradebook gradebook(double... marks) {
+		GradebookService.Marks m = new GradebookService.Marks();
+		for (int i = 0; i < marks.length; i++) {
+			m.add(100 + i, "Student " + i, marks[i], null);
+		}
+		return GradebookService.build(1, m);
+	}
+
+	private static void assertBucket(GradeBucket bucket, String from, String to, int count) {
+		assertThat(bucket.getFrom()).isEqualByComparingTo(from);
+		assertThat(bucket.getTo()).isEqualByComparingTo(to);
+		assertThat(bucket.getCount()).isEqualTo(count);
+	}
+}
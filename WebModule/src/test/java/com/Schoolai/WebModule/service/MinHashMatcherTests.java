@@ -0,0 +1,76 @@
+package com.Schoolai.WebModule.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class MinHashMatcherTests {
+
+	private final MinHashMatcher matcher = new MinHashMatcher();
+
+	@Test
+	void identicalQuestionsScoreOne() {
+		String question = "explain the process of photosynthesis in green plants";
+		assertThat(matcher.similarity(matcher.signature(question), matcher.signature(question))).isEqualTo(1.0);
+	}
+
+	@Test
+	void signaturesAreStableAcrossInstances() {
+		String question = "what is a prime number";
+		assertThat(new MinHashMatcher().signature(question)).isEqualTo(matcher.signature(question));
+	}
+
+	@Test
+	void questionsShorterThanAShingleStillGetASignature() {
+		assertThat(matcher.similarity(matcher.signature("pi"), matcher.signature("pi"))).isEqualTo(1.0);
+		assertThat(matcher.similarity(matcher.signature("pi"), matcher.signature("e"))).isLessThan(0.2);
+		assertThat(matcher.similarity(matcher.signature(""), matcher.signature(""))).isEqualTo(1.0);
+	}
+
+	// Expected values are the exact Jaccard similarity of the 4-character shingle sets; 64 hashes
+	// estimate it to within about 0.06 (one standard deviation)
+	@ParameterizedTest
+	@CsvSource({
+			"explain the process of photosynthesis in green plants, explain the process of photosynthesis in green plant",
+			"what is photosynthesis, what is photosynthesis in green plants",
+			"state newton's second law of motion, state newton's third law of motion",
+			"what is a prime number, define an isosceles triangle" })
+	void estimatesJaccardSimilarityOfShingles(String a, String b) {
+		double estimate = matcher.similarity(matcher.signature(a), matcher.signature(b));
+		assertThat(estimate).isCloseTo(jaccard(a, b), within(0.2));
+	}
+
+	@Test
+	void separatesNearDuplicatesFromRelatedQuestionsAtTheDefaultThreshold() {
+		long[] cached = matcher.signature("explain the process of photosynthesis in green plants");
+		assertThat(matcher.similarity(cached, matcher.signature("explain the process of photosynthesis in green plant")))
+				.isGreaterThanOrEqualTo(0.8);
+		assertThat(matcher.similarity(cached, matcher.signature("explain the process of respiration in green plants")))
+				.isLessThan(0.8);
+		assertThat(matcher.similarity(cached, matcher.signature("state newton's second law of motion")))
+				.isLessThan(0.2);
+	}
+
+	private static double jaccard(String a, String b) {
+		Set<String> left = shingles(a);
+		Set<String> right = shingles(b);
+		Set<String> union = new HashSet<>(left);
+		union.addAll(right);
+		left.retainAll(right);
+		return (double) left.size() / union.size();
+	}
+
+	private static Set<String> shingles(String s) {
+		Set<String> shingles = new HashSet<>();
+		for (int start = 0; start <= Math.max(0, s.length() - 4); start++) {
+			shingles.add(s.substring(start, Math.min(s.length(), start + 4)));
+		}
+		return shingles;
+	}
+}
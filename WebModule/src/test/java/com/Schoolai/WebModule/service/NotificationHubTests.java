@@ -0,0 +1,119 @@
+package com.Schoolai.WebModule.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class NotificationHubTests {
+
+	private static final Set<NotificationHub.Audience> EVERYONE = EnumSet.allOf(NotificationHub.Audience.class);
+	private static final NotificationHub.PushEvent EVENT = new NotificationHub.PushEvent("notification", "Exam on Friday");
+
+	private final NotificationHub hub = new NotificationHub(4, 32, 1, Duration.ofMinutes(1), Duration.ofMillis(100),
+			new SimpleMeterRegistry());
+
+	@AfterEach
+	void shutdown() {
+		hub.shutdown();
+	}
+
+	@Test
+	void schoolBroadcastReachesOnlyThatSchoolAndAudience() {
+		hub.subscribe(student(1), 7, event -> {
+		});
+		hub.subscribe(staff(2), 7, event -> {
+		});
+		hub.subscribe(staff(3), 8, event -> {
+		});
+
+		assertThat(hub.publishToSchool(7, EVERYONE, EVENT)).isEqualTo(2);
+		assertThat(hub.publishToSchool(7, EnumSet.of(NotificationHub.Audience.STAFF), EVENT)).isEqualTo(1);
+		assertThat(hub.publishToSchool(9, EVERYONE, EVENT)).isZero();
+	}
+
+	@Test
+	void closedSubscriptionsLeaveTheSchoolIndex() {
+		NotificationHub.Subscription subscription = hub.subscribe(student(1), 7, event -> {
+		});
+		subscription.close();
+
+		assertThat(hub.publishToSchool(7, EVERYONE, EVENT)).isZero();
+		assertThat(hub.subscriberCount()).isZero();
+	}
+
+	@Test
+	void stalledWriterIsEvictedAndOthersKeepReceiving() throws Exception {
+		CountDownLatch stalled = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		CountDownLatch sinkClosed = new CountDownLatch(1);
+		hub.subscribe(student(1), 7, new NotificationHub.Sink() {
+			@Override
+			public void send(NotificationHub.PushEvent event) {
+				stalled.countDown();
+				try {
+					new CountDownLatch(1).await();
+				} catch (InterruptedException e) {
+					interrupted.countDown();
+					throw new IllegalStateException("write aborted");
+				}
+			}
+
+			@Override
+			public void close() {
+				sinkClosed.countDown();
+			}
+		});
+		CountDownLatch delivered = new CountDownLatch(1);
+		hub.subscribe(staff(2), 7, event -> delivered.countDown());
+
+		hub.publishToSchool(7, EVERYONE, EVENT);
+		assertThat(stalled.await(5, TimeUnit.SECONDS)).isTrue();
+		Thread.sleep(150);
+		hub.evictStalledWriters();
+
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(sinkClosed.await(5, TimeUnit.SECONDS)).isTrue();
+		// The only writer thread was the stalled one, so this also shows it was freed
+		assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(hub.subscriberCount()).isEqualTo(1);
+		assertThat(hub.publishToSchool(7, EVERYONE, EVENT)).isEqualTo(1);
+	}
+
+	@Test
+	void writesWithinTheTimeoutAreLeftAlone() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch writing = new CountDownLatch(1);
+		hub.subscribe(student(1), 7, event -> {
+			writing.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+
+		hub.publishToSchool(7, EVERYONE, EVENT);
+		assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+		hub.evictStalledWriters();
+		release.countDown();
+
+		assertThat(hub.subscriberCount()).isEqualTo(1);
+	}
+
+	private static NotificationHub.Recipient student(int id) {
+		return new NotificationHub.Recipient(NotificationHub.Audience.STUDENT, id);
+	}
+
+	private static NotificationHub.Recipient staff(int id) {
+		return new NotificationHub.Recipient(NotificationHub.Audience.STAFF, id);
+	}
+}
@@ -0,0 +1,144 @@
+package com.Schoolai.WebModule.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SingleFlightTests {
+
+	private static final int CALLERS = 32;
+
+	private final ExecutorService settleExecutor = Executors.newSingleThreadExecutor();
+	private final ExecutorService callerThreads = Executors.newFixedThreadPool(CALLERS);
+	private final SingleFlight<String, String, Integer> flights =
+			new SingleFlight<>("test", settleExecutor, new SimpleMeterRegistry());
+
+	@AfterEach
+	void shutdown() {
+		settleExecutor.shutdownNow();
+		callerThreads.shutdownNow();
+	}
+
+	@Test
+	void concurrentCallersShareOneUpstreamCallAndSettleTogether() throws Exception {
+		CompletableFuture<String> upstream = new CompletableFuture<>();
+		AtomicInteger upstreamCalls = new AtomicInteger();
+		List<List<Integer>> settled = new CopyOnWriteArrayList<>();
+
+		List<CompletableFuture<String>> results = joinConcurrently(caller -> flights.execute("key", caller,
+				() -> {
+					upstreamCalls.incrementAndGet();
+					return upstream;
+				},
+				(value, callers) -> {
+					settled.add(callers);
+					return value + " for " + callers.size();
+				}));
+		upstream.complete("answer");
+
+		for (CompletableFuture<String> result : results) {
+			assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("answer for " + CALLERS);
+		}
+		assertThat(upstreamCalls).hasValue(1);
+		assertThat(settled).hasSize(1);
+		assertThat(settled.get(0)).hasSize(CALLERS).doesNotHaveDuplicates();
+		assertThat(flights.inFlight()).isZero();
+	}
+
+	@Test
+	void failingSettleFailsEveryCaller() throws Exception {
+		CompletableFuture<String> upstream = new CompletableFuture<>();
+		IllegalStateException failure = new IllegalStateException("history write failed");
+
+		List<CompletableFuture<String>> results = joinConcurrently(caller -> flights.execute("key", caller,
+				() -> upstream,
+				(value, callers) -> {
+					throw failure;
+				}));
+		upstream.complete("answer");
+
+		for (CompletableFuture<String> result : results) {
+			assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+					.isInstanceOf(ExecutionException.class)
+					.hasCause(failure);
+		}
+	}
+
+	@Test
+	void failingUpstreamFailsEveryCallerWithoutSettling() throws Exception {
+		CompletableFuture<String> upstream = new CompletableFuture<>();
+		AtomicInteger settles = new AtomicInteger();
+
+		List<CompletableFuture<String>> results = joinConcurrently(caller -> flights.execute("key", caller,
+				() -> upstream,
+				(value, callers) -> {
+					settles.incrementAndGet();
+					return value;
+				}));
+		upstream.completeExceptionally(new IllegalStateException("chatbot down"));
+
+		for (CompletableFuture<String> result : results) {
+			assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("chatbot down");
+		}
+		assertThat(settles).hasValue(0);
+	}
+
+	@Test
+	void callersAfterSettlingStartANewFlight() throws Exception {
+		AtomicInteger upstreamCalls = new AtomicInteger();
+		for (int i = 0; i < 3; i++) {
+			String value = flights.execute("key", i,
+					() -> CompletableFuture.completedFuture("call " + upstreamCalls.incrementAndGet()),
+					(v, callers) -> v).get(5, TimeUnit.SECONDS);
+			assertThat(value).isEqualTo("call " + (i + 1));
+		}
+	}
+
+	@Test
+	void differentKeysDoNotShare() throws Exception {
+		CompletableFuture<String> first = flights.execute("a", 1, () -> CompletableFuture.completedFuture("a"), (v, c) -> v);
+		CompletableFuture<String> second = flights.execute("b", 2, () -> CompletableFuture.completedFuture("b"), (v, c) -> v);
+
+		assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("a");
+		assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("b");
+	}
+
+	// Starts every caller at once and returns once all of them have joined a flight
+	private List<CompletableFuture<String>> joinConcurrently(CallerAction action) throws Exception {
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<CompletableFuture<String>>> joined = new ArrayList<>();
+		for (int i = 0; i < CALLERS; i++) {
+			int caller = i;
+			joined.add(callerThreads.submit(() -> {
+				start.await();
+				return action.join(caller);
+			}));
+		}
+		start.countDown();
+		List<CompletableFuture<String>> results = new ArrayList<>();
+		for (Future<CompletableFuture<String>> future : joined) {
+			results.add(future.get(5, TimeUnit.SECONDS));
+		}
+		return results;
+	}
+
+	private interface CallerAction {
+		CompletableFuture<String> join(int caller);
+	}
+}
@@ -0,0 +1,128 @@
+package com.Schoolai.WebModule.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VideoViewIngestionTests {
+
+	private static final LocalDateTime VIEWED_AT = LocalDateTime.of(2025, 10, 12, 10, 15);
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final List<List<Integer>> attempts = new ArrayList<>();
+
+	@Test
+	void failedBatchIsRetriedWithTheSameViews() {
+		VideoViewIngestion ingestion = ingestion(Duration.ZERO, batch -> {
+			if (attempts.size() == 1) {
+				throw new CannotGetJdbcConnectionException("database down");
+			}
+		});
+		record(ingestion, 1, 2, 3);
+
+		ingestion.flush();
+		ingestion.flush();
+
+		assertThat(attempts).containsExactly(List.of(1, 2, 3), List.of(1, 2, 3));
+		assertThat(count("discarded")).isZero();
+	}
+
+	@Test
+	void failureStopsDrainingUntilTheBackoffHasPassed() {
+		VideoViewIngestion ingestion = ingestion(Duration.ofHours(1), batch -> {
+			throw new CannotGetJdbcConnectionException("database down");
+		});
+		record(ingestion, 1, 2, 3, 4, 5);
+
+		ingestion.flush();
+		ingestion.flush();
+
+		// One batch of three was tried once; the other two views are still waiting in the buffer
+		assertThat(attempts).containsExactly(List.of(1, 2, 3));
+		assertThat(registry.get("video.views.buffered").gauge().value()).isEqualTo(2);
+		assertThat(count("discarded")).isZero();
+	}
+
+	@Test
+	void laterBatchesFollowOnceTheRetrySucceeds() {
+		VideoViewIngestion ingestion = ingestion(Duration.ZERO, batch -> {
+			if (attempts.size() == 1) {
+				throw new CannotGetJdbcConnectionException("database down");
+			}
+		});
+		record(ingestion, 1, 2, 3, 4, 5);
+
+		ingestion.flush();
+		ingestion.flush();
+
+		assertThat(attempts).containsExactly(List.of(1, 2, 3), List.of(1, 2, 3), List.of(4, 5));
+	}
+
+	@Test
+	void batchRejectedByTheDatabaseIsDropped() {
+		VideoViewIngestion ingestion = ingestion(Duration.ZERO, batch -> {
+			if (attempts.size() == 1) {
+				throw new DataIntegrityViolationException("video deleted");
+			}
+		});
+		record(ingestion, 1, 2, 3, 4);
+
+		ingestion.flush();
+
+		assertThat(attempts).containsExactly(List.of(1, 2, 3), List.of(4));
+		assertThat(count("discarded")).isEqualTo(3);
+	}
+
+	@Test
+	void viewsStillUnwrittenAtShutdownAreCountedAsLost() {
+		VideoViewIngestion ingestion = ingestion(Duration.ofHours(1), batch -> {
+			throw new CannotGetJdbcConnectionException("database down");
+		});
+		record(ingestion, 1, 2, 3, 4, 5);
+
+		ingestion.flush();
+		ingestion.flushOnShutdown();
+
+		// Shutdown tries again regardless of the backoff
+		assertThat(attempts).containsExactly(List.of(1, 2, 3), List.of(1, 2, 3));
+		assertThat(count("discarded")).isEqualTo(5);
+	}
+
+	// Batches of three; every write attempt is recorded by video id before the outcome is applied
+	private VideoViewIngestion ingestion(Duration backoff, Consumer<List<VideoViewIngestion.View>> outcome) {
+		VideoViewIngestion ingestion = spy(new VideoViewIngestion(null, mock(TransactionTemplate.class), null, null, registry,
+				16, 3, backoff, backoff));
+		doAnswer(invocation -> {
+			List<VideoViewIngestion.View> batch = invocation.getArgument(0);
+			attempts.add(batch.stream().map(VideoViewIngestion.View::videoId).toList());
+			outcome.accept(batch);
+			return null;
+		}).when(ingestion).writeBatch(anyList());
+		return ingestion;
+	}
+
+	private static void record(VideoViewIngestion ingestion, int... videoIds) {
+		for (int videoId : videoIds) {
+			assertThat(ingestion.record(100, videoId, VIEWED_AT)).isTrue();
+		}
+	}
+
+	private double count(String outcome) {
+		return registry.get("video.views").tag("outcome", outcome).counter().count();
+	}
+}
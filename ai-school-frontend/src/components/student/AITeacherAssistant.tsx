@@ -1,4 +1,4 @@
-import { useState, useEffect } from "react";
+import { useState, useEffect, useRef } from "react";
 import { Card, CardContent, CardDescription, CardHeader, CardTitle } from "@/components/ui/card";
 import { Button } from "@/components/ui/button";
 import { Badge } from "@/components/ui/badge";
@@ -31,6 +31,20 @@ interface GradingResult {
   }[];
 }
 
+// Feedback jobs retry upstream failures themselves; stop waiting on the client after this long
+const JOB_POLL_DEADLINE_MS = 3 * 60 * 1000;
+const JOB_POLL_INITIAL_DELAY_MS = 1500;
+const JOB_POLL_MAX_DELAY_MS = 10000;
+
+const sleep = (ms: number, signal: AbortSignal) =>
+  new Promise<void>((resolve, reject) => {
+    const timer = setTimeout(resolve, ms);
+    signal.addEventListener("abort", () => {
+      clearTimeout(timer);
+      reject(new DOMException("Aborted", "AbortError"));
+    }, { once: true });
+  });
+
 const AITeacherAssistant = () => {
   const [selectedFile, setSelectedFile] = useState<File | null>(null);
   const [isProcessing, setIsProcessing] = useState(false);
@@ -38,6 +52,7 @@ const AITeacherAssistant = () => {
   const [processingProgress, setProcessingProgress] = useState(0);
   const [user, setUser] = useState<any>(null);
   const [submissionNotes, setSubmissionNotes] = useState<string>("");
+  const submission = useRef<AbortController | null>(null);
 
   useEffect(() => {
     const userData = localStorage.getItem("user");
@@ -47,6 +62,9 @@ const AITeacherAssistant = () => {
     }
   }, []);
 
+  // Stop polling for a submission's feedback once the assistant is closed
+  useEffect(() => () => submission.current?.abort(), []);
+
   const handleFileUpload = (event: React.ChangeEvent<HTMLInputElement>) => {
     const file = event.target.files?.[0];
     if (file) {
@@ -97,6 +115,9 @@ const AITeacherAssistant = () => {
 
     setIsProcessing(true);
     setProcessingProgress(0);
+    submission.current?.abort();
+    const controller = new AbortController();
+    submission.current = controller;
 
     try {
       const token = localStorage.getItem("token");
@@ -125,6 +146,7 @@ const AITeacherAssistant = () => {
 
       const response = await fetch("/api/ai/assignments/submit", {
         method: "POST",
+        signal: controller.signal,
         headers: {
           ...(token && { Authorization: `Bearer ${token}` }),
         },
@@ -153,7 +175,31 @@ const AITeacherAssistant = () => {
         duration: 1000,
       });
 
-      const data = await response.json();
+      let data = await response.json();
+
+      // Submission is queued; wait for the feedback job to finish, backing off between polls
+      const deadline = Date.now() + JOB_POLL_DEADLINE_MS;
+      let delay = JOB_POLL_INITIAL_DELAY_MS;
+      while (data.jobId && data.status !== "DONE" && data.status !== "FAILED") {
+        if (Date.now() + delay > deadline) {
+          throw new Error("AI feedback is taking longer than expected. Please check back later.");
+        }
+        await sleep(delay, controller.signal);
+        delay = Math.min(delay * 2, JOB_POLL_MAX_DELAY_MS);
+        const jobResponse = await fetch(`/api/ai/assignments/jobs/${data.jobId}`, {
+          signal: controller.signal,
+          headers: {
+            ...(token && { Authorization: `Bearer ${token}` }),
+          },
+        });
+        if (!jobResponse.ok) {
+          throw new Error(`HTTP error! status: ${jobResponse.status}`);
+        }
+        data = await jobResponse.json();
+      }
+      if (data.status === "FAILED") {
+        throw new Error(data.error || "AI feedback could not be generated");
+      }
       setProcessingProgress(100);
 
       // Parse AI feedback and create grading result
@@ -209,6 +255,9 @@ const AITeacherAssistant = () => {
         throw new Error("No feedback received from server");
       }
     } catch (error) {
+      if (controller.signal.aborted) {
+        return;
+      }
       console.error("Error submitting file:", error);
       toast({
         title: "Error",
@@ -216,8 +265,13 @@ const AITeacherAssistant = () => {
         variant: "destructive",
       });
     } finally {
-      setIsProcessing(false);
-      setProcessingProgress(0);
+      if (submission.current === controller) {
+        submission.current = null;
+      }
+      if (!controller.signal.aborted) {
+        setIsProcessing(false);
+        setProcessingProgress(0);
+      }
     }
   };
 